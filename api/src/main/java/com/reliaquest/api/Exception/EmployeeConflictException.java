@@ -0,0 +1,17 @@
+package com.reliaquest.api.Exception;
+
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+@EqualsAndHashCode(callSuper = true)
+@Data
+@NoArgsConstructor
+public class EmployeeConflictException extends RuntimeException {
+    private String exceptionIdentificationParam;
+    public EmployeeConflictException(String message, String identificationParam) {
+        super(message);
+        this.exceptionIdentificationParam = identificationParam;
+    }
+}
@@ -4,10 +4,12 @@ import com.reliaquest.api.constants.ApplicationConstants;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.support.WebExchangeBindException;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -18,12 +20,18 @@ public class EmployeeServiceExceptionHandler {
 
     @ExceptionHandler(EmployeeException.class)
     public ResponseEntity<?>handleEmployeeNotExistException(EmployeeException exception){
-        log.error(exception.getMessage());
+        log.debug(exception.getMessage());
          ErrorResponse<String> errorResponse = new ErrorResponse<>(exception.getMessage(), exception.getExceptionIdentificationParam());
          return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
     }
 
 
+    @ExceptionHandler(EmployeeConflictException.class)
+    public ResponseEntity<?> handleEmployeeConflictException(EmployeeConflictException exception){
+        ErrorResponse<String> errorResponse = new ErrorResponse<>(exception.getMessage(), exception.getExceptionIdentificationParam());
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(ExternalApiException.class)
     public ResponseEntity<?>handleExternalApiException(ExternalApiException exception){
         log.error(exception.getMessage());
@@ -34,7 +42,7 @@ public class EmployeeServiceExceptionHandler {
 
     @ExceptionHandler(ApiRateLimitException.class)
     public ResponseEntity<?>handleApiRateLimitException(ApiRateLimitException exception){
-        log.error(exception.getMessage());
+        log.warn(exception.getMessage());
         ErrorResponse<String>errorResponse =  new ErrorResponse<>(exception.getMessage());
         return new ResponseEntity<>(errorResponse,HttpStatus.TOO_MANY_REQUESTS);
 
@@ -42,8 +50,17 @@ public class EmployeeServiceExceptionHandler {
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, String>> handleValidationExceptions(MethodArgumentNotValidException ex) {
+        return validationErrors(ex.getBindingResult());
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<Map<String, String>> handleReactiveValidationExceptions(WebExchangeBindException ex) {
+        return validationErrors(ex.getBindingResult());
+    }
+
+    private ResponseEntity<Map<String, String>> validationErrors(BindingResult bindingResult) {
         Map<String, String> errors = new HashMap<>();
-        ex.getBindingResult().getAllErrors().forEach((error) -> {
+        bindingResult.getAllErrors().forEach((error) -> {
             String fieldName = ((FieldError) error).getField();
             String errorMessage = error.getDefaultMessage();
             errors.put(fieldName, errorMessage);
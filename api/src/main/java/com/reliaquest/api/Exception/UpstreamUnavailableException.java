@@ -0,0 +1,18 @@
+package com.reliaquest.api.Exception;
+
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * The upstream employee API was not called at all, because its circuit breaker is open or too many calls to it are
+ * already in flight. Answered with a 503 like any other {@link ExternalApiException}, but reads can fall back to the
+ * last roster they loaded.
+ */
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+public class UpstreamUnavailableException extends ExternalApiException {
+    public UpstreamUnavailableException(String message) {
+        super(message);
+        setMessage(message);
+    }
+}
@@ -0,0 +1,167 @@
+package com.reliaquest.api.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.reliaquest.api.Exception.EmployeeException;
+import com.reliaquest.api.constants.ApplicationConstants;
+import com.reliaquest.api.dao.EmployeeDao;
+import com.reliaquest.api.models.Employee;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Bounded cache of single employees in front of {@link EmployeeDao#findEmployeeById(String)}.
+ * <p>
+ * Entries are evicted by size, using Caffeine's W-TinyLFU policy, and expire after a TTL. An id the upstream does
+ * not know is cached as absent for a much shorter window, so repeated lookups of a missing id do not each cost an
+ * upstream call, while a newly created employee is not hidden for long. Only the answer "not found" is cached;
+ * failures such as rate limiting are not. Concurrent lookups of the same id share one load.
+ * <p>
+ * Lookups only reach this cache for ids the roster held by the {@link EmployeeRosterCache} can't answer, so it holds
+ * the ids asked for between roster loads rather than a copy of the roster. Writes made through this service replace
+ * or drop the affected entry. Hits, misses, evictions and load counts are published under the cache name
+ * {@value #CACHE_NAME}, together with its hit ratio and a timer over upstream loads.
+ */
+@Component
+public class EmployeeByIdCache {
+    static final String CACHE_NAME = "employee.by-id";
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeByIdCache.class);
+
+    private final EmployeeDao employeeDao;
+    private final AsyncCache<String, Optional<Employee>> cache;
+    private final Timer loadTimer;
+
+    @Autowired
+    public EmployeeByIdCache(EmployeeDao employeeDao,
+                             MeterRegistry meterRegistry,
+                             @Value("${employee.cache.by-id.max-size:10000}") long maximumSize,
+                             @Value("${employee.cache.by-id.ttl:60s}") Duration timeToLive,
+                             @Value("${employee.cache.by-id.not-found-ttl:5s}") Duration notFoundTimeToLive) {
+        this(employeeDao, meterRegistry, maximumSize, timeToLive, notFoundTimeToLive, Ticker.systemTicker());
+    }
+
+    EmployeeByIdCache(EmployeeDao employeeDao, MeterRegistry meterRegistry, long maximumSize,
+                      Duration timeToLive, Duration notFoundTimeToLive, Ticker ticker) {
+        this.employeeDao = employeeDao;
+        this.cache = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new PresenceExpiry(timeToLive, notFoundTimeToLive))
+                .ticker(ticker)
+                .recordStats()
+                .<String, Optional<Employee>>buildAsync(), CACHE_NAME);
+        Gauge.builder("cache.hit.ratio", cache, monitored -> monitored.synchronous().stats().hitRate())
+                .tag("cache", CACHE_NAME)
+                .description("Share of lookups answered without loading")
+                .register(meterRegistry);
+        this.loadTimer = Timer.builder("cache.load.latency")
+                .tag("cache", CACHE_NAME)
+                .description("Time taken by upstream loads on a cache miss")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the employee with {@code id}, loading it on a miss.
+     *
+     * @throws EmployeeException if the upstream does not know the id
+     */
+    public Employee getEmployee(String id) {
+        try {
+            return lookup(id).join()
+                    .orElseThrow(() -> new EmployeeException("Employee not Found", ApplicationConstants.ID));
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public Mono<Employee> employee(String id) {
+        return Mono.defer(() -> Mono.fromFuture(lookup(id), true))
+                .flatMap(Mono::justOrEmpty)
+                .switchIfEmpty(Mono.error(() -> new EmployeeException("Employee not Found", ApplicationConstants.ID)));
+    }
+
+    public void onEmployeeCreated(Employee employee) {
+        if (employee.getId() != null) {
+            // Replaces a cached "not found" that the new id may have picked up.
+            cache.put(key(employee.getId().toString()), CompletableFuture.completedFuture(Optional.of(employee)));
+        }
+    }
+
+    public void onEmployeeDeleted(String id) {
+        cache.synchronous().invalidate(key(id));
+    }
+
+    public void invalidateAll() {
+        cache.synchronous().invalidateAll();
+    }
+
+    private CompletableFuture<Optional<Employee>> lookup(String id) {
+        // The mapping function runs while Caffeine holds a lock on the entry's bin, so it only hands over an empty
+        // future; the load is started after the lock is released, or it would pin a virtual thread for the duration.
+        CompletableFuture<Optional<Employee>> created = new CompletableFuture<>();
+        CompletableFuture<Optional<Employee>> cached = cache.get(key(id), (key, executor) -> created);
+        if (cached == created) {
+            load(id, created);
+        }
+        return cached;
+    }
+
+    private void load(String id, CompletableFuture<Optional<Employee>> result) {
+        Timer.Sample sample = Timer.start();
+        employeeDao.findEmployeeById(id)
+                .map(Optional::of)
+                .onErrorResume(EmployeeException.class, e -> {
+                    logger.debug("EmployeeByIdCache - Caching that employee with id {} does not exist", id);
+                    return Mono.just(Optional.empty());
+                })
+                .doFinally(signal -> sample.stop(loadTimer))
+                .subscribe(result::complete, result::completeExceptionally);
+    }
+
+    private static String key(String id) {
+        return id.toLowerCase(Locale.ROOT);
+    }
+
+    private static final class PresenceExpiry implements Expiry<String, Optional<Employee>> {
+        private final long foundNanos;
+        private final long notFoundNanos;
+
+        private PresenceExpiry(Duration found, Duration notFound) {
+            this.foundNanos = found.toNanos();
+            this.notFoundNanos = notFound.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String key, Optional<Employee> value, long currentTime) {
+            return value.isPresent() ? foundNanos : notFoundNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Optional<Employee> value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Optional<Employee> value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.Exception.ExternalApiException;
+import com.reliaquest.api.Exception.UpstreamUnavailableException;
+import com.reliaquest.api.dao.EmployeeDao;
+import com.reliaquest.api.models.Employee;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ * Caches the full employee roster in front of {@link EmployeeDao#listAllEmployees()}.
+ * <p>
+ * A snapshot younger than the TTL is served as is. Once it is older than the TTL but still within the
+ * stale-while-revalidate window it is still served, while a refresh is started in the background. Past that
+ * window callers wait for a fresh load, unless the upstream is unavailable: a load rejected with an
+ * {@link UpstreamUnavailableException}, by an open circuit breaker or a full bulkhead, is answered with the last
+ * roster loaded, however old. Only one upstream fetch is in flight at any time; concurrent callers
+ * share its result. The fetch itself never blocks: {@link #getSnapshot()} waits for it on the calling thread,
+ * while {@link #snapshot()} hands it to reactive callers as a {@link Mono}.
+ * <p>
+ * Writes made through this service are mirrored into the cached snapshot, which keeps its derived indexes up to
+ * date incrementally instead of refetching the roster. A load that was already in flight when a write happened is
+ * never stored, since it may predate the write. Rosters of at least {@code employee.index.parallel-threshold} employees have their
+ * indexes built and searched on the fork-join pool. Building a loaded roster's snapshot and indexes is done on the
+ * bounded elastic scheduler rather than on the thread that decoded the response, which in reactive mode is an event
+ * loop thread that must not be held up by work proportional to the roster.
+ * <p>
+ * Reads are counted under {@code cache.gets} with the cache name {@value #CACHE_NAME} and a result of {@code hit},
+ * {@code stale}, {@code fallback} or {@code miss}, next to the by-id cache's counts; upstream loads are timed under
+ * {@code cache.load.latency}.
+ */
+@Component
+public class EmployeeRosterCache {
+    static final String CACHE_NAME = "employee.roster";
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeRosterCache.class);
+
+    private final EmployeeDao employeeDao;
+    private final Duration timeToLive;
+    private final Duration staleWhileRevalidate;
+    private final int parallelThreshold;
+    private final Clock clock;
+    private final Scheduler storeScheduler;
+    private final Counter hits;
+    private final Counter staleHits;
+    private final Counter misses;
+    private final Counter fallbacks;
+    private final Timer loadTimer;
+
+    private final AtomicReference<RosterSnapshot> snapshot = new AtomicReference<>();
+    private final AtomicReference<CompletableFuture<RosterSnapshot>> inFlightLoad = new AtomicReference<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    @Autowired
+    public EmployeeRosterCache(EmployeeDao employeeDao,
+                               MeterRegistry meterRegistry,
+                               @Value("${employee.cache.roster.ttl:30s}") Duration timeToLive,
+                               @Value("${employee.cache.roster.stale-while-revalidate:2m}") Duration staleWhileRevalidate,
+                               @Value("${employee.index.parallel-threshold:50000}") int parallelThreshold) {
+        this(employeeDao, meterRegistry, timeToLive, staleWhileRevalidate, parallelThreshold,
+                Clock.systemUTC(), Schedulers.boundedElastic());
+    }
+
+    EmployeeRosterCache(EmployeeDao employeeDao, MeterRegistry meterRegistry,
+                        Duration timeToLive, Duration staleWhileRevalidate, int parallelThreshold, Clock clock,
+                        Scheduler storeScheduler) {
+        this.employeeDao = employeeDao;
+        this.timeToLive = timeToLive;
+        this.staleWhileRevalidate = staleWhileRevalidate;
+        this.parallelThreshold = parallelThreshold;
+        this.clock = clock;
+        this.storeScheduler = storeScheduler;
+        this.hits = gets(meterRegistry, "hit");
+        this.staleHits = gets(meterRegistry, "stale");
+        this.misses = gets(meterRegistry, "miss");
+        this.fallbacks = gets(meterRegistry, "fallback");
+        this.loadTimer = Timer.builder("cache.load.latency")
+                .tag("cache", CACHE_NAME)
+                .description("Time taken by upstream loads on a cache miss")
+                .register(meterRegistry);
+    }
+
+    private static Counter gets(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("cache.gets")
+                .tag("cache", CACHE_NAME)
+                .tag("result", result)
+                .description("Reads of the cached roster, by whether it was fresh, stale or had to be loaded")
+                .register(meterRegistry);
+    }
+
+    public List<Employee> getEmployees() {
+        return getSnapshot().getEmployees();
+    }
+
+    public RosterSnapshot getSnapshot() {
+        RosterSnapshot current = cachedSnapshot();
+        return current != null ? current : await(loadOrFallBack());
+    }
+
+    public Mono<RosterSnapshot> snapshot() {
+        return Mono.defer(() -> {
+            RosterSnapshot current = cachedSnapshot();
+            return current != null ? Mono.just(current) : Mono.fromFuture(loadOrFallBack(), true);
+        });
+    }
+
+    /**
+     * Returns whatever snapshot is cached, however old, without ever loading one; {@code null} if there is none.
+     * Fit only as a fallback while the upstream can't be reached.
+     */
+    public RosterSnapshot peekSnapshot() {
+        return snapshot.get();
+    }
+
+    /**
+     * Returns the cached snapshot if it is still young enough to be served, stale or not, without loading one,
+     * starting a refresh or counting a read; {@code null} otherwise.
+     */
+    public RosterSnapshot peekServableSnapshot() {
+        RosterSnapshot current = snapshot.get();
+        return current != null && current.isYoungerThan(timeToLive.plus(staleWhileRevalidate), clock.instant()) ? current : null;
+    }
+
+    /**
+     * Returns the cached snapshot if it may still be served, starting a background refresh when it is stale, or
+     * {@code null} when callers have to wait for a load.
+     */
+    private RosterSnapshot cachedSnapshot() {
+        RosterSnapshot current = snapshot.get();
+        if (current == null) {
+            misses.increment();
+            return null;
+        }
+        Instant now = clock.instant();
+        if (current.isYoungerThan(timeToLive, now)) {
+            hits.increment();
+            return current;
+        }
+        if (current.isYoungerThan(timeToLive.plus(staleWhileRevalidate), now)) {
+            logger.debug("EmployeeRosterCache - Serving stale roster loaded at {} while revalidating", current.getLoadedAt());
+            staleHits.increment();
+            load();
+            return current;
+        }
+        misses.increment();
+        return null;
+    }
+
+    public void onEmployeeCreated(Employee employee) {
+        apply(current -> current.withEmployeeAdded(employee));
+    }
+
+    public void onEmployeeDeleted(String id) {
+        apply(current -> current.withEmployeeRemoved(id));
+    }
+
+    /**
+     * Drops the cached roster and detaches any load already in flight, so that the next read fetches a roster
+     * that reflects writes made before this call.
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+        snapshot.set(null);
+        inFlightLoad.set(null);
+        logger.debug("EmployeeRosterCache - Roster invalidated");
+    }
+
+    private void apply(UnaryOperator<RosterSnapshot> mutation) {
+        generation.incrementAndGet();
+        inFlightLoad.set(null);
+        RosterSnapshot updated = snapshot.updateAndGet(current -> current == null ? null : mutation.apply(current));
+        if (updated == null) {
+            // Either nothing was cached or the write can't be mirrored locally; the next read refetches.
+            invalidate();
+        }
+    }
+
+    private CompletableFuture<RosterSnapshot> load() {
+        while (true) {
+            CompletableFuture<RosterSnapshot> pending = inFlightLoad.get();
+            if (pending != null) {
+                return pending;
+            }
+            CompletableFuture<RosterSnapshot> candidate = new CompletableFuture<>();
+            if (inFlightLoad.compareAndSet(null, candidate)) {
+                long loadGeneration = generation.get();
+                Timer.Sample sample = Timer.start();
+                employeeDao.listAllEmployees()
+                        .doFinally(signal -> sample.stop(loadTimer))
+                        .publishOn(storeScheduler)
+                        .subscribe(
+                                employees -> store(candidate, loadGeneration, employees),
+                                error -> fail(candidate, error),
+                                () -> {
+                                    if (!candidate.isDone()) {
+                                        fail(candidate,
+                                                new ExternalApiException("Failed to retrieve employees. Response is null."));
+                                    }
+                                });
+                return candidate;
+            }
+        }
+    }
+
+    /**
+     * Loads the roster, answering with the last one loaded instead if the upstream is unavailable and there is one.
+     */
+    private CompletableFuture<RosterSnapshot> loadOrFallBack() {
+        return load().exceptionally(error -> {
+            Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+            RosterSnapshot lastLoaded = snapshot.get();
+            if (!(cause instanceof UpstreamUnavailableException) || lastLoaded == null) {
+                throw error instanceof CompletionException completionException ? completionException : new CompletionException(cause);
+            }
+            logger.warn("EmployeeRosterCache - Upstream unavailable, serving roster loaded at {}", lastLoaded.getLoadedAt());
+            fallbacks.increment();
+            return lastLoaded;
+        });
+    }
+
+    private void store(CompletableFuture<RosterSnapshot> candidate, long loadGeneration, List<Employee> employees) {
+        try {
+            RosterSnapshot loaded = new RosterSnapshot(employees, clock.instant(), parallelThreshold);
+            if (generation.get() == loadGeneration) {
+                snapshot.set(loaded);
+            }
+            inFlightLoad.compareAndSet(candidate, null);
+            candidate.complete(loaded);
+        } catch (RuntimeException e) {
+            fail(candidate, e);
+        }
+    }
+
+    private void fail(CompletableFuture<RosterSnapshot> candidate, Throwable error) {
+        logger.warn("EmployeeRosterCache - Roster refresh failed: {}", error.getMessage());
+        inFlightLoad.compareAndSet(candidate, null);
+        candidate.completeExceptionally(error);
+    }
+
+    private static RosterSnapshot await(CompletableFuture<RosterSnapshot> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.constants.ApplicationConstants;
+import com.reliaquest.api.index.EmployeeSlots;
+import com.reliaquest.api.index.NameIndex;
+import com.reliaquest.api.index.RosterColumns;
+import com.reliaquest.api.index.SalaryIndex;
+import com.reliaquest.api.models.Employee;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Immutable view of the full employee roster together with the indexes derived from it.
+ * <p>
+ * Snapshots are built from one upstream fetch; writes made through this service produce a new snapshot that
+ * carries the same {@code loadedAt}, so they never extend the snapshot's lifetime. Employees keep the upstream's
+ * order, which is the order the upstream searches when it deletes by name.
+ * <p>
+ * Employees are kept in {@link EmployeeSlots}, and alongside them their fields in {@link RosterColumns}, whose rows
+ * are those slots; the salary index is built from the columns and by-id lookups go through them. A write shares
+ * almost everything with the snapshot it was made on: an added employee is appended to the slots, the columns and
+ * the name index, and a removed one leaves its slot and row empty, so neither copies the roster.
+ */
+@Getter
+public class RosterSnapshot {
+    @Getter(AccessLevel.NONE)
+    private final EmployeeSlots slots;
+    private final SalaryIndex salaryIndex;
+    private final NameIndex nameIndex;
+    private final Instant loadedAt;
+    private final RosterColumns columns;
+
+    /**
+     * Builds a snapshot whose indexes are built and searched in parallel once the roster, or the part of it a
+     * search has to check, reaches {@code parallelThreshold} employees.
+     */
+    public RosterSnapshot(List<Employee> employees, Instant loadedAt, int parallelThreshold) {
+        this.slots = EmployeeSlots.of(employees);
+        List<Employee> roster = slots.employees();
+        this.columns = RosterColumns.of(roster);
+        this.salaryIndex = SalaryIndex.build(roster, columns, ApplicationConstants.DIGIT_TEN, parallelThreshold);
+        this.nameIndex = NameIndex.build(roster, parallelThreshold);
+        this.loadedAt = loadedAt;
+    }
+
+    private RosterSnapshot(EmployeeSlots slots, SalaryIndex salaryIndex, NameIndex nameIndex, Instant loadedAt,
+                           RosterColumns columns) {
+        this.slots = slots;
+        this.salaryIndex = salaryIndex;
+        this.nameIndex = nameIndex;
+        this.loadedAt = loadedAt;
+        this.columns = columns;
+    }
+
+    /**
+     * Returns the employees in roster order; after a write, the list is built on first use.
+     */
+    public List<Employee> getEmployees() {
+        return slots.employees();
+    }
+
+    /**
+     * Returns the employee with {@code id}, or {@code null} if this snapshot doesn't contain it.
+     */
+    public Employee findById(String id) {
+        int slot = indexOf(id);
+        return slot < 0 ? null : slots.get(slot);
+    }
+
+    /**
+     * Whether deleting {@code employee} by name would hit a different employee: the upstream deletes the first
+     * employee whose name matches case-insensitively, so any namesake ahead of it in this roster is deleted
+     * instead. An employee this snapshot doesn't contain is treated as coming after everyone in it.
+     */
+    public boolean isShadowedByNamesake(Employee employee) {
+        if (employee.getName() == null) {
+            return false;
+        }
+        int position = employee.getId() == null ? -1 : indexOf(employee.getId().toString());
+        // Every namesake contains the name, so the name index finds them without a scan over the roster.
+        for (Employee candidate : nameIndex.search(employee.getName())) {
+            if (!candidate.getName().equalsIgnoreCase(employee.getName())) {
+                continue;
+            }
+            int candidatePosition = candidate.getId() == null ? -1 : indexOf(candidate.getId().toString());
+            // Matches come in roster order, so the first namesake decides.
+            return position < 0 || candidatePosition != position;
+        }
+        return false;
+    }
+
+    boolean isYoungerThan(Duration age, Instant now) {
+        return now.isBefore(loadedAt.plus(age));
+    }
+
+    /**
+     * Returns this snapshot with {@code employee} appended, this snapshot if it already contains that id, or
+     * {@code null} if the employee has no id to track it by.
+     */
+    RosterSnapshot withEmployeeAdded(Employee employee) {
+        if (employee.getId() == null) {
+            return null;
+        }
+        if (indexOf(employee.getId().toString()) >= 0) {
+            return this;
+        }
+        return new RosterSnapshot(slots.withAppended(employee), salaryIndex.withAdded(employee),
+                nameIndex.withAdded(employee), loadedAt, columns.withAppended(employee));
+    }
+
+    /**
+     * Returns this snapshot without the employee with the given id, or {@code null} when the removal can't be
+     * mirrored locally: the upstream deletes the first employee whose name matches case-insensitively, so if
+     * the name is shared we can't tell which record went away.
+     */
+    RosterSnapshot withEmployeeRemoved(String id) {
+        int slot = indexOf(id);
+        if (slot < 0) {
+            return this;
+        }
+        Employee removed = slots.get(slot);
+        if (removed.getName() != null) {
+            // Every namesake contains the name, so the name index finds them without a scan over the roster.
+            for (Employee candidate : nameIndex.search(removed.getName())) {
+                if (candidate != removed && candidate.getName().equalsIgnoreCase(removed.getName())) {
+                    return null;
+                }
+            }
+        }
+        EmployeeSlots remainingSlots = slots.withCleared(slot);
+        RosterColumns remainingColumns = columns.withRemoved(slot);
+        return new RosterSnapshot(remainingSlots, salaryIndex.withRemoved(removed, remainingSlots, remainingColumns),
+                nameIndex.withRemoved(removed), loadedAt, remainingColumns);
+    }
+
+    private int indexOf(String id) {
+        return columns.rowOf(id);
+    }
+}
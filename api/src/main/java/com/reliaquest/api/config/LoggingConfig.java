@@ -0,0 +1,33 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.logging.CorrelationId;
+import com.reliaquest.api.logging.CorrelationIdFilter;
+import com.reliaquest.api.logging.ReactiveCorrelationIdFilter;
+import com.reliaquest.api.logging.RequestLogSampler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Correlation ids and sampled request logging, for whichever web stack the api runs on. The log pipeline itself,
+ * asynchronous and JSON by default, is set up in {@code logback-spring.xml}.
+ */
+@Configuration
+public class LoggingConfig {
+
+    public LoggingConfig() {
+        CorrelationId.registerForContextPropagation();
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public CorrelationIdFilter correlationIdFilter(RequestLogSampler requestLogSampler) {
+        return new CorrelationIdFilter(requestLogSampler);
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public ReactiveCorrelationIdFilter reactiveCorrelationIdFilter(RequestLogSampler requestLogSampler) {
+        return new ReactiveCorrelationIdFilter(requestLogSampler);
+    }
+}
@@ -0,0 +1,54 @@
+package com.reliaquest.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Connection pool, timeout and protocol settings of the {@link org.springframework.web.reactive.function.client.WebClient}
+ * that talks to the upstream employee API, bound from {@code employee.upstream.client.*}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "employee.upstream.client")
+public class UpstreamClientProperties {
+
+    /** Upper bound on open connections to the upstream. */
+    private int maxConnections = 500;
+
+    /** Requests allowed to wait for a pooled connection once all of them are in use; -1 means unbounded. */
+    private int pendingAcquireMaxCount = 1000;
+
+    /** How long a request waits for a pooled connection before failing. */
+    private Duration pendingAcquireTimeout = Duration.ofSeconds(5);
+
+    /** Connections idle for longer than this are closed. */
+    private Duration maxIdleTime = Duration.ofSeconds(30);
+
+    /** Connections older than this are closed once released, so they get spread over upstream instances again. */
+    private Duration maxLifeTime = Duration.ofMinutes(5);
+
+    /** How often idle and expired connections are evicted in the background. */
+    private Duration evictionInterval = Duration.ofSeconds(30);
+
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    /** Longest silence allowed while reading from a connection. */
+    private Duration readTimeout = Duration.ofSeconds(5);
+
+    private Duration writeTimeout = Duration.ofSeconds(5);
+
+    /** Longest wait for the complete response of a single request. */
+    private Duration responseTimeout = Duration.ofSeconds(5);
+
+    /** Send {@code Accept-Encoding: gzip} and decompress responses. */
+    private boolean compression = true;
+
+    /** Speak cleartext HTTP/2 (h2c) to the upstream, falling back to HTTP/1.1 if it does not upgrade. */
+    private boolean h2c = false;
+
+    /** Publish active, idle and pending connection gauges of the pool to Micrometer. */
+    private boolean metrics = true;
+}
@@ -0,0 +1,59 @@
+package com.reliaquest.api.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.http.Outcome;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Times every request sent to the upstream, from the moment it is sent until its response status and headers have
+ * arrived, under {@value #METRIC_NAME}.
+ * <p>
+ * Each attempt is timed on its own, so a read the rate governor retries after a 429 shows up once per attempt, each
+ * with the status it got. Timers are tagged with the HTTP method, the response status and its outcome; a request that
+ * fails without a response is tagged with status {@code NONE} and outcome {@code UNKNOWN}, or {@code CANCELLED} if it
+ * was abandoned before the response arrived.
+ */
+public class UpstreamRequestMetrics implements ExchangeFilterFunction {
+    static final String METRIC_NAME = "employee.upstream.requests";
+    private static final String NO_STATUS = "NONE";
+
+    private final MeterRegistry meterRegistry;
+
+    public UpstreamRequestMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            // A cancellation can still arrive once the response is in; only the first signal is recorded.
+            AtomicBoolean recorded = new AtomicBoolean();
+            String method = request.method().name();
+            return next.exchange(request)
+                    .doOnNext(response -> stop(sample, recorded, method, String.valueOf(response.statusCode().value()),
+                            Outcome.forStatus(response.statusCode().value()).name()))
+                    .doOnError(error -> stop(sample, recorded, method, NO_STATUS, Outcome.UNKNOWN.name()))
+                    .doOnCancel(() -> stop(sample, recorded, method, NO_STATUS, "CANCELLED"));
+        });
+    }
+
+    private void stop(Timer.Sample sample, AtomicBoolean recorded, String method, String status, String outcome) {
+        if (!recorded.compareAndSet(false, true)) {
+            return;
+        }
+        sample.stop(Timer.builder(METRIC_NAME)
+                .description("Requests sent to the upstream employee API, until the response headers arrive")
+                .tag("method", method)
+                .tag("status", status)
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+}
@@ -1,18 +1,76 @@
 package com.reliaquest.api.config;
 
 import com.reliaquest.api.constants.UrlConstants;
+import com.reliaquest.api.logging.CorrelationIdPropagation;
+import com.reliaquest.api.resilience.BulkheadProperties;
+import com.reliaquest.api.resilience.CircuitBreakerProperties;
+import com.reliaquest.api.resilience.RateGovernorProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import io.netty.handler.timeout.WriteTimeoutHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.concurrent.TimeUnit;
 
 
 @Configuration
+@EnableConfigurationProperties({UpstreamClientProperties.class, RateGovernorProperties.class,
+        CircuitBreakerProperties.class, BulkheadProperties.class})
 public class WebClientConfig {
+    private static final String CONNECTION_POOL_NAME = "employee-upstream";
+
     @Bean
-    public WebClient webClient(){
-        return WebClient.builder().baseUrl(UrlConstants.REST_API_BASE_URL)
+    public WebClient webClient(@Value("${employee.upstream.base-url:" + UrlConstants.REST_API_BASE_URL + "}") String baseUrl,
+                               ConnectionProvider upstreamConnectionProvider,
+                               UpstreamClientProperties properties,
+                               MeterRegistry meterRegistry){
+        return WebClient.builder().baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(upstreamHttpClient(upstreamConnectionProvider, properties)))
+                .filter(new UpstreamRequestMetrics(meterRegistry))
+                .filter(new CorrelationIdPropagation())
                 .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE).build();
     }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider upstreamConnectionProvider(UpstreamClientProperties properties) {
+        return ConnectionProvider.builder(CONNECTION_POOL_NAME)
+                .maxConnections(properties.getMaxConnections())
+                .pendingAcquireMaxCount(properties.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(properties.getPendingAcquireTimeout())
+                .maxIdleTime(properties.getMaxIdleTime())
+                .maxLifeTime(properties.getMaxLifeTime())
+                .evictInBackground(properties.getEvictionInterval())
+                // Hand out the most recently released connection so the rest can age out instead of all staying warm.
+                .lifo()
+                .metrics(properties.isMetrics())
+                .build();
+    }
+
+    static HttpClient upstreamHttpClient(ConnectionProvider connectionProvider, UpstreamClientProperties properties) {
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, Math.toIntExact(properties.getConnectTimeout().toMillis()))
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .responseTimeout(properties.getResponseTimeout())
+                .compress(properties.isCompression())
+                // Added per request rather than per connection: Reactor Netty removes them once the exchange completes,
+                // so an idle pooled connection is left to the pool's own eviction instead of timing out.
+                .doOnRequest((request, connection) -> connection
+                        .addHandlerLast(new ReadTimeoutHandler(properties.getReadTimeout().toMillis(), TimeUnit.MILLISECONDS))
+                        .addHandlerLast(new WriteTimeoutHandler(properties.getWriteTimeout().toMillis(), TimeUnit.MILLISECONDS)));
+        if (properties.isH2c()) {
+            httpClient = httpClient.protocol(HttpProtocol.H2C, HttpProtocol.HTTP11);
+        }
+        return httpClient;
+    }
 }
@@ -0,0 +1,72 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.models.Employee;
+import com.reliaquest.api.models.EmployeeRequest;
+import com.reliaquest.api.service.IReactiveEmployeeService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * WebFlux twin of {@link EmployeeControllerImpl}, active when the api runs as a reactive web application
+ * ({@code spring.main.web-application-type=reactive}).
+ * <p>
+ * It can't implement {@link IEmployeeController} because every handler returns a {@link Mono}, so it repeats the
+ * interface's mappings; paths, request bodies and response bodies are identical to the servlet controller.
+ */
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveEmployeeController {
+    private final IReactiveEmployeeService employeeService;
+    private final Logger logger = LoggerFactory.getLogger(ReactiveEmployeeController.class);
+
+    @GetMapping()
+    public Mono<ResponseEntity<List<Employee>>> getAllEmployees() {
+        logger.debug("ReactiveEmployeeController - Entered getAllEmployees()");
+        return employeeService.getAllEmployees().map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/search/{searchString}")
+    public Mono<ResponseEntity<List<Employee>>> getEmployeesByNameSearch(@PathVariable String searchString) {
+        logger.debug("ReactiveEmployeeController - Entered getEmployeesByNameSearch() with searchString: {}", searchString);
+        return employeeService.getEmployeesByNameSearch(searchString).map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Employee>> getEmployeeById(@PathVariable String id) {
+        logger.debug("ReactiveEmployeeController - Entered getEmployeeById() with id: {}", id);
+        return employeeService.getEmployeeById(id).map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/highestSalary")
+    public Mono<ResponseEntity<Integer>> getHighestSalaryOfEmployees() {
+        logger.debug("ReactiveEmployeeController - Entered getHighestSalaryOfEmployees()");
+        return employeeService.getHighestSalaryOfEmployees().map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/topTenHighestEarningEmployeeNames")
+    public Mono<ResponseEntity<List<String>>> getTopTenHighestEarningEmployeeNames() {
+        logger.debug("ReactiveEmployeeController - Entered getTopTenHighestEarningEmployeeNames()");
+        return employeeService.getTopTenHighestEarningEmployeeNames().map(ResponseEntity::ok);
+    }
+
+    @PostMapping()
+    public Mono<ResponseEntity<Employee>> createEmployee(@Valid @RequestBody EmployeeRequest employeeInput) {
+        logger.debug("ReactiveEmployeeController - Entered createEmployee() with request: {}", employeeInput);
+        return employeeService.createEmployee(employeeInput).map(ResponseEntity::ok);
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<String>> deleteEmployeeById(@PathVariable String id) {
+        logger.debug("ReactiveEmployeeController - Entered deleteEmployeeById() with id: {}", id);
+        return employeeService.deleteEmployeeById(id).map(ResponseEntity::ok);
+    }
+}
@@ -1,137 +1,265 @@
 package com.reliaquest.api.dao;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.reliaquest.api.Exception.ApiRateLimitException;
 import com.reliaquest.api.Exception.EmployeeException;
 import com.reliaquest.api.Exception.ExternalApiException;
+import com.reliaquest.api.Exception.UpstreamUnavailableException;
 import com.reliaquest.api.constants.ApplicationConstants;
 import com.reliaquest.api.models.*;
+import com.reliaquest.api.resilience.UpstreamBulkhead;
+import com.reliaquest.api.resilience.UpstreamCircuitBreakers;
+import com.reliaquest.api.resilience.UpstreamRateGovernor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import org.apache.logging.log4j.util.Strings;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Repository;
 import org.springframework.web.reactive.function.client.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
 
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * Client for the upstream employee API.
+ * <p>
+ * Every operation is available as a {@link Mono} that does not block, for the reactive request path, and as a
+ * blocking method that subscribes to the same {@link Mono} and waits for it, for the servlet request path. Errors
+ * are translated into the api's exceptions inside the {@link Mono}, so both forms fail the same way.
+ * <p>
+ * Every request goes through the {@link UpstreamRateGovernor}, which paces requests to the upstream's budget and
+ * retries the ones it rejects with a 429. Around it, the operation's circuit breaker in {@link UpstreamCircuitBreakers}
+ * rejects calls straight away while the upstream keeps failing them, and inside it the {@link UpstreamBulkhead} caps
+ * the requests in flight; both reject with an {@link UpstreamUnavailableException}. Concurrent reads of the same URI are coalesced: the first caller's request
+ * is shared by everyone who asks for the same URI while it is in flight, so they all get the one deserialized
+ * result and the upstream sees a single request.
+ * <p>
+ * The roster is decoded as a stream, so it is never buffered whole and is not subject to the codecs' in-memory
+ * limit.
+ * <p>
+ * Every operation is timed under {@value #CALLS_METRIC}, from subscription until its result is in, including pacing,
+ * retries and decoding, and tagged with the operation, its HTTP method and its outcome. The outcome follows the
+ * translated error, so a 429 translated into an {@link ApiRateLimitException} counts as {@code RATE_LIMITED} whether
+ * the upstream or the rate governor turned it away, and a call rejected by a circuit breaker or the bulkhead counts as
+ * {@code REJECTED}. A read shared by coalesced callers is timed once.
+ */
 @Repository
 @RequiredArgsConstructor
 public class EmployeeDao {
     private final WebClient webClient;
+    private final UpstreamRateGovernor rateGovernor;
+    private final UpstreamCircuitBreakers circuitBreakers;
+    private final UpstreamBulkhead bulkhead;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, Mono<?>> inFlightReads = new ConcurrentHashMap<>();
     private static final Logger logger = LoggerFactory.getLogger(EmployeeDao.class);
+    static final String CALLS_METRIC = "employee.upstream.calls";
 
     public Employee addEmployee(EmployeeRequest request) {
-        String uri = Strings.EMPTY;
-        logger.info("EmployeeDao - Adding new employee with request: {}", request);
-        try {
-            ApiResponse<Employee> apiResponse = webClient.post()
-                    .uri(uri)
-                    .body(Mono.just(request), EmployeeRequest.class)
-                    .retrieve()
-                    .bodyToMono(new ParameterizedTypeReference<ApiResponse<Employee>>() {})
-                    .block();
-
-            if (apiResponse == null || apiResponse.getData() == null) {
-                throw new ExternalApiException("Failed to add employee. Response is null.");
-            }
+        return createEmployee(request).block();
+    }
 
-            logger.info("EmployeeDao - Successfully added employee with id: {}", apiResponse.getData().getId());
-            return apiResponse.getData();
+    public List<Employee> getListOfAllEmployees() {
+        return listAllEmployees().block();
+    }
 
-        } catch (Exception e) {
-            handleException(e, ApplicationConstants.NA);
-            return null; // Unreachable, but required by the compiler.
-        }
+    public Employee getEmployeeById(String id) {
+        return findEmployeeById(id).block();
     }
 
-    public List<Employee> getListOfAllEmployees() {
+    public String deleteEmployeeByName(String id) {
+        return deleteEmployee(id).block();
+    }
+
+    public Mono<Employee> createEmployee(EmployeeRequest request) {
         String uri = Strings.EMPTY;
-        logger.info("EmployeeDao - Retrieving list of all employees");
-        try {
-            ApiResponse<List<Employee>> apiResponse = webClient.get()
-                    .uri(uri)
-                    .retrieve()
-                    .bodyToMono(new ParameterizedTypeReference<ApiResponse<List<Employee>>>() {})
-                    .block();
-
-            if (apiResponse == null || apiResponse.getData() == null) {
-                throw new ExternalApiException("Failed to retrieve employees. Response is null.");
-            }
+        return timed("create", HttpMethod.POST, guarded("create", Mono.defer(() -> {
+                    logger.debug("EmployeeDao - Adding new employee with request: {}", request);
+                    return webClient.post()
+                            .uri(uri)
+                            .body(Mono.just(request), EmployeeRequest.class)
+                            .retrieve()
+                            .bodyToMono(new ParameterizedTypeReference<ApiResponse<Employee>>() {});
+                }))
+                .mapNotNull(ApiResponse::getData)
+                .switchIfEmpty(Mono.error(() -> new ExternalApiException("Failed to add employee. Response is null.")))
+                .doOnNext(employee -> logger.info("EmployeeDao - Successfully added employee with id: {}", employee.getId()))
+                .onErrorMap(e -> translateException(e, ApplicationConstants.NA)));
+    }
 
-            logger.info("EmployeeDao - Successfully retrieved {} employees", apiResponse.getData().size());
-            return apiResponse.getData();
+    public Mono<List<Employee>> listAllEmployees() {
+        return coalesce(Strings.EMPTY, streamAllEmployees()
+                .collectList()
+                .doOnNext(employees -> logger.debug("EmployeeDao - Successfully retrieved {} employees", employees.size())));
+    }
 
-        } catch (Exception e) {
-            handleException(e, ApplicationConstants.NA);
-            return null;
-        }
+    /**
+     * Emits the roster one employee at a time while the response is still arriving; see
+     * {@link EmployeeStreamDecoder}. Unlike {@link #listAllEmployees()} every subscription sends its own request.
+     */
+    public Flux<Employee> streamAllEmployees() {
+        String uri = Strings.EMPTY;
+        return timed("list", HttpMethod.GET, guarded("list", Flux.defer(() -> {
+                    logger.debug("EmployeeDao - Retrieving list of all employees");
+                    return EmployeeStreamDecoder.decode(webClient.get()
+                            .uri(uri)
+                            .retrieve()
+                            .bodyToFlux(DataBuffer.class), objectMapper);
+                }))
+                .onErrorMap(e -> translateException(e, ApplicationConstants.NA)));
     }
 
-    public Employee getEmployeeById(String id) {
+    public Mono<Employee> findEmployeeById(String id) {
         String uri = ApplicationConstants.FORWARD_SLASH + id;
-        logger.info("EmployeeDao - Retrieving employee with id: {}", id);
-        try {
-            ApiResponse<Employee> apiResponse = webClient.get()
-                    .uri(uri)
-                    .retrieve()
-                    .bodyToMono(new ParameterizedTypeReference<ApiResponse<Employee>>() {})
-                    .block();
-            if (apiResponse == null || apiResponse.getData() == null) {
-                throw new EmployeeException("Employee not Found", ApplicationConstants.ID);
-            }
-            logger.info("EmployeeDao - Successfully retrieved employee with id: {}", id);
-            return apiResponse.getData();
+        return coalesce(uri, timed("get-by-id", HttpMethod.GET, guarded("get-by-id", Mono.defer(() -> {
+                    logger.debug("EmployeeDao - Retrieving employee with id: {}", id);
+                    return webClient.get()
+                            .uri(uri)
+                            .retrieve()
+                            .bodyToMono(new ParameterizedTypeReference<ApiResponse<Employee>>() {});
+                }))
+                .mapNotNull(ApiResponse::getData)
+                .switchIfEmpty(Mono.error(() -> new EmployeeException("Employee not Found", ApplicationConstants.ID)))
+                .doOnNext(employee -> logger.debug("EmployeeDao - Successfully retrieved employee with id: {}", id))
+                .onErrorMap(e -> translateException(e, ApplicationConstants.ID))));
+    }
 
-        } catch (Exception e) {
-            handleException(e, ApplicationConstants.ID);
-            return null;
-        }
+    public Mono<String> deleteEmployee(String id) {
+        return Mono.defer(() -> {
+                    logger.debug("EmployeeDao - Deleting employee with id: {}", id);
+                    // Retrieve the employee details first, the upstream deletes by name.
+                    return findEmployeeById(id);
+                })
+                .flatMap(employee -> deleteByName(employee.getName()));
     }
-    public String deleteEmployeeByName(String id) {
-        logger.info("EmployeeDao - Deleting employee with id: {}", id);
-        Employee employee = getEmployeeById(id); // Retrieve the employee details first
-        DeleteMockEmployeeInput deleteInput = new DeleteMockEmployeeInput(employee.getName());
+
+    /**
+     * Deletes the first employee whose name matches {@code name} case-insensitively, which is how the upstream
+     * deletes, and returns that name.
+     */
+    public Mono<String> deleteByName(String name) {
+        DeleteMockEmployeeInput deleteInput = new DeleteMockEmployeeInput(name);
         String uri = Strings.EMPTY;
-        try {
-            ApiResponse<Boolean> apiResponse = webClient.method(HttpMethod.DELETE)
-                    .uri(uri)
-                    .body(Mono.just(deleteInput), DeleteMockEmployeeInput.class)
-                    .retrieve()
-                    .bodyToMono(new ParameterizedTypeReference<ApiResponse<Boolean>>() {})
-                    .block();
-
-            if (apiResponse == null || apiResponse.getData() == null || !apiResponse.getData()) {
-                throw new ExternalApiException("Failed to delete employee. Response is null or deletion unsuccessful.");
-            }
+        return timed("delete", HttpMethod.DELETE, guarded("delete", Mono.defer(() -> webClient.method(HttpMethod.DELETE)
+                        .uri(uri)
+                        .body(Mono.just(deleteInput), DeleteMockEmployeeInput.class)
+                        .retrieve()
+                        .bodyToMono(new ParameterizedTypeReference<ApiResponse<Boolean>>() {})))
+                .filter(apiResponse -> Boolean.TRUE.equals(apiResponse.getData()))
+                .switchIfEmpty(Mono.error(() -> new ExternalApiException("Failed to delete employee. Response is null or deletion unsuccessful.")))
+                .map(apiResponse -> name)
+                .doOnNext(deleted -> logger.info("EmployeeDao - Successfully deleted employee with name: {}", deleted))
+                .onErrorMap(e -> translateException(e, ApplicationConstants.NAME)));
+    }
+
+    /**
+     * Shares {@code read} among all callers that ask for {@code uri} while it is in flight. The entry is dropped as
+     * soon as the read terminates, so results are never reused after the fact; a caller cancelling only cancels the
+     * upstream request once every caller sharing it has cancelled.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> Mono<T> coalesce(String uri, Mono<T> read) {
+        return Mono.defer(() -> (Mono<T>) inFlightReads.computeIfAbsent(uri, key -> {
+            AtomicReference<Mono<T>> shared = new AtomicReference<>();
+            shared.set(read
+                    .doFinally(signal -> inFlightReads.remove(key, shared.get()))
+                    .share());
+            return shared.get();
+        }));
+    }
+
+    private <T> Mono<T> guarded(String operation, Mono<T> request) {
+        return circuitBreakers.protect(operation, rateGovernor.govern(bulkhead.limit(request)));
+    }
+
+    private <T> Flux<T> guarded(String operation, Flux<T> request) {
+        return circuitBreakers.protect(operation, rateGovernor.govern(bulkhead.limit(request)));
+    }
 
-            logger.info("EmployeeDao - Successfully deleted employee with name: {}", employee.getName());
-            return employee.getName();
+    private <T> Mono<T> timed(String operation, HttpMethod method, Mono<T> call) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            AtomicBoolean emitted = new AtomicBoolean();
+            AtomicReference<Throwable> failure = new AtomicReference<>();
+            return call
+                    .doOnNext(value -> emitted.set(true))
+                    .doOnError(failure::set)
+                    // A caller may cancel once it has the result; that still counts as a success.
+                    .doFinally(signal -> stop(sample, operation, method, outcome(signal, failure.get(), emitted.get())));
+        });
+    }
+
+    private <T> Flux<T> timed(String operation, HttpMethod method, Flux<T> call) {
+        return Flux.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            AtomicReference<Throwable> failure = new AtomicReference<>();
+            return call
+                    .doOnError(failure::set)
+                    .doFinally(signal -> stop(sample, operation, method, outcome(signal, failure.get(), false)));
+        });
+    }
+
+    private void stop(Timer.Sample sample, String operation, HttpMethod method, String outcome) {
+        sample.stop(Timer.builder(CALLS_METRIC)
+                .description("Operations on the upstream employee API, including pacing and retries")
+                .tag("operation", operation)
+                .tag("method", method.name())
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
 
-        } catch (Exception e) {
-            handleException(e, ApplicationConstants.NAME);
-            return null;
+    private static String outcome(SignalType signal, Throwable failure, boolean resultDelivered) {
+        if (failure instanceof ApiRateLimitException) {
+            return "RATE_LIMITED";
         }
+        if (failure instanceof UpstreamUnavailableException) {
+            return "REJECTED";
+        }
+        if (failure instanceof EmployeeException) {
+            return "NOT_FOUND";
+        }
+        if (failure != null) {
+            return "UPSTREAM_ERROR";
+        }
+        return signal == SignalType.CANCEL && !resultDelivered ? "CANCELLED" : "SUCCESS";
     }
 
-    private void handleException(Exception e, String requestIdentificationParam) {
+    private RuntimeException translateException(Throwable e, String requestIdentificationParam) {
+        if (e instanceof UpstreamUnavailableException ex) {
+            logger.warn("EmployeeDao - Upstream not called for request {}: {}", requestIdentificationParam, ex.getMessage());
+            return ex;
+        }
+        if (e instanceof ApiRateLimitException) {
+            logger.warn("EmployeeDao - Request held back by the rate governor: {}", requestIdentificationParam);
+            return new ApiRateLimitException("Unusual traffic has been detected, please try again later", requestIdentificationParam);
+        }
         if (e instanceof WebClientResponseException ex) {
             if (ex.getStatusCode() == HttpStatus.TOO_MANY_REQUESTS) {
                 logger.warn("EmployeeDao - Rate limit exceeded for request: {}", requestIdentificationParam);
-                throw new ApiRateLimitException("Unusual traffic has been detected, please try again later", requestIdentificationParam);
+                return new ApiRateLimitException("Unusual traffic has been detected, please try again later", requestIdentificationParam);
             } else if (ex.getStatusCode() == HttpStatus.NOT_FOUND) {
                 logger.warn("EmployeeDao - Employee not found for request: {}", requestIdentificationParam);
-                throw new EmployeeException("Employee not Found", requestIdentificationParam);
+                return new EmployeeException("Employee not Found", requestIdentificationParam);
             } else {
                 logger.error("EmployeeDao - Error occurred with status code {} for request: {}", ex.getStatusCode(), requestIdentificationParam);
-                throw new ExternalApiException("Error occurred while processing employee details. Check your request or try again later.");
+                return new ExternalApiException("Error occurred while processing employee details. Check your request or try again later.");
             }
         } else {
             logger.error("EmployeeDao - Unexpected error occurred: {}", e.getMessage());
-            throw new ExternalApiException("An unexpected error occurred while processing the request.");
+            return new ExternalApiException("An unexpected error occurred while processing the request.");
         }
     }
 }
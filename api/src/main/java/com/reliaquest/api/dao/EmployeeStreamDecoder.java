@@ -0,0 +1,179 @@
+package com.reliaquest.api.dao;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.reliaquest.api.models.Employee;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decodes the upstream's roster response, {@code {"data": [employee, ...], ...}}, while it is still arriving.
+ * <p>
+ * The body is fed chunk by chunk into Jackson's non-blocking parser. The tokens of one employee at a time are
+ * collected and bound as soon as its closing brace arrives, so an employee is emitted before the rest of the body
+ * has been received, and neither the whole body nor a tree of it is ever held in memory. Each chunk is released as
+ * soon as it has been fed to the parser. Fields other than {@code data} are skipped.
+ * <p>
+ * A response without a {@code data} array, including {@code "data": null} and an empty body, fails with a
+ * {@link DecodingException}, as does malformed JSON.
+ */
+final class EmployeeStreamDecoder {
+    private static final String DATA_FIELD = "data";
+
+    private enum State { BEFORE_ROOT, IN_ROOT, BEFORE_DATA, SKIPPING_VALUE, IN_DATA, IN_EMPLOYEE, AFTER_DATA, DONE }
+
+    private final ObjectMapper objectMapper;
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+    private State state = State.BEFORE_ROOT;
+    private int nesting;
+    private boolean sawData;
+    private TokenBuffer employeeTokens;
+
+    private EmployeeStreamDecoder(ObjectMapper objectMapper) throws IOException {
+        this.objectMapper = objectMapper;
+        this.parser = objectMapper.getFactory().createNonBlockingByteArrayParser();
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    static Flux<Employee> decode(Flux<DataBuffer> body, ObjectMapper objectMapper) {
+        return Flux.defer(() -> {
+            EmployeeStreamDecoder decoder;
+            try {
+                decoder = new EmployeeStreamDecoder(objectMapper);
+            } catch (IOException e) {
+                return Flux.error(new DecodingException("Could not create a JSON parser", e));
+            }
+            return body.concatMapIterable(decoder::feed)
+                    .concatWith(Mono.fromCallable(decoder::finish).flatMapIterable(employees -> employees))
+                    .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                    .doFinally(signal -> decoder.close());
+        });
+    }
+
+    private List<Employee> feed(DataBuffer buffer) {
+        byte[] bytes = new byte[buffer.readableByteCount()];
+        try {
+            buffer.read(bytes);
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+        try {
+            feeder.feedInput(bytes, 0, bytes.length);
+            return drain();
+        } catch (IOException e) {
+            throw new DecodingException("Malformed roster response: " + e.getMessage(), e);
+        }
+    }
+
+    private List<Employee> finish() {
+        feeder.endOfInput();
+        try {
+            List<Employee> employees = drain();
+            if (!sawData || state != State.DONE) {
+                throw new DecodingException(sawData ? "Roster response ended early" : "Roster response has no employee data");
+            }
+            return employees;
+        } catch (IOException e) {
+            throw new DecodingException("Malformed roster response: " + e.getMessage(), e);
+        }
+    }
+
+    private List<Employee> drain() throws IOException {
+        List<Employee> employees = new ArrayList<>();
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            Employee employee = accept(token);
+            if (employee != null) {
+                employees.add(employee);
+            }
+        }
+        return employees;
+    }
+
+    /**
+     * Advances the state machine by one token and returns the employee it completed, if any.
+     */
+    private Employee accept(JsonToken token) throws IOException {
+        switch (state) {
+            case BEFORE_ROOT -> {
+                expect(token == JsonToken.START_OBJECT, token);
+                state = State.IN_ROOT;
+            }
+            case IN_ROOT, AFTER_DATA -> {
+                if (token == JsonToken.END_OBJECT) {
+                    state = State.DONE;
+                } else if (DATA_FIELD.equals(parser.currentName()) && state == State.IN_ROOT) {
+                    state = State.BEFORE_DATA;
+                } else {
+                    state = State.SKIPPING_VALUE;
+                    nesting = 0;
+                }
+            }
+            case SKIPPING_VALUE -> {
+                nesting += token.isStructStart() ? 1 : token.isStructEnd() ? -1 : 0;
+                if (nesting == 0) {
+                    state = sawData ? State.AFTER_DATA : State.IN_ROOT;
+                }
+            }
+            case BEFORE_DATA -> {
+                if (token == JsonToken.VALUE_NULL) {
+                    state = State.IN_ROOT;
+                } else {
+                    expect(token == JsonToken.START_ARRAY, token);
+                    sawData = true;
+                    state = State.IN_DATA;
+                }
+            }
+            case IN_DATA -> {
+                if (token == JsonToken.END_ARRAY) {
+                    state = State.AFTER_DATA;
+                } else if (token != JsonToken.VALUE_NULL) {
+                    expect(token == JsonToken.START_OBJECT, token);
+                    employeeTokens = new TokenBuffer(parser);
+                    employeeTokens.copyCurrentEvent(parser);
+                    nesting = 1;
+                    state = State.IN_EMPLOYEE;
+                }
+            }
+            case IN_EMPLOYEE -> {
+                employeeTokens.copyCurrentEvent(parser);
+                nesting += token.isStructStart() ? 1 : token.isStructEnd() ? -1 : 0;
+                if (nesting == 0) {
+                    state = State.IN_DATA;
+                    try (JsonParser employeeParser = employeeTokens.asParser(objectMapper)) {
+                        return objectMapper.readValue(employeeParser, Employee.class);
+                    } finally {
+                        employeeTokens = null;
+                    }
+                }
+            }
+            case DONE -> throw new DecodingException("Unexpected content after the roster response: " + token);
+        }
+        return null;
+    }
+
+    private static void expect(boolean condition, JsonToken token) {
+        if (!condition) {
+            throw new DecodingException("Unexpected token in roster response: " + token);
+        }
+    }
+
+    private void close() {
+        try {
+            parser.close();
+        } catch (IOException ignored) {
+            // Nothing to release beyond the parser's own buffers.
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.reliaquest.api.index;
+
+import com.reliaquest.api.models.Employee;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable roster in which every employee occupies a slot that never moves, so a slot is a stable position across
+ * successive versions of the roster.
+ * <p>
+ * Slots are handed out in roster order and never reused; removing an employee leaves its slot empty. The slots live
+ * in fixed-size chunks that are copied on write, so appending or removing an employee copies one chunk and the chunk
+ * table rather than the whole roster.
+ */
+public final class EmployeeSlots {
+    static final int CHUNK_SIZE = 1024;
+
+    private final Employee[][] chunks;
+    private final int slotCount;
+    private final int size;
+    private volatile List<Employee> employees;
+
+    private EmployeeSlots(Employee[][] chunks, int slotCount, int size, List<Employee> employees) {
+        this.chunks = chunks;
+        this.slotCount = slotCount;
+        this.size = size;
+        this.employees = employees;
+    }
+
+    public static EmployeeSlots of(List<Employee> roster) {
+        List<Employee> employees = List.copyOf(roster);
+        Employee[][] chunks = new Employee[(employees.size() + CHUNK_SIZE - 1) / CHUNK_SIZE][];
+        for (int chunkIndex = 0; chunkIndex < chunks.length; chunkIndex++) {
+            int from = chunkIndex * CHUNK_SIZE;
+            Employee[] chunk = new Employee[CHUNK_SIZE];
+            for (int slot = from; slot < Math.min(from + CHUNK_SIZE, employees.size()); slot++) {
+                chunk[slot - from] = employees.get(slot);
+            }
+            chunks[chunkIndex] = chunk;
+        }
+        return new EmployeeSlots(chunks, employees.size(), employees.size(), employees);
+    }
+
+    /**
+     * Number of employees in the roster.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Number of slots ever handed out; slots of removed employees stay empty.
+     */
+    public int slotCount() {
+        return slotCount;
+    }
+
+    /**
+     * Returns the employee in {@code slot}, or {@code null} if the slot is empty.
+     */
+    public Employee get(int slot) {
+        return chunks[slot / CHUNK_SIZE][slot % CHUNK_SIZE];
+    }
+
+    /**
+     * Returns the employees in roster order. Built on first use and then shared by every caller.
+     */
+    public List<Employee> employees() {
+        List<Employee> result = employees;
+        if (result == null) {
+            List<Employee> collected = new ArrayList<>(size);
+            for (int slot = 0; slot < slotCount; slot++) {
+                Employee employee = get(slot);
+                if (employee != null) {
+                    collected.add(employee);
+                }
+            }
+            result = Collections.unmodifiableList(collected);
+            employees = result;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the roster with {@code employee} in a new slot at the end.
+     */
+    public EmployeeSlots withAppended(Employee employee) {
+        int chunkIndex = slotCount / CHUNK_SIZE;
+        int offset = slotCount % CHUNK_SIZE;
+        Employee[][] updatedChunks;
+        Employee[] chunk;
+        if (offset == 0) {
+            updatedChunks = Arrays.copyOf(chunks, chunkIndex + 1);
+            chunk = new Employee[CHUNK_SIZE];
+        } else {
+            updatedChunks = chunks.clone();
+            chunk = chunks[chunkIndex].clone();
+        }
+        chunk[offset] = employee;
+        updatedChunks[chunkIndex] = chunk;
+        return new EmployeeSlots(updatedChunks, slotCount + 1, size + 1, null);
+    }
+
+    /**
+     * Returns the roster with {@code slot} emptied.
+     */
+    public EmployeeSlots withCleared(int slot) {
+        if (get(slot) == null) {
+            return this;
+        }
+        int chunkIndex = slot / CHUNK_SIZE;
+        Employee[] chunk = chunks[chunkIndex].clone();
+        chunk[slot % CHUNK_SIZE] = null;
+        Employee[][] updatedChunks = chunks.clone();
+        updatedChunks[chunkIndex] = chunk;
+        return new EmployeeSlots(updatedChunks, slotCount, size - 1, null);
+    }
+}
@@ -0,0 +1,382 @@
+package com.reliaquest.api.index;
+
+import com.reliaquest.api.models.Employee;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Immutable trigram index over lower-cased employee names, answering the same question as
+ * {@code name.toLowerCase().contains(query.toLowerCase())} without touching every employee.
+ * <p>
+ * Every employee occupies a slot of an {@link EmployeeSlots}; slots are handed out in roster order and never
+ * reused, so scanning slots in ascending order yields results in roster order. Each trigram of a normalized name
+ * maps to the ascending list of slots containing it. A query of three or more characters intersects the posting
+ * lists of its trigrams and only verifies the surviving candidates; shorter queries fall back to a scan over the
+ * pre-normalized names. Removed employees leave an empty slot behind until the index is rebuilt from the next
+ * roster snapshot.
+ * <p>
+ * The normalized names of each chunk of slots are kept back to back in one buffer, slot {@code i} of the chunk
+ * spanning {@code [nameOffsets[i], nameOffsets[i + 1])}, rather than as one {@code String} per employee. The buffer
+ * is a {@code String}, so it is stored one byte per char when every name allows it and searched with the
+ * intrinsified {@code indexOf}; verifying a candidate or scanning for a short query allocates nothing but the
+ * result. A short query is searched for across each buffer in one pass, and each hit is mapped back to the slot it
+ * falls in.
+ * <p>
+ * Successive versions share their posting lists. A list is allocated with room to spare, and an added employee's
+ * slot is written into that room, past the end of the list as every version already built sees it; each version
+ * only reads the entries below its own slot count. Adding an employee therefore touches the lists of its own
+ * trigrams and the last chunk of names, not the whole index. A version that isn't the latest one appended to
+ * rebuilds the lists instead, which only happens when two writes race.
+ * <p>
+ * Once the slots to check reach {@code parallelThreshold}, they are split into ranges that are checked on the
+ * fork-join pool; the matches of each range are concatenated in slot order, so results keep roster order.
+ */
+public final class NameIndex {
+    private static final int GRAM_LENGTH = 3;
+    private static final int CHUNK_SIZE = EmployeeSlots.CHUNK_SIZE;
+    private static final int[] NO_SLOTS = new int[0];
+    // Fills the room at the end of a posting list; above every slot, so it is never read as one.
+    private static final int UNUSED = Integer.MAX_VALUE;
+
+    private final EmployeeSlots slots;
+    private final NameChunk[] nameChunks;
+    private final Map<Long, int[]> postings;
+    // Slots written to the shared posting lists so far, across every version sharing them; a version may only
+    // add to them in place while this is still its own slot count.
+    private final AtomicInteger slotsWritten;
+    private final int parallelThreshold;
+
+    private NameIndex(EmployeeSlots slots, NameChunk[] nameChunks, Map<Long, int[]> postings,
+                      AtomicInteger slotsWritten, int parallelThreshold) {
+        this.slots = slots;
+        this.nameChunks = nameChunks;
+        this.postings = postings;
+        this.slotsWritten = slotsWritten;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    public static NameIndex build(List<Employee> roster) {
+        return build(roster, Integer.MAX_VALUE);
+    }
+
+    public static NameIndex build(List<Employee> roster, int parallelThreshold) {
+        EmployeeSlots slots = EmployeeSlots.of(roster);
+        NameChunk[] nameChunks = new NameChunk[(slots.slotCount() + CHUNK_SIZE - 1) / CHUNK_SIZE];
+        for (int chunkIndex = 0; chunkIndex < nameChunks.length; chunkIndex++) {
+            int from = chunkIndex * CHUNK_SIZE;
+            nameChunks[chunkIndex] = NameChunk.of(slots, from, Math.min(from + CHUNK_SIZE, slots.slotCount()));
+        }
+        return new NameIndex(slots, nameChunks, postingsOf(slots), new AtomicInteger(slots.slotCount()),
+                parallelThreshold);
+    }
+
+    /**
+     * Returns every employee whose name contains {@code query}, ignoring case, in roster order.
+     */
+    public List<Employee> search(String query) {
+        String normalizedQuery = normalize(query);
+        if (normalizedQuery.length() < GRAM_LENGTH) {
+            return scan(normalizedQuery);
+        }
+        int[] candidates = candidatesFor(normalizedQuery);
+        return PartitionedScan.run(candidates.length, parallelThreshold, (from, to) -> {
+            List<Employee> matches = new ArrayList<>();
+            for (int i = from; i < to; i++) {
+                int slot = candidates[i];
+                Employee employee = slots.get(slot);
+                if (employee != null && nameContains(slot, normalizedQuery)) {
+                    matches.add(employee);
+                }
+            }
+            return matches;
+        }, NameIndex::concat);
+    }
+
+    /**
+     * Returns the index after {@code employee} has been appended to the end of the roster.
+     */
+    public NameIndex withAdded(Employee employee) {
+        int slot = slots.slotCount();
+        String normalized = normalize(employee.getName());
+        int chunkIndex = slot / CHUNK_SIZE;
+        NameChunk[] updatedChunks = Arrays.copyOf(nameChunks, chunkIndex + 1);
+        updatedChunks[chunkIndex] = (slot % CHUNK_SIZE == 0 ? NameChunk.EMPTY : nameChunks[chunkIndex])
+                .withAppended(slot % CHUNK_SIZE, normalized);
+        EmployeeSlots updatedSlots = slots.withAppended(employee);
+        if (!slotsWritten.compareAndSet(slot, slot + 1)) {
+            return new NameIndex(updatedSlots, updatedChunks, postingsOf(updatedSlots),
+                    new AtomicInteger(slot + 1), parallelThreshold);
+        }
+        if (normalized != null) {
+            for (long gram : distinctGrams(normalized)) {
+                int[] posting = postings.getOrDefault(gram, NO_SLOTS);
+                int length = lengthBelow(posting, slot);
+                if (length < posting.length) {
+                    posting[length] = slot;
+                } else {
+                    // Doubles, so the copies made as a list grows add up to a constant per entry.
+                    int[] grown = Arrays.copyOf(posting, Math.max(4, posting.length * 2));
+                    Arrays.fill(grown, length + 1, grown.length, UNUSED);
+                    grown[length] = slot;
+                    postings.put(gram, grown);
+                }
+            }
+        }
+        return new NameIndex(updatedSlots, updatedChunks, postings, slotsWritten, parallelThreshold);
+    }
+
+    /**
+     * Returns the index without {@code employee}; its slot is left empty.
+     */
+    public NameIndex withRemoved(Employee employee) {
+        String normalized = normalize(employee.getName());
+        int[] candidates = normalized == null || normalized.length() < GRAM_LENGTH
+                ? null
+                : candidatesFor(normalized);
+        int count = candidates == null ? slots.slotCount() : candidates.length;
+        for (int i = 0; i < count; i++) {
+            int slot = candidates == null ? i : candidates[i];
+            if (slots.get(slot) == employee) {
+                return new NameIndex(slots.withCleared(slot), nameChunks, postings, slotsWritten,
+                        parallelThreshold);
+            }
+        }
+        return this;
+    }
+
+    private List<Employee> scan(String normalizedQuery) {
+        return PartitionedScan.run(slots.slotCount(), parallelThreshold, (from, to) -> {
+            List<Employee> matches = new ArrayList<>();
+            for (int chunkFrom = from; chunkFrom < to; chunkFrom = (chunkFrom / CHUNK_SIZE + 1) * CHUNK_SIZE) {
+                int chunkTo = Math.min(to, (chunkFrom / CHUNK_SIZE + 1) * CHUNK_SIZE);
+                scanChunk(chunkFrom, chunkTo, normalizedQuery, matches);
+            }
+            return matches;
+        }, NameIndex::concat);
+    }
+
+    /**
+     * Adds the employees in slots {@code [from, to)}, all in one chunk, whose names contain the query.
+     */
+    private void scanChunk(int from, int to, String normalizedQuery, List<Employee> matches) {
+        NameChunk chunk = nameChunks[from / CHUNK_SIZE];
+        int base = from - from % CHUNK_SIZE;
+        if (normalizedQuery.isEmpty()) {
+            for (int slot = from; slot < to; slot++) {
+                if (slots.get(slot) != null && !chunk.missingNames[slot - base]) {
+                    matches.add(slots.get(slot));
+                }
+            }
+            return;
+        }
+        int[] nameOffsets = chunk.nameOffsets;
+        int end = nameOffsets[to - base];
+        int offset = from - base;
+        int hit = chunk.names.indexOf(normalizedQuery, nameOffsets[offset], end);
+        while (hit >= 0) {
+            // Skips the slots that end at or before the hit, empty ones included.
+            while (nameOffsets[offset + 1] <= hit) {
+                offset++;
+            }
+            int slotEnd = nameOffsets[offset + 1];
+            if (hit + normalizedQuery.length() <= slotEnd) {
+                Employee employee = slots.get(base + offset);
+                if (employee != null) {
+                    matches.add(employee);
+                }
+                hit = chunk.names.indexOf(normalizedQuery, slotEnd, end);
+            } else {
+                // The hit runs into the next name, which may still match further on.
+                hit = chunk.names.indexOf(normalizedQuery, hit + 1, end);
+            }
+        }
+    }
+
+    /**
+     * Whether the normalized name in {@code slot} contains {@code normalizedQuery}; a missing name contains nothing.
+     */
+    private boolean nameContains(int slot, String normalizedQuery) {
+        NameChunk chunk = nameChunks[slot / CHUNK_SIZE];
+        int offset = slot % CHUNK_SIZE;
+        return !chunk.missingNames[offset]
+                && chunk.names.indexOf(normalizedQuery, chunk.nameOffsets[offset], chunk.nameOffsets[offset + 1]) >= 0;
+    }
+
+    private static List<Employee> concat(List<Employee> left, List<Employee> right) {
+        if (right.isEmpty()) {
+            return left;
+        }
+        if (left.isEmpty()) {
+            return right;
+        }
+        List<Employee> combined = new ArrayList<>(left.size() + right.size());
+        combined.addAll(left);
+        combined.addAll(right);
+        return combined;
+    }
+
+    private int[] candidatesFor(String normalizedQuery) {
+        int slotCount = slots.slotCount();
+        List<int[]> lists = new ArrayList<>();
+        for (long gram : distinctGrams(normalizedQuery)) {
+            int[] posting = postings.get(gram);
+            if (posting == null) {
+                return NO_SLOTS;
+            }
+            // Only the part of a shared list below this version's slot count belongs to this version.
+            int length = lengthBelow(posting, slotCount);
+            if (length == 0) {
+                return NO_SLOTS;
+            }
+            lists.add(length == posting.length ? posting : Arrays.copyOf(posting, length));
+        }
+        // Intersecting the shortest lists first keeps every intermediate result small.
+        lists.sort(Comparator.comparingInt(list -> list.length));
+        int[] candidates = lists.get(0);
+        for (int i = 1; i < lists.size() && candidates.length > 0; i++) {
+            candidates = intersect(candidates, lists.get(i));
+        }
+        return candidates;
+    }
+
+    private static int[] intersect(int[] left, int[] right) {
+        int[] result = new int[Math.min(left.length, right.length)];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                result[size++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    /**
+     * Returns how many entries of the ascending {@code posting} are below {@code slotCount}.
+     */
+    private static int lengthBelow(int[] posting, int slotCount) {
+        int low = 0;
+        int high = posting.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (posting[middle] < slotCount) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static Map<Long, int[]> postingsOf(EmployeeSlots slots) {
+        Map<Long, SlotList> building = new HashMap<>();
+        for (int slot = 0; slot < slots.slotCount(); slot++) {
+            Employee employee = slots.get(slot);
+            String normalized = employee == null ? null : normalize(employee.getName());
+            if (normalized != null) {
+                for (long gram : distinctGrams(normalized)) {
+                    building.computeIfAbsent(gram, ignored -> new SlotList()).add(slot);
+                }
+            }
+        }
+        // Concurrent, as later versions add lists to it while earlier ones are searched.
+        Map<Long, int[]> postings = new ConcurrentHashMap<>(building.size() * 4 / 3 + 1);
+        building.forEach((gram, slotList) -> postings.put(gram, slotList.toArray()));
+        return postings;
+    }
+
+    private static Set<Long> distinctGrams(String normalized) {
+        if (normalized.length() < GRAM_LENGTH) {
+            return Collections.emptySet();
+        }
+        Set<Long> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= normalized.length(); i++) {
+            grams.add(((long) normalized.charAt(i) << 32) | ((long) normalized.charAt(i + 1) << 16) | normalized.charAt(i + 2));
+        }
+        return grams;
+    }
+
+    private static String normalize(String name) {
+        return name == null ? null : name.toLowerCase();
+    }
+
+    /**
+     * The normalized names of one chunk of slots, back to back. Never modified once built.
+     */
+    private static final class NameChunk {
+        static final NameChunk EMPTY = new NameChunk("", new int[CHUNK_SIZE + 1], new boolean[CHUNK_SIZE]);
+
+        private final String names;
+        private final int[] nameOffsets;
+        private final boolean[] missingNames;
+
+        private NameChunk(String names, int[] nameOffsets, boolean[] missingNames) {
+            this.names = names;
+            this.nameOffsets = nameOffsets;
+            this.missingNames = missingNames;
+        }
+
+        static NameChunk of(EmployeeSlots slots, int from, int to) {
+            int[] nameOffsets = new int[CHUNK_SIZE + 1];
+            boolean[] missingNames = new boolean[CHUNK_SIZE];
+            StringBuilder names = new StringBuilder();
+            for (int slot = from; slot < to; slot++) {
+                String normalized = normalize(slots.get(slot).getName());
+                missingNames[slot - from] = normalized == null;
+                if (normalized != null) {
+                    names.append(normalized);
+                }
+                nameOffsets[slot - from + 1] = names.length();
+            }
+            return new NameChunk(names.toString(), nameOffsets, missingNames);
+        }
+
+        /**
+         * Returns this chunk with {@code normalized} as the name of its slot {@code offset}, the first one unused.
+         */
+        NameChunk withAppended(int offset, String normalized) {
+            String updatedNames = normalized == null ? names : names.concat(normalized);
+            int[] updatedOffsets = nameOffsets.clone();
+            updatedOffsets[offset + 1] = updatedNames.length();
+            boolean[] updatedMissingNames = missingNames;
+            if (normalized == null) {
+                updatedMissingNames = missingNames.clone();
+                updatedMissingNames[offset] = true;
+            }
+            return new NameChunk(updatedNames, updatedOffsets, updatedMissingNames);
+        }
+    }
+
+    private static final class SlotList {
+        private int[] slots = new int[4];
+        private int size;
+
+        void add(int slot) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size++] = slot;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(slots, size);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.reliaquest.api.index;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+
+/**
+ * Runs a scan over the positions {@code [0, size)}, on the calling thread for small ranges and on the common
+ * fork-join pool once the range reaches a threshold.
+ * <p>
+ * The parallel path halves the range until the pieces are small enough, scans every piece and combines the
+ * results of neighbouring pieces left before right. The result therefore only depends on the range and the
+ * combiner, never on how the pieces were scheduled, as long as the combiner is associative.
+ */
+final class PartitionedScan<T> extends RecursiveTask<T> {
+    // Below this many positions a piece costs more to fork than to scan.
+    private static final int MIN_PIECE_SIZE = 4096;
+    // Pieces per worker, so that a slow piece doesn't leave the other workers idle.
+    private static final int PIECES_PER_WORKER = 4;
+
+    /**
+     * Scans the positions {@code [from, to)}.
+     */
+    @FunctionalInterface
+    interface Scan<T> {
+        T scan(int from, int to);
+    }
+
+    private final int from;
+    private final int to;
+    private final int pieceSize;
+    private final Scan<T> scan;
+    private final BinaryOperator<T> combiner;
+
+    private PartitionedScan(int from, int to, int pieceSize, Scan<T> scan, BinaryOperator<T> combiner) {
+        this.from = from;
+        this.to = to;
+        this.pieceSize = pieceSize;
+        this.scan = scan;
+        this.combiner = combiner;
+    }
+
+    /**
+     * Scans {@code [0, size)} in one piece if {@code size} is below {@code parallelThreshold}, and in parallel
+     * pieces combined left to right otherwise.
+     */
+    static <T> T run(int size, int parallelThreshold, Scan<T> scan, BinaryOperator<T> combiner) {
+        if (size < parallelThreshold) {
+            return scan.scan(0, size);
+        }
+        int pieces = ForkJoinPool.getCommonPoolParallelism() * PIECES_PER_WORKER;
+        int pieceSize = Math.max(MIN_PIECE_SIZE, (size + pieces - 1) / pieces);
+        return ForkJoinPool.commonPool().invoke(new PartitionedScan<>(0, size, pieceSize, scan, combiner));
+    }
+
+    @Override
+    protected T compute() {
+        if (to - from <= pieceSize) {
+            return scan.scan(from, to);
+        }
+        int middle = (from + to) >>> 1;
+        PartitionedScan<T> left = new PartitionedScan<>(from, middle, pieceSize, scan, combiner);
+        left.fork();
+        T right = new PartitionedScan<>(middle, to, pieceSize, scan, combiner).compute();
+        return combiner.apply(left.join(), right);
+    }
+}
@@ -0,0 +1,304 @@
+package com.reliaquest.api.index;
+
+import com.reliaquest.api.models.Employee;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Immutable column-per-field copy of the roster, row {@code i} holding the employee in slot {@code i} of the
+ * roster's {@link EmployeeSlots}.
+ * <p>
+ * Salaries and ages are {@code int} columns, ids are pairs of {@code long}s and titles are codes into a dictionary
+ * of the distinct titles, so a scan over a column reads consecutive memory and neither unboxes nor allocates. A
+ * missing salary or age reads as {@link #MISSING} and a missing title as {@code null}. Names live in the
+ * {@link NameIndex}, whose slots line up with these rows.
+ * <p>
+ * Ids are also kept in an open-addressing table, so a row is found by its id without a {@code UUID} or a
+ * lower-cased key being allocated. When ids repeat, the first row with the id that hasn't been removed wins.
+ * <p>
+ * Successive versions share their columns and id table. The columns are allocated with room to spare, and
+ * appending a row writes it into that room, past the end of every version already built, so an append costs
+ * amortized constant time; a version only copies the columns when they are full, or when another version has
+ * already been appended to them. Removing a row marks it in a bitmap kept in fixed-size chunks that are copied on
+ * write.
+ */
+public final class RosterColumns {
+    public static final int MISSING = Integer.MIN_VALUE;
+    private static final int NOT_FOUND = -1;
+    private static final int NO_TITLE = -1;
+    private static final int UUID_LENGTH = 36;
+    // Rows per chunk of the removed-row bitmap, a multiple of the 64 rows a word holds.
+    private static final int REMOVED_CHUNK_ROWS = 4096;
+    private static final long[][] NONE_REMOVED = new long[0][];
+    // Value of every hexadecimal digit by char, -1 for every other char below 128.
+    private static final byte[] HEX_DIGITS = hexDigits();
+
+    private final int size;
+    private final long[] idBits;
+    private final boolean[] missingIds;
+    private final int[] idTable;
+    private final int[] salaries;
+    private final int[] ages;
+    private final String[] titleDictionary;
+    private final int[] titleCodes;
+    private final long[][] removedRows;
+    // Rows written to the shared columns so far, across every version sharing them; a version may only append in
+    // place while this is still its own size.
+    private final AtomicInteger rowsWritten;
+
+    private RosterColumns(int size, long[] idBits, boolean[] missingIds, int[] idTable, int[] salaries, int[] ages,
+                          String[] titleDictionary, int[] titleCodes, long[][] removedRows,
+                          AtomicInteger rowsWritten) {
+        this.size = size;
+        this.idBits = idBits;
+        this.missingIds = missingIds;
+        this.idTable = idTable;
+        this.salaries = salaries;
+        this.ages = ages;
+        this.titleDictionary = titleDictionary;
+        this.titleCodes = titleCodes;
+        this.removedRows = removedRows;
+        this.rowsWritten = rowsWritten;
+    }
+
+    public static RosterColumns of(List<Employee> roster) {
+        int size = roster.size();
+        long[] idBits = new long[size * 2];
+        boolean[] missingIds = new boolean[size];
+        int[] salaries = new int[size];
+        int[] ages = new int[size];
+        Map<String, Integer> codesByTitle = new HashMap<>();
+        int[] titleCodes = new int[size];
+        for (int row = 0; row < size; row++) {
+            Employee employee = roster.get(row);
+            setId(idBits, missingIds, row, employee);
+            salaries[row] = valueOrMissing(employee.getSalary());
+            ages[row] = valueOrMissing(employee.getAge());
+            titleCodes[row] = employee.getTitle() == null
+                    ? NO_TITLE
+                    : codesByTitle.computeIfAbsent(employee.getTitle(), ignored -> codesByTitle.size());
+        }
+        String[] titleDictionary = new String[codesByTitle.size()];
+        codesByTitle.forEach((title, code) -> titleDictionary[code] = title);
+        return new RosterColumns(size, idBits, missingIds, idTable(size, idBits, missingIds), salaries, ages,
+                titleDictionary, titleCodes, NONE_REMOVED, new AtomicInteger(size));
+    }
+
+    /**
+     * Returns these columns with {@code employee} appended as the last row.
+     */
+    public RosterColumns withAppended(Employee employee) {
+        int row = size;
+        boolean inPlace = row < salaries.length && rowsWritten.compareAndSet(row, row + 1);
+        long[] updatedIdBits = idBits;
+        boolean[] updatedMissingIds = missingIds;
+        int[] updatedSalaries = salaries;
+        int[] updatedAges = ages;
+        int[] updatedTitleCodes = titleCodes;
+        AtomicInteger updatedRowsWritten = rowsWritten;
+        if (!inPlace) {
+            // Grows by half, so the copies made as the roster grows add up to a constant per row.
+            int capacity = row + (row >> 1) + 1;
+            updatedIdBits = Arrays.copyOf(idBits, capacity * 2);
+            updatedMissingIds = Arrays.copyOf(missingIds, capacity);
+            updatedSalaries = Arrays.copyOf(salaries, capacity);
+            updatedAges = Arrays.copyOf(ages, capacity);
+            updatedTitleCodes = Arrays.copyOf(titleCodes, capacity);
+            updatedRowsWritten = new AtomicInteger(row + 1);
+        }
+        setId(updatedIdBits, updatedMissingIds, row, employee);
+        updatedSalaries[row] = valueOrMissing(employee.getSalary());
+        updatedAges[row] = valueOrMissing(employee.getAge());
+        String[] updatedDictionary = titleDictionary;
+        updatedTitleCodes[row] = NO_TITLE;
+        if (employee.getTitle() != null) {
+            updatedTitleCodes[row] = Arrays.asList(titleDictionary).indexOf(employee.getTitle());
+            if (updatedTitleCodes[row] < 0) {
+                updatedDictionary = Arrays.copyOf(titleDictionary, titleDictionary.length + 1);
+                updatedDictionary[titleDictionary.length] = employee.getTitle();
+                updatedTitleCodes[row] = titleDictionary.length;
+            }
+        }
+        int[] updatedIdTable;
+        if (inPlace && (row + 1) * 2 <= idTable.length) {
+            updatedIdTable = idTable;
+            insertId(updatedIdTable, updatedIdBits, updatedMissingIds, row);
+        } else {
+            updatedIdTable = idTable(row + 1, updatedIdBits, updatedMissingIds);
+        }
+        return new RosterColumns(row + 1, updatedIdBits, updatedMissingIds, updatedIdTable, updatedSalaries,
+                updatedAges, updatedDictionary, updatedTitleCodes, removedRows, updatedRowsWritten);
+    }
+
+    /**
+     * Returns these columns with {@code row} marked as removed.
+     */
+    public RosterColumns withRemoved(int row) {
+        if (isRemoved(row)) {
+            return this;
+        }
+        int chunkIndex = row / REMOVED_CHUNK_ROWS;
+        long[][] updatedRemovedRows = Arrays.copyOf(removedRows, Math.max(removedRows.length, chunkIndex + 1));
+        long[] chunk = updatedRemovedRows[chunkIndex] == null
+                ? new long[REMOVED_CHUNK_ROWS / Long.SIZE]
+                : updatedRemovedRows[chunkIndex].clone();
+        chunk[(row % REMOVED_CHUNK_ROWS) / Long.SIZE] |= 1L << row;
+        updatedRemovedRows[chunkIndex] = chunk;
+        return new RosterColumns(size, idBits, missingIds, idTable, salaries, ages, titleDictionary, titleCodes,
+                updatedRemovedRows, rowsWritten);
+    }
+
+    /**
+     * Whether {@code row} has been removed; the columns of a removed row keep the values it had.
+     */
+    public boolean isRemoved(int row) {
+        int chunkIndex = row / REMOVED_CHUNK_ROWS;
+        if (chunkIndex >= removedRows.length || removedRows[chunkIndex] == null) {
+            return false;
+        }
+        return (removedRows[chunkIndex][(row % REMOVED_CHUNK_ROWS) / Long.SIZE] & 1L << row) != 0;
+    }
+
+    /**
+     * Number of rows, removed ones included.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the row of the employee with {@code id}, or -1 if no row that hasn't been removed has it. Only the canonical 36-character
+     * form of an id matches, in either case.
+     */
+    public int rowOf(String id) {
+        if (id == null || id.length() != UUID_LENGTH) {
+            return NOT_FOUND;
+        }
+        if (id.charAt(8) != '-' || id.charAt(13) != '-' || id.charAt(18) != '-' || id.charAt(23) != '-') {
+            return NOT_FOUND;
+        }
+        long first = hex(id, 0, 8);
+        long second = hex(id, 9, 13);
+        long third = hex(id, 14, 18);
+        long fourth = hex(id, 19, 23);
+        long fifth = hex(id, 24, 36);
+        // Each group is -1 if it isn't hexadecimal, which is the only way any of them can be negative.
+        if ((first | second | third | fourth | fifth) < 0) {
+            return NOT_FOUND;
+        }
+        long mostSignificantBits = first << 32 | second << 16 | third;
+        long leastSignificantBits = fourth << 48 | fifth;
+        int mask = idTable.length - 1;
+        for (int slot = hash(mostSignificantBits, leastSignificantBits) & mask; ; slot = (slot + 1) & mask) {
+            int row = idTable[slot] - 1;
+            if (row < 0) {
+                return NOT_FOUND;
+            }
+            // Rows past this version's size were appended by a later version; this version doesn't have them.
+            if (row < size && !isRemoved(row) && sameId(idBits, row, mostSignificantBits, leastSignificantBits)) {
+                return row;
+            }
+        }
+    }
+
+    /**
+     * Returns the salary in {@code row}, or {@link #MISSING} if the employee has none.
+     */
+    public int salary(int row) {
+        return salaries[row];
+    }
+
+    /**
+     * Returns the age in {@code row}, or {@link #MISSING} if the employee has none.
+     */
+    public int age(int row) {
+        return ages[row];
+    }
+
+    public String title(int row) {
+        return titleCodes[row] == NO_TITLE ? null : titleDictionary[titleCodes[row]];
+    }
+
+    private static void setId(long[] idBits, boolean[] missingIds, int row, Employee employee) {
+        UUID id = employee.getId();
+        // Set either way, as a copied column may hold a row another version appended past this one's size.
+        missingIds[row] = id == null;
+        if (id == null) {
+            return;
+        }
+        idBits[row * 2] = id.getMostSignificantBits();
+        idBits[row * 2 + 1] = id.getLeastSignificantBits();
+    }
+
+    private static int valueOrMissing(Integer value) {
+        return value == null ? MISSING : value;
+    }
+
+    /**
+     * Parses the hexadecimal digits in {@code [from, to)}, at most 15 of them, or returns -1 if any char isn't one.
+     */
+    private static long hex(String id, int from, int to) {
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            char c = id.charAt(i);
+            int digit = c < HEX_DIGITS.length ? HEX_DIGITS[c] : -1;
+            if (digit < 0) {
+                return -1;
+            }
+            value = value << 4 | digit;
+        }
+        return value;
+    }
+
+    private static byte[] hexDigits() {
+        byte[] digits = new byte[128];
+        Arrays.fill(digits, (byte) -1);
+        for (char c = '0'; c <= '9'; c++) {
+            digits[c] = (byte) (c - '0');
+        }
+        for (char c = 'a'; c <= 'f'; c++) {
+            digits[c] = (byte) (c - 'a' + 10);
+            digits[Character.toUpperCase(c)] = (byte) (c - 'a' + 10);
+        }
+        return digits;
+    }
+
+    private static int[] idTable(int size, long[] idBits, boolean[] missingIds) {
+        // At most half full, so probe sequences stay short. Entries are rows plus one, zero marking an empty slot.
+        // Sized for twice the rows, so appends fill it in place until the roster has doubled.
+        int[] table = new int[Integer.highestOneBit(Math.max(size, 1) * 2 - 1) << 2];
+        for (int row = 0; row < size; row++) {
+            insertId(table, idBits, missingIds, row);
+        }
+        return table;
+    }
+
+    private static void insertId(int[] table, long[] idBits, boolean[] missingIds, int row) {
+        if (missingIds[row]) {
+            return;
+        }
+        long mostSignificantBits = idBits[row * 2];
+        long leastSignificantBits = idBits[row * 2 + 1];
+        int mask = table.length - 1;
+        int slot = hash(mostSignificantBits, leastSignificantBits) & mask;
+        // Rows with the same id are all kept, in row order along the probe sequence, so the first one is met first.
+        while (table[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = row + 1;
+    }
+
+    private static boolean sameId(long[] idBits, int row, long mostSignificantBits, long leastSignificantBits) {
+        return idBits[row * 2] == mostSignificantBits && idBits[row * 2 + 1] == leastSignificantBits;
+    }
+
+    private static int hash(long mostSignificantBits, long leastSignificantBits) {
+        long mixed = (mostSignificantBits ^ Long.rotateLeft(leastSignificantBits, 32)) * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32));
+    }
+}
@@ -0,0 +1,218 @@
+package com.reliaquest.api.index;
+
+import com.reliaquest.api.models.Employee;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.IntFunction;
+
+/**
+ * Immutable top-K view of the roster by salary.
+ * <p>
+ * Holds at most {@code capacity} employees ordered by salary descending; employees with equal salaries keep their
+ * roster order, which matches a stable sort of the whole roster. The highest salary is the head of that list.
+ * Additions are merged in O(K). Removing an employee outside the top K is free; removing one inside it needs the
+ * remaining roster to find the replacement.
+ * <p>
+ * Builds scan the salary column of {@link RosterColumns}, keeping roster positions in a primitive heap, so the
+ * scan neither unboxes salaries nor allocates per employee. Rosters of at least {@code parallelThreshold}
+ * employees are split into partitions that are scanned on the fork-join pool, each keeping its own top-K heap;
+ * the partial lists are merged pairwise. Ties are broken by roster position in both paths, so the result is the
+ * same however the roster was partitioned.
+ */
+public final class SalaryIndex {
+    private final int capacity;
+    private final int parallelThreshold;
+    private final List<Employee> topEarners;
+
+    private SalaryIndex(int capacity, int parallelThreshold, List<Employee> topEarners) {
+        this.capacity = capacity;
+        this.parallelThreshold = parallelThreshold;
+        this.topEarners = topEarners;
+    }
+
+    public static SalaryIndex build(List<Employee> roster, int capacity) {
+        return build(roster, capacity, Integer.MAX_VALUE);
+    }
+
+    public static SalaryIndex build(List<Employee> roster, int capacity, int parallelThreshold) {
+        return build(roster, RosterColumns.of(roster), capacity, parallelThreshold);
+    }
+
+    /**
+     * Builds the index from {@code roster} and its already built {@code columns}.
+     */
+    public static SalaryIndex build(List<Employee> roster, RosterColumns columns, int capacity, int parallelThreshold) {
+        return build(roster::get, columns, capacity, parallelThreshold);
+    }
+
+    /**
+     * Builds the index from the employees in {@code slots} and their {@code columns}, whose rows are those slots.
+     */
+    public static SalaryIndex build(EmployeeSlots slots, RosterColumns columns, int capacity, int parallelThreshold) {
+        return build(slots::get, columns, capacity, parallelThreshold);
+    }
+
+    private static SalaryIndex build(IntFunction<Employee> employeeAt, RosterColumns columns, int capacity,
+                                     int parallelThreshold) {
+        int[] positions = PartitionedScan.run(columns.size(), parallelThreshold,
+                (from, to) -> topOf(columns, from, to, capacity),
+                (left, right) -> merge(columns, left, right, capacity));
+        List<Employee> topEarners = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            topEarners.add(employeeAt.apply(position));
+        }
+        return new SalaryIndex(capacity, parallelThreshold, Collections.unmodifiableList(topEarners));
+    }
+
+    public Optional<Integer> getHighestSalary() {
+        return topEarners.isEmpty() ? Optional.empty() : Optional.of(topEarners.get(0).getSalary());
+    }
+
+    public List<String> getTopEarnerNames(int limit) {
+        int size = Math.min(limit, topEarners.size());
+        List<String> names = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            names.add(topEarners.get(i).getName());
+        }
+        return names;
+    }
+
+    /**
+     * Returns the index after {@code employee} has been appended to the end of the roster.
+     */
+    public SalaryIndex withAdded(Employee employee) {
+        if (employee.getSalary() == null || capacity == 0) {
+            return this;
+        }
+        int salary = employee.getSalary();
+        if (topEarners.size() == capacity && salary <= topEarners.get(capacity - 1).getSalary()) {
+            return this;
+        }
+        // The new employee is last in roster order, so it goes after every existing entry with the same salary.
+        int insertAt = 0;
+        while (insertAt < topEarners.size() && topEarners.get(insertAt).getSalary() >= salary) {
+            insertAt++;
+        }
+        List<Employee> updated = new ArrayList<>(topEarners);
+        updated.add(insertAt, employee);
+        if (updated.size() > capacity) {
+            updated.remove(capacity);
+        }
+        return new SalaryIndex(capacity, parallelThreshold, Collections.unmodifiableList(updated));
+    }
+
+    /**
+     * Returns the index after {@code employee} has been removed; {@code remainingRoster} is the roster without it
+     * and is only scanned when the removed employee was one of the top earners.
+     */
+    public SalaryIndex withRemoved(Employee employee, List<Employee> remainingRoster) {
+        if (!topEarners.contains(employee)) {
+            return this;
+        }
+        return build(remainingRoster, capacity, parallelThreshold);
+    }
+
+    /**
+     * Same as {@link #withRemoved(Employee, List)}, for a roster kept in {@code remainingSlots} and
+     * {@code remainingColumns}, in which the employee's row is already marked as removed.
+     */
+    public SalaryIndex withRemoved(Employee employee, EmployeeSlots remainingSlots, RosterColumns remainingColumns) {
+        if (!topEarners.contains(employee)) {
+            return this;
+        }
+        return build(remainingSlots, remainingColumns, capacity, parallelThreshold);
+    }
+
+    /**
+     * Returns the positions of the top {@code capacity} employees among roster positions {@code [from, to)},
+     * strongest first, skipping removed rows.
+     */
+    private static int[] topOf(RosterColumns columns, int from, int to, int capacity) {
+        // Min-heap, so the root is always the weakest kept position.
+        int[] heap = new int[capacity];
+        int size = 0;
+        for (int position = from; position < to; position++) {
+            if (columns.salary(position) == RosterColumns.MISSING || columns.isRemoved(position)) {
+                continue;
+            }
+            if (size < capacity) {
+                heap[size] = position;
+                siftUp(columns, heap, size++);
+            } else if (capacity > 0 && isWeaker(columns, heap[0], position)) {
+                heap[0] = position;
+                siftDown(columns, heap, size);
+            }
+        }
+        // Moving the weakest kept position behind the shrinking heap leaves the array strongest first.
+        for (int end = size - 1; end > 0; end--) {
+            int weakest = heap[0];
+            heap[0] = heap[end];
+            heap[end] = weakest;
+            siftDown(columns, heap, end);
+        }
+        return size == capacity ? heap : Arrays.copyOf(heap, size);
+    }
+
+    private static void siftUp(RosterColumns columns, int[] heap, int index) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (!isWeaker(columns, heap[index], heap[parent])) {
+                return;
+            }
+            int swapped = heap[parent];
+            heap[parent] = heap[index];
+            heap[index] = swapped;
+            index = parent;
+        }
+    }
+
+    private static void siftDown(RosterColumns columns, int[] heap, int size) {
+        int index = 0;
+        while (true) {
+            int weakest = index;
+            for (int child = 2 * index + 1; child <= 2 * index + 2 && child < size; child++) {
+                if (isWeaker(columns, heap[child], heap[weakest])) {
+                    weakest = child;
+                }
+            }
+            if (weakest == index) {
+                return;
+            }
+            int swapped = heap[weakest];
+            heap[weakest] = heap[index];
+            heap[index] = swapped;
+            index = weakest;
+        }
+    }
+
+    /**
+     * Whether position {@code left} ranks below position {@code right}: a lower salary, or the same salary later
+     * in the roster.
+     */
+    private static boolean isWeaker(RosterColumns columns, int left, int right) {
+        int leftSalary = columns.salary(left);
+        int rightSalary = columns.salary(right);
+        return leftSalary < rightSalary || (leftSalary == rightSalary && left > right);
+    }
+
+    /**
+     * Merges two position lists sorted strongest first and keeps the top {@code capacity} entries.
+     */
+    private static int[] merge(RosterColumns columns, int[] left, int[] right, int capacity) {
+        int[] merged = new int[Math.min(capacity, left.length + right.length)];
+        int i = 0;
+        int j = 0;
+        for (int k = 0; k < merged.length; k++) {
+            if (j == right.length || (i < left.length && !isWeaker(columns, left[i], right[j]))) {
+                merged[k] = left[i++];
+            } else {
+                merged[k] = right[j++];
+            }
+        }
+        return merged;
+    }
+}
@@ -0,0 +1,40 @@
+package com.reliaquest.api.logging;
+
+import io.micrometer.context.ContextRegistry;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.MDC;
+
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * The id that ties together the log lines written for one request, including those of the upstream calls made for it.
+ * <p>
+ * A caller may pass its own in the {@value #HEADER} header; one longer than {@value #MAX_LENGTH} characters, or with
+ * anything other than letters, digits, '-', '_' and '.', is replaced with a fresh one, so that it is safe to log and to
+ * forward. The id is kept in the MDC under {@value #MDC_KEY}, from where every log line picks it up.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class CorrelationId {
+    public static final String HEADER = "X-Correlation-Id";
+    public static final String MDC_KEY = "correlationId";
+    static final int MAX_LENGTH = 64;
+    private static final Pattern ALLOWED = Pattern.compile("[A-Za-z0-9._-]{1," + MAX_LENGTH + "}");
+
+    public static String resolve(String requested) {
+        if (requested != null && ALLOWED.matcher(requested).matches()) {
+            return requested;
+        }
+        return UUID.randomUUID().toString();
+    }
+
+    /**
+     * Lets Reactor carry the MDC entry along with the rest of a request's context, so that log lines written on other
+     * threads, such as those completing upstream calls, still have the id.
+     */
+    public static void registerForContextPropagation() {
+        ContextRegistry.getInstance().registerThreadLocalAccessor(MDC_KEY,
+                () -> MDC.get(MDC_KEY), value -> MDC.put(MDC_KEY, value), () -> MDC.remove(MDC_KEY));
+    }
+}
@@ -0,0 +1,47 @@
+package com.reliaquest.api.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Gives every request of the servlet application its {@link CorrelationId}, in the MDC for as long as the request is
+ * handled and in the response's {@value CorrelationId#HEADER} header, and hands the finished request to the
+ * {@link RequestLogSampler}.
+ */
+@RequiredArgsConstructor
+public class CorrelationIdFilter extends OncePerRequestFilter implements Ordered {
+    private final RequestLogSampler requestLogSampler;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        String correlationId = CorrelationId.resolve(request.getHeader(CorrelationId.HEADER));
+        MDC.put(CorrelationId.MDC_KEY, correlationId);
+        response.setHeader(CorrelationId.HEADER, correlationId);
+        boolean handled = false;
+        try {
+            filterChain.doFilter(request, response);
+            handled = true;
+        } finally {
+            // An exception that escapes the handlers is turned into a 500 by the container, after this filter.
+            int status = handled ? response.getStatus() : HttpStatus.INTERNAL_SERVER_ERROR.value();
+            requestLogSampler.log(request.getMethod(), request.getRequestURI(), status, System.nanoTime() - start);
+            MDC.remove(CorrelationId.MDC_KEY);
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
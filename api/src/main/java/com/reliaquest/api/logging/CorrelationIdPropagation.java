@@ -0,0 +1,30 @@
+package com.reliaquest.api.logging;
+
+import org.slf4j.MDC;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ * Forwards the current request's {@link CorrelationId} to the upstream in the {@value CorrelationId#HEADER} header,
+ * so that both sides' logs of a call can be matched up.
+ * <p>
+ * The id is read from the Reactor context, falling back to the MDC of the thread that sends the request. A read shared
+ * by several callers carries the id of the caller that started it.
+ */
+public class CorrelationIdPropagation implements ExchangeFilterFunction {
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.deferContextual(context -> {
+            String correlationId = context.<String>getOrEmpty(CorrelationId.MDC_KEY)
+                    .orElseGet(() -> MDC.get(CorrelationId.MDC_KEY));
+            if (correlationId == null || request.headers().containsKey(CorrelationId.HEADER)) {
+                return next.exchange(request);
+            }
+            return next.exchange(ClientRequest.from(request).header(CorrelationId.HEADER, correlationId).build());
+        });
+    }
+}
@@ -0,0 +1,48 @@
+package com.reliaquest.api.logging;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.util.context.Context;
+
+/**
+ * WebFlux twin of {@link CorrelationIdFilter}. The id is written to the Reactor context rather than the MDC, and
+ * Reactor's context propagation restores it into the MDC on whichever thread handles the request.
+ */
+@RequiredArgsConstructor
+public class ReactiveCorrelationIdFilter implements WebFilter, Ordered {
+    private final RequestLogSampler requestLogSampler;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        long start = System.nanoTime();
+        ServerHttpRequest request = exchange.getRequest();
+        String correlationId = CorrelationId.resolve(request.getHeaders().getFirst(CorrelationId.HEADER));
+        exchange.getResponse().getHeaders().set(CorrelationId.HEADER, correlationId);
+        return chain.filter(exchange)
+                .doFinally(signal -> requestLogSampler.log(request.getMethod().name(), request.getPath().value(),
+                        status(exchange, signal), System.nanoTime() - start))
+                .contextWrite(Context.of(CorrelationId.MDC_KEY, correlationId));
+    }
+
+    private static int status(ServerWebExchange exchange, SignalType signal) {
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        if (status != null) {
+            return status.value();
+        }
+        // An error that escapes the handlers is turned into a 500 by the exception handlers, after this filter.
+        return signal == SignalType.ON_ERROR ? HttpStatus.INTERNAL_SERVER_ERROR.value() : HttpStatus.OK.value();
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
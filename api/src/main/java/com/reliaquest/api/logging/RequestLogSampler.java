@@ -0,0 +1,48 @@
+package com.reliaquest.api.logging;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static net.logstash.logback.argument.StructuredArguments.keyValue;
+
+/**
+ * Writes one summary line per handled request, for a sample of requests.
+ * <p>
+ * Server errors and requests slower than {@code employee.logging.slow-request-threshold} are always logged; of the
+ * rest only a random {@code employee.logging.request-sample-rate} share is, so the request log stays cheap at high
+ * request rates while still showing what typical traffic looks like. Method, path, status and duration are written as
+ * separate fields of the JSON log line.
+ */
+@Component
+public class RequestLogSampler {
+    private static final Logger logger = LoggerFactory.getLogger(RequestLogSampler.class);
+
+    private final double sampleRate;
+    private final long slowRequestThresholdNanos;
+
+    public RequestLogSampler(@Value("${employee.logging.request-sample-rate:0.01}") double sampleRate,
+                             @Value("${employee.logging.slow-request-threshold:1s}") Duration slowRequestThreshold) {
+        this.sampleRate = sampleRate;
+        this.slowRequestThresholdNanos = slowRequestThreshold.toNanos();
+    }
+
+    public void log(String method, String path, int status, long elapsedNanos) {
+        if (!logger.isInfoEnabled() || !shouldLog(status, elapsedNanos)) {
+            return;
+        }
+        logger.info("RequestLogSampler - Handled {} {} {} {}", keyValue("method", method), keyValue("path", path),
+                keyValue("status", status), keyValue("durationMs", TimeUnit.NANOSECONDS.toMillis(elapsedNanos)));
+    }
+
+    boolean shouldLog(int status, long elapsedNanos) {
+        return status >= 500
+                || elapsedNanos >= slowRequestThresholdNanos
+                || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+}
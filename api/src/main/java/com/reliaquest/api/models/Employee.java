@@ -1,24 +1,201 @@
 package com.reliaquest.api.models;
 
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonNaming;
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.Getter;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
 import java.util.UUID;
 
-@Data
-@NoArgsConstructor
-@AllArgsConstructor
+/**
+ * Immutable employee, laid out to keep large cached rosters small.
+ * <p>
+ * The id is held as its two {@code long}s and salary and age as {@code int}s, with a bit each recording whether
+ * they are present; the getters box them on the way out. Titles go through a bounded {@link TitleDictionary}, so
+ * employees with the same title share one string. An email in the upstream's domain, {@value #EMAIL_DOMAIN}, with
+ * an ASCII local part is held as the bytes of that local part and rebuilt when it is read; any other email is kept
+ * as it is.
+ * <p>
+ * JSON is read by {@link EmployeeDeserializer} and written by {@link EmployeeSerializer}, both under the field names
+ * of {@link PrefixNamingStrategy}.
+ */
 @JsonNaming(Employee.PrefixNamingStrategy.class)
-public class Employee {
-    private UUID id;
-    private String name;
-    private Integer salary;
-    private Integer age;
-    private String title;
-    private String email;
+@JsonDeserialize(using = EmployeeDeserializer.class)
+@JsonSerialize(using = EmployeeSerializer.class)
+public final class Employee {
+    static final String EMAIL_DOMAIN = "@company.com";
+    static final TitleDictionary TITLES = new TitleDictionary(4096);
+    static final byte[] EMAIL_DOMAIN_BYTES = EMAIL_DOMAIN.getBytes(StandardCharsets.US_ASCII);
+    private static final byte HAS_ID = 1;
+    private static final byte HAS_SALARY = 2;
+    private static final byte HAS_AGE = 4;
+
+    private final long idMostSignificantBits;
+    private final long idLeastSignificantBits;
+    private final int salary;
+    private final int age;
+    private final byte present;
+    @Getter
+    private final String name;
+    @Getter
+    private final String title;
+    // Either the ASCII local part of an email in EMAIL_DOMAIN, as a byte[], or the email as a String.
+    private final Object email;
+
+    public Employee(UUID id, String name, Integer salary, Integer age, String title, String email) {
+        this(id == null ? 0 : id.getMostSignificantBits(), id == null ? 0 : id.getLeastSignificantBits(),
+                salary == null ? 0 : salary, age == null ? 0 : age,
+                present(id != null, salary != null, age != null), name, TITLES.intern(title), compactEmail(email));
+    }
+
+    Employee(long idMostSignificantBits, long idLeastSignificantBits, int salary, int age, byte present, String name,
+             String title, Object email) {
+        this.idMostSignificantBits = idMostSignificantBits;
+        this.idLeastSignificantBits = idLeastSignificantBits;
+        this.salary = salary;
+        this.age = age;
+        this.present = present;
+        this.name = name;
+        this.title = title;
+        this.email = email;
+    }
+
+    public UUID getId() {
+        return hasId() ? new UUID(idMostSignificantBits, idLeastSignificantBits) : null;
+    }
+
+    public Integer getSalary() {
+        return hasSalary() ? salary : null;
+    }
+
+    public Integer getAge() {
+        return hasAge() ? age : null;
+    }
+
+    public String getEmail() {
+        if (!(email instanceof byte[] localPart)) {
+            return (String) email;
+        }
+        byte[] full = Arrays.copyOf(localPart, localPart.length + EMAIL_DOMAIN_BYTES.length);
+        System.arraycopy(EMAIL_DOMAIN_BYTES, 0, full, localPart.length, EMAIL_DOMAIN_BYTES.length);
+        return new String(full, StandardCharsets.US_ASCII);
+    }
+
+    boolean hasId() {
+        return (present & HAS_ID) != 0;
+    }
+
+    long idMostSignificantBits() {
+        return idMostSignificantBits;
+    }
+
+    long idLeastSignificantBits() {
+        return idLeastSignificantBits;
+    }
+
+    boolean hasSalary() {
+        return (present & HAS_SALARY) != 0;
+    }
+
+    int salary() {
+        return salary;
+    }
+
+    boolean hasAge() {
+        return (present & HAS_AGE) != 0;
+    }
+
+    int age() {
+        return age;
+    }
+
+    /**
+     * Returns the ASCII local part of the email if it is held in its compact form, or {@code null} if it is held as a
+     * string. The array is the employee's own and must not be modified.
+     */
+    byte[] emailLocalPart() {
+        return email instanceof byte[] localPart ? localPart : null;
+    }
+
+    static byte present(boolean hasId, boolean hasSalary, boolean hasAge) {
+        return (byte) ((hasId ? HAS_ID : 0) | (hasSalary ? HAS_SALARY : 0) | (hasAge ? HAS_AGE : 0));
+    }
+
+    static Object compactEmail(String email) {
+        if (email == null || !email.endsWith(EMAIL_DOMAIN)) {
+            return email;
+        }
+        int length = email.length() - EMAIL_DOMAIN.length();
+        for (int i = 0; i < length; i++) {
+            if (email.charAt(i) >= 0x80) {
+                return email;
+            }
+        }
+        return email.substring(0, length).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    static Object compactEmail(char[] chars, int offset, int length) {
+        int localLength = length - EMAIL_DOMAIN.length();
+        if (localLength < 0) {
+            return new String(chars, offset, length);
+        }
+        for (int i = 0; i < EMAIL_DOMAIN.length(); i++) {
+            if (chars[offset + localLength + i] != EMAIL_DOMAIN.charAt(i)) {
+                return new String(chars, offset, length);
+            }
+        }
+        byte[] localPart = new byte[localLength];
+        for (int i = 0; i < localLength; i++) {
+            char c = chars[offset + i];
+            if (c >= 0x80) {
+                return new String(chars, offset, length);
+            }
+            localPart[i] = (byte) c;
+        }
+        return localPart;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof Employee employee)) {
+            return false;
+        }
+        return idMostSignificantBits == employee.idMostSignificantBits
+                && idLeastSignificantBits == employee.idLeastSignificantBits
+                && salary == employee.salary
+                && age == employee.age
+                && present == employee.present
+                && Objects.equals(name, employee.name)
+                && Objects.equals(title, employee.title)
+                && (email instanceof byte[] localPart && employee.email instanceof byte[] otherLocalPart
+                        ? Arrays.equals(localPart, otherLocalPart)
+                        : Objects.equals(email, employee.email));
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Long.hashCode(idMostSignificantBits);
+        result = 31 * result + Long.hashCode(idLeastSignificantBits);
+        result = 31 * result + salary;
+        result = 31 * result + age;
+        result = 31 * result + present;
+        result = 31 * result + Objects.hashCode(name);
+        result = 31 * result + Objects.hashCode(title);
+        return 31 * result + (email instanceof byte[] localPart ? Arrays.hashCode(localPart) : Objects.hashCode(email));
+    }
+
+    @Override
+    public String toString() {
+        return "Employee(id=" + getId() + ", name=" + name + ", salary=" + getSalary() + ", age=" + getAge()
+                + ", title=" + title + ", email=" + getEmail() + ")";
+    }
 
     static class PrefixNamingStrategy extends PropertyNamingStrategies.NamingBase {
 
@@ -0,0 +1,163 @@
+package com.reliaquest.api.models;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Reads an {@link Employee} straight into its compact form.
+ * <p>
+ * Field names are the ones {@link Employee.PrefixNamingStrategy} gives the employee's properties, so the JSON is
+ * the same as a bean deserializer would read. Salary and age are read as {@code int}s without boxing, titles are
+ * looked up in the title dictionary from the parser's own buffer, and emails in the upstream's domain are copied
+ * into their compact form without an intermediate {@code String}. Values that aren't plain strings or numbers go
+ * through Jackson's own deserializers, so coercions and errors stay what they were; unknown fields are handled as
+ * the {@code DeserializationContext} is configured to.
+ */
+class EmployeeDeserializer extends StdDeserializer<Employee> {
+    private static final Employee.PrefixNamingStrategy NAMING = new Employee.PrefixNamingStrategy();
+    private static final String ID = NAMING.translate("id");
+    private static final String NAME = NAMING.translate("name");
+    private static final String SALARY = NAMING.translate("salary");
+    private static final String AGE = NAMING.translate("age");
+    private static final String TITLE = NAMING.translate("title");
+    private static final String EMAIL = NAMING.translate("email");
+    // Outside the int range, so it can't be mistaken for a salary or an age.
+    private static final long ABSENT = Long.MIN_VALUE;
+    private static final int UUID_LENGTH = 36;
+    // Value of every hexadecimal digit by char, -1 for every other char below 128. Only ASCII digits count, as in
+    // Jackson's UUID deserializer.
+    private static final byte[] HEX_DIGITS = hexDigits();
+
+    EmployeeDeserializer() {
+        super(Employee.class);
+    }
+
+    @Override
+    public Employee deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            token = parser.nextToken();
+        } else if (token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT) {
+            return (Employee) context.handleUnexpectedToken(Employee.class, parser);
+        }
+        UUID id = null;
+        String name = null;
+        long salary = ABSENT;
+        long age = ABSENT;
+        String title = null;
+        Object email = null;
+        for (; token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (ID.equals(field)) {
+                id = value == JsonToken.VALUE_STRING ? canonicalId(parser) : null;
+                if (id == null && value != JsonToken.VALUE_NULL) {
+                    id = context.readValue(parser, UUID.class);
+                }
+            } else if (NAME.equals(field)) {
+                name = readString(parser, context, value);
+            } else if (SALARY.equals(field)) {
+                salary = readInt(parser, context, value);
+            } else if (AGE.equals(field)) {
+                age = readInt(parser, context, value);
+            } else if (TITLE.equals(field)) {
+                title = value == JsonToken.VALUE_STRING
+                        ? Employee.TITLES.intern(parser.getTextCharacters(), parser.getTextOffset(),
+                                parser.getTextLength())
+                        : Employee.TITLES.intern(readString(parser, context, value));
+            } else if (EMAIL.equals(field)) {
+                email = value == JsonToken.VALUE_STRING
+                        ? Employee.compactEmail(parser.getTextCharacters(), parser.getTextOffset(),
+                                parser.getTextLength())
+                        : Employee.compactEmail(readString(parser, context, value));
+            } else {
+                handleUnknownProperty(parser, context, Employee.class, field);
+            }
+        }
+        boolean hasSalary = salary != ABSENT;
+        boolean hasAge = age != ABSENT;
+        return new Employee(id == null ? 0 : id.getMostSignificantBits(), id == null ? 0 : id.getLeastSignificantBits(),
+                hasSalary ? (int) salary : 0, hasAge ? (int) age : 0, Employee.present(id != null, hasSalary, hasAge),
+                name, title, email);
+    }
+
+    /**
+     * Parses the current string as a UUID in its canonical 36-character form, or returns {@code null} if it isn't
+     * one, leaving it to Jackson's own UUID deserializer.
+     */
+    private static UUID canonicalId(JsonParser parser) throws IOException {
+        if (parser.getTextLength() != UUID_LENGTH) {
+            return null;
+        }
+        char[] chars = parser.getTextCharacters();
+        int offset = parser.getTextOffset();
+        if (chars[offset + 8] != '-' || chars[offset + 13] != '-' || chars[offset + 18] != '-'
+                || chars[offset + 23] != '-') {
+            return null;
+        }
+        long first = hex(chars, offset, 8);
+        long second = hex(chars, offset + 9, 4);
+        long third = hex(chars, offset + 14, 4);
+        long fourth = hex(chars, offset + 19, 4);
+        long fifth = hex(chars, offset + 24, 12);
+        // Each group is -1 if it isn't hexadecimal, which is the only way any of them can be negative.
+        if ((first | second | third | fourth | fifth) < 0) {
+            return null;
+        }
+        return new UUID(first << 32 | second << 16 | third, fourth << 48 | fifth);
+    }
+
+    private static long hex(char[] chars, int offset, int length) {
+        long value = 0;
+        for (int i = offset; i < offset + length; i++) {
+            char c = chars[i];
+            int digit = c < HEX_DIGITS.length ? HEX_DIGITS[c] : -1;
+            if (digit < 0) {
+                return -1;
+            }
+            value = value << 4 | digit;
+        }
+        return value;
+    }
+
+    private static byte[] hexDigits() {
+        byte[] digits = new byte[128];
+        Arrays.fill(digits, (byte) -1);
+        for (char c = '0'; c <= '9'; c++) {
+            digits[c] = (byte) (c - '0');
+        }
+        for (char c = 'a'; c <= 'f'; c++) {
+            digits[c] = (byte) (c - 'a' + 10);
+            digits[Character.toUpperCase(c)] = (byte) (c - 'a' + 10);
+        }
+        return digits;
+    }
+
+    private static String readString(JsonParser parser, DeserializationContext context, JsonToken value)
+            throws IOException {
+        if (value == JsonToken.VALUE_STRING) {
+            return parser.getText();
+        }
+        return value == JsonToken.VALUE_NULL ? null : context.readValue(parser, String.class);
+    }
+
+    /**
+     * Reads an {@code int} without boxing it, or returns {@link #ABSENT} for {@code null}.
+     */
+    private long readInt(JsonParser parser, DeserializationContext context, JsonToken value) throws IOException {
+        if (value == JsonToken.VALUE_NUMBER_INT) {
+            return parser.getIntValue();
+        }
+        if (value == JsonToken.VALUE_NULL) {
+            return ABSENT;
+        }
+        Integer coerced = _parseInteger(parser, context, Integer.class);
+        return coerced == null ? ABSENT : coerced;
+    }
+}
@@ -0,0 +1,150 @@
+package com.reliaquest.api.models;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.json.UTF8JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Writes an {@link Employee} from its compact form, under the field names {@link Employee.PrefixNamingStrategy}
+ * gives its properties and in their declaration order, with {@code null} for absent values, as the bean serializer
+ * did.
+ * <p>
+ * The id is formatted from its two {@code long}s and salary and age are written as {@code int}s, so neither a
+ * {@code UUID} nor a boxed number is created. An email in the upstream's domain is copied from its stored local part
+ * and the domain's constant bytes into a buffer and written from there, as UTF-8 bytes when the generator writes
+ * UTF-8, rather than from a {@code String} built out of them. The id and email buffers are allocated once per
+ * serialized value, e.g. once for a whole roster, and kept in the provider's per-call attributes.
+ */
+class EmployeeSerializer extends StdSerializer<Employee> {
+    private static final Employee.PrefixNamingStrategy NAMING = new Employee.PrefixNamingStrategy();
+    private static final SerializedString ID = new SerializedString(NAMING.translate("id"));
+    private static final SerializedString NAME = new SerializedString(NAMING.translate("name"));
+    private static final SerializedString SALARY = new SerializedString(NAMING.translate("salary"));
+    private static final SerializedString AGE = new SerializedString(NAMING.translate("age"));
+    private static final SerializedString TITLE = new SerializedString(NAMING.translate("title"));
+    private static final SerializedString EMAIL = new SerializedString(NAMING.translate("email"));
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final int UUID_LENGTH = 36;
+
+    EmployeeSerializer() {
+        super(Employee.class);
+    }
+
+    @Override
+    public void serialize(Employee employee, JsonGenerator generator, SerializerProvider provider)
+            throws IOException {
+        Buffers buffers = Buffers.of(provider);
+        generator.writeStartObject(employee);
+        generator.writeFieldName(ID);
+        if (employee.hasId()) {
+            char[] chars = buffers.chars(UUID_LENGTH);
+            canonicalId(chars, employee.idMostSignificantBits(), employee.idLeastSignificantBits());
+            generator.writeString(chars, 0, UUID_LENGTH);
+        } else {
+            generator.writeNull();
+        }
+        generator.writeFieldName(NAME);
+        generator.writeString(employee.getName());
+        generator.writeFieldName(SALARY);
+        writeInt(generator, employee.hasSalary(), employee.salary());
+        generator.writeFieldName(AGE);
+        writeInt(generator, employee.hasAge(), employee.age());
+        generator.writeFieldName(TITLE);
+        generator.writeString(employee.getTitle());
+        generator.writeFieldName(EMAIL);
+        byte[] localPart = employee.emailLocalPart();
+        if (localPart != null) {
+            writeEmailInDomain(generator, buffers, localPart);
+        } else {
+            generator.writeString(employee.getEmail());
+        }
+        generator.writeEndObject();
+    }
+
+    private static void writeInt(JsonGenerator generator, boolean present, int value) throws IOException {
+        if (present) {
+            generator.writeNumber(value);
+        } else {
+            generator.writeNull();
+        }
+    }
+
+    private static void writeEmailInDomain(JsonGenerator generator, Buffers buffers, byte[] localPart)
+            throws IOException {
+        byte[] domain = Employee.EMAIL_DOMAIN_BYTES;
+        int length = localPart.length + domain.length;
+        if (generator instanceof UTF8JsonGenerator) {
+            byte[] bytes = buffers.bytes(length);
+            System.arraycopy(localPart, 0, bytes, 0, localPart.length);
+            System.arraycopy(domain, 0, bytes, localPart.length, domain.length);
+            // Escapes like writeString, so a local part holding a quote or a backslash still comes out as valid JSON.
+            generator.writeUTF8String(bytes, 0, length);
+            return;
+        }
+        char[] chars = buffers.chars(length);
+        for (int i = 0; i < localPart.length; i++) {
+            chars[i] = (char) localPart[i];
+        }
+        for (int i = 0; i < domain.length; i++) {
+            chars[localPart.length + i] = (char) domain[i];
+        }
+        generator.writeString(chars, 0, length);
+    }
+
+    private static void canonicalId(char[] chars, long mostSignificantBits, long leastSignificantBits) {
+        hex(chars, 0, mostSignificantBits >>> 32, 8);
+        chars[8] = '-';
+        hex(chars, 9, mostSignificantBits >>> 16, 4);
+        chars[13] = '-';
+        hex(chars, 14, mostSignificantBits, 4);
+        chars[18] = '-';
+        hex(chars, 19, leastSignificantBits >>> 48, 4);
+        chars[23] = '-';
+        hex(chars, 24, leastSignificantBits, 12);
+    }
+
+    /**
+     * Writes the lowest {@code digits} hexadecimal digits of {@code value} into {@code chars} at {@code offset}.
+     */
+    private static void hex(char[] chars, int offset, long value, int digits) {
+        for (int i = digits - 1; i >= 0; i--) {
+            chars[offset + i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+
+    /**
+     * Buffers shared by every employee written in one serialization call.
+     */
+    private static final class Buffers {
+        private byte[] bytes = new byte[64];
+        private char[] chars = new char[64];
+
+        static Buffers of(SerializerProvider provider) {
+            Buffers buffers = (Buffers) provider.getAttribute(Buffers.class);
+            if (buffers == null) {
+                buffers = new Buffers();
+                provider.setAttribute(Buffers.class, buffers);
+            }
+            return buffers;
+        }
+
+        byte[] bytes(int length) {
+            if (bytes.length < length) {
+                bytes = new byte[Math.max(length, bytes.length * 2)];
+            }
+            return bytes;
+        }
+
+        char[] chars(int length) {
+            if (chars.length < length) {
+                chars = new char[Math.max(length, chars.length * 2)];
+            }
+            return chars;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.reliaquest.api.models;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded, thread-safe dictionary of job titles, so that every employee with the same title shares one
+ * {@code String}.
+ * <p>
+ * Titles can be looked up by their characters, straight from a parser's buffer, so a title that is already in the
+ * dictionary costs no allocation. Once the dictionary holds {@code maxTitles} titles, it stops growing and new
+ * titles come back as fresh strings; a roster with many more distinct titles than that gains nothing from
+ * interning them.
+ */
+final class TitleDictionary {
+    private final int maxTitles;
+    // Open addressing, at most half full; entries are never removed, so a lookup can stop at the first empty slot.
+    private final AtomicReferenceArray<String> table;
+    private final AtomicInteger size = new AtomicInteger();
+
+    TitleDictionary(int maxTitles) {
+        this.maxTitles = maxTitles;
+        this.table = new AtomicReferenceArray<>(Integer.highestOneBit(Math.max(maxTitles, 1) * 2 - 1) << 1);
+    }
+
+    String intern(String title) {
+        if (title == null) {
+            return null;
+        }
+        int mask = table.length() - 1;
+        for (int slot = spread(title.hashCode()) & mask; ; slot = (slot + 1) & mask) {
+            String entry = table.get(slot);
+            if (entry == null) {
+                return add(slot, title);
+            }
+            if (entry.equals(title)) {
+                return entry;
+            }
+        }
+    }
+
+    String intern(char[] chars, int offset, int length) {
+        // Same as String.hashCode(), so both lookups agree on where a title goes.
+        int hash = 0;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + chars[i];
+        }
+        int mask = table.length() - 1;
+        for (int slot = spread(hash) & mask; ; slot = (slot + 1) & mask) {
+            String entry = table.get(slot);
+            if (entry == null) {
+                return add(slot, new String(chars, offset, length));
+            }
+            if (matches(entry, chars, offset, length)) {
+                return entry;
+            }
+        }
+    }
+
+    int size() {
+        return size.get();
+    }
+
+    /**
+     * Puts {@code title} into the empty {@code slot}, or into a later one if another thread got there first, and
+     * returns the dictionary's copy of it. Past {@code maxTitles}, returns {@code title} as it is.
+     */
+    private String add(int slot, String title) {
+        if (size.incrementAndGet() > maxTitles) {
+            size.decrementAndGet();
+            return title;
+        }
+        int mask = table.length() - 1;
+        for (; ; slot = (slot + 1) & mask) {
+            if (table.compareAndSet(slot, null, title)) {
+                return title;
+            }
+            String entry = table.get(slot);
+            if (entry.equals(title)) {
+                size.decrementAndGet();
+                return entry;
+            }
+        }
+    }
+
+    private static boolean matches(String entry, char[] chars, int offset, int length) {
+        if (entry.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (entry.charAt(i) != chars[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
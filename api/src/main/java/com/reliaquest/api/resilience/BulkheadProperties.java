@@ -0,0 +1,28 @@
+package com.reliaquest.api.resilience;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the {@link UpstreamBulkhead}, bound from {@code employee.upstream.bulkhead.*}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "employee.upstream.bulkhead")
+public class BulkheadProperties {
+
+    /** When disabled calls to the upstream are only limited by its connection pool. */
+    private boolean enabled = true;
+
+    /** Calls allowed in flight to the upstream at the same time; further calls wait for a slot. */
+    private int maxConcurrentCalls = 100;
+
+    /** Calls allowed to wait for a slot at the same time; further calls fail straight away. */
+    private int maxQueuedCalls = 1000;
+
+    /** How long a call waits for a slot before it fails. */
+    private Duration maxWait = Duration.ofSeconds(5);
+}
@@ -0,0 +1,167 @@
+package com.reliaquest.api.resilience;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Circuit breaker for one upstream operation, deciding from the outcomes of its most recent calls whether the next
+ * one may go through.
+ * <p>
+ * While closed every call goes through, and its outcome is recorded in a window of the last
+ * {@code sliding-window-size} calls. Once the window holds at least {@code minimum-calls} outcomes and the share of
+ * failures among them reaches {@code failure-rate-threshold}, the breaker opens and rejects every call for
+ * {@code open-duration}. It is then half open: {@code half-open-probes} calls are let through as probes while the
+ * rest are still rejected. It closes, with an empty window, once every probe has succeeded, and opens again as soon
+ * as one fails.
+ * <p>
+ * An outcome only counts in the state its call was admitted in, so a slow call admitted before the breaker opened
+ * can neither close it nor use up a probe.
+ */
+class CircuitBreaker {
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    enum State {CLOSED, OPEN, HALF_OPEN}
+
+    /**
+     * Admission of one call. {@code epoch} counts the breaker's state changes up to the admission.
+     */
+    record Permit(long epoch, boolean probe) {
+    }
+
+    private final String operation;
+    private final CircuitBreakerProperties properties;
+
+    // Guarded by the lock. A lock rather than synchronized, so virtual threads never pin on it.
+    private final ReentrantLock lock = new ReentrantLock();
+    private final boolean[] window;
+    private int windowSize;
+    private int windowNext;
+    private int windowFailures;
+    private volatile State state = State.CLOSED;
+    private long epoch;
+    private long openUntilNanos;
+    private int probesInFlight;
+    private int probesSucceeded;
+
+    CircuitBreaker(String operation, CircuitBreakerProperties properties) {
+        this.operation = operation;
+        this.properties = properties;
+        this.window = new boolean[Math.max(1, properties.getSlidingWindowSize())];
+    }
+
+    State getState() {
+        return state;
+    }
+
+    /**
+     * Returns the permit for one call, or {@code null} if the call has to be rejected.
+     */
+    Permit tryAcquire(long nowNanos) {
+        lock.lock();
+        try {
+            if (state == State.OPEN) {
+                if (nowNanos < openUntilNanos) {
+                    return null;
+                }
+                transition(State.HALF_OPEN);
+            }
+            if (state == State.HALF_OPEN) {
+                if (probesInFlight + probesSucceeded >= properties.getHalfOpenProbes()) {
+                    return null;
+                }
+                probesInFlight++;
+                return new Permit(epoch, true);
+            }
+            return new Permit(epoch, false);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void onSuccess(Permit permit) {
+        lock.lock();
+        try {
+            if (permit.epoch() != epoch) {
+                return;
+            }
+            if (!permit.probe()) {
+                record(false);
+                return;
+            }
+            probesInFlight--;
+            probesSucceeded++;
+            if (probesSucceeded >= properties.getHalfOpenProbes()) {
+                transition(State.CLOSED);
+                logger.info("CircuitBreaker - Upstream {} calls are succeeding again, circuit closed", operation);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void onFailure(Permit permit, long nowNanos) {
+        lock.lock();
+        try {
+            if (permit.epoch() != epoch) {
+                return;
+            }
+            if (!permit.probe()) {
+                record(true);
+                if (windowSize < properties.getMinimumCalls()
+                        || windowFailures < properties.getFailureRateThreshold() * windowSize) {
+                    return;
+                }
+            }
+            openUntilNanos = nowNanos + properties.getOpenDuration().toNanos();
+            transition(State.OPEN);
+            logger.warn("CircuitBreaker - Upstream {} calls are failing, rejecting them for {} ms", operation,
+                    TimeUnit.NANOSECONDS.toMillis(properties.getOpenDuration().toNanos()));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gives back a permit whose call ended without showing whether the upstream works, such as a cancelled call.
+     */
+    void release(Permit permit) {
+        lock.lock();
+        try {
+            if (permit.epoch() == epoch && permit.probe()) {
+                probesInFlight--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void record(boolean failure) {
+        if (windowSize == window.length) {
+            if (window[windowNext]) {
+                windowFailures--;
+            }
+        } else {
+            windowSize++;
+        }
+        window[windowNext] = failure;
+        if (failure) {
+            windowFailures++;
+        }
+        windowNext = (windowNext + 1) % window.length;
+    }
+
+    private void transition(State next) {
+        state = next;
+        epoch++;
+        probesInFlight = 0;
+        probesSucceeded = 0;
+        if (next == State.CLOSED) {
+            windowSize = 0;
+            windowNext = 0;
+            windowFailures = 0;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.reliaquest.api.resilience;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the {@link UpstreamCircuitBreakers}, bound from {@code employee.upstream.circuit-breaker.*}. They apply
+ * to the breaker of every operation alike.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "employee.upstream.circuit-breaker")
+public class CircuitBreakerProperties {
+
+    /** When disabled every call goes to the upstream, however often the previous ones failed. */
+    private boolean enabled = true;
+
+    /** Number of most recent calls the failure rate is computed over. */
+    private int slidingWindowSize = 20;
+
+    /** Calls that have to be recorded before the failure rate can open the breaker. */
+    private int minimumCalls = 10;
+
+    /** Share of failed calls, between 0 and 1, at which the breaker opens. */
+    private double failureRateThreshold = 0.5;
+
+    /** How long an open breaker rejects every call before letting probes through. */
+    private Duration openDuration = Duration.ofSeconds(10);
+
+    /** Calls let through while half open; the breaker closes once all of them succeed and opens again if one fails. */
+    private int halfOpenProbes = 3;
+}
@@ -0,0 +1,56 @@
+package com.reliaquest.api.resilience;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the {@link UpstreamRateGovernor}, bound from {@code employee.upstream.rate-limit.*}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "employee.upstream.rate-limit")
+public class RateGovernorProperties {
+
+    /** When disabled every call goes straight to the upstream and a 429 fails it immediately. */
+    private boolean enabled = true;
+
+    /** Burst size assumed before the first 429 shows how many requests the upstream actually lets through. */
+    private int initialBurst = 5;
+
+    /** Token refill rate, in requests per second, assumed before the first 429. */
+    private double initialRate = 2.0;
+
+    private double minRate = 0.05;
+
+    private double maxRate = 50.0;
+
+    /** Added to the refill rate for every request the upstream accepts. */
+    private double rateIncrease = 0.1;
+
+    /** The refill rate is multiplied by this on every 429. */
+    private double rateDecreaseFactor = 0.5;
+
+    /** How long the upstream is left alone after the first 429; doubled for every further 429 in a row. */
+    private Duration initialCooldown = Duration.ofSeconds(1);
+
+    private Duration maxCooldown = Duration.ofSeconds(60);
+
+    /** Total time a single call may spend waiting for a permit and retrying before it fails with a 429. */
+    private Duration deadline = Duration.ofSeconds(10);
+
+    /** Calls allowed to wait for a permit at the same time; further calls fail straight away. */
+    private int maxQueued = 256;
+
+    /** Attempts per call, including the first one. */
+    private int maxAttempts = 4;
+
+    private Duration minBackoff = Duration.ofMillis(100);
+
+    private Duration maxBackoff = Duration.ofSeconds(2);
+
+    /** Fraction of each backoff that is randomized, so retries of concurrent calls do not line up. */
+    private double jitter = 0.5;
+}
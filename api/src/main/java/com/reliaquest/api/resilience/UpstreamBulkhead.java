@@ -0,0 +1,197 @@
+package com.reliaquest.api.resilience;
+
+import com.reliaquest.api.Exception.UpstreamUnavailableException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Caps the calls in flight to the upstream employee API at {@code max-concurrent-calls}, so that a slow upstream ties
+ * up a bounded number of connections and callers rather than all of them. A call over the cap waits, without holding
+ * a thread, for a slot to be freed; slots go to waiting calls in arrival order. A call fails with
+ * {@link UpstreamUnavailableException} if {@code max-queued-calls} are already waiting, or if no slot is freed within
+ * {@code max-wait}, so short bursts are absorbed while an upstream that stays slow still sheds load. A slot is held
+ * from sending the request until the response has been read, so calls waiting for the rate governor don't hold one.
+ * <p>
+ * The number of calls in flight and waiting are published as {@value #IN_FLIGHT_METRIC} and {@value #QUEUED_METRIC}.
+ */
+@Component
+public class UpstreamBulkhead {
+    static final String IN_FLIGHT_METRIC = "employee.upstream.bulkhead.in-flight";
+    static final String QUEUED_METRIC = "employee.upstream.bulkhead.queued";
+    private static final Logger logger = LoggerFactory.getLogger(UpstreamBulkhead.class);
+
+    private final BulkheadProperties properties;
+
+    // Free slots and the calls waiting for one, guarded by the lock. A lock rather than synchronized, so virtual
+    // threads never pin on it.
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ArrayDeque<Waiter> waiters = new ArrayDeque<>();
+    private int freeSlots;
+
+    public UpstreamBulkhead(BulkheadProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.freeSlots = properties.getMaxConcurrentCalls();
+        Gauge.builder(IN_FLIGHT_METRIC, this, UpstreamBulkhead::inFlight)
+                .description("Calls in flight to the upstream employee API")
+                .register(meterRegistry);
+        Gauge.builder(QUEUED_METRIC, this, UpstreamBulkhead::queued)
+                .description("Calls waiting for a slot to call the upstream employee API")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Subscribes to {@code call} once a slot is free, and frees it again once the call has ended. {@code call} must be
+     * cold, so that every subscription takes its own slot.
+     */
+    public <T> Mono<T> limit(Mono<T> call) {
+        if (!properties.isEnabled()) {
+            return call;
+        }
+        return Mono.defer(() -> {
+            Waiter waiter = new Waiter();
+            return admit(waiter)
+                    .then(Mono.defer(() -> start(waiter) ? call.doFinally(signal -> release()) : Mono.<T>empty()))
+                    .doFinally(signal -> abandon(waiter));
+        });
+    }
+
+    /**
+     * Like {@link #limit(Mono)}, for a call whose response is consumed as a stream; the slot is held until the stream
+     * ends.
+     */
+    public <T> Flux<T> limit(Flux<T> call) {
+        if (!properties.isEnabled()) {
+            return call;
+        }
+        return Flux.defer(() -> {
+            Waiter waiter = new Waiter();
+            return admit(waiter)
+                    .thenMany(Flux.defer(() -> start(waiter) ? call.doFinally(signal -> release()) : Flux.<T>empty()))
+                    .doFinally(signal -> abandon(waiter));
+        });
+    }
+
+    /**
+     * Completes once {@code waiter} has been given a slot, which may be straight away.
+     */
+    private Mono<Void> admit(Waiter waiter) {
+        return Mono.<Void>create(sink -> {
+                    lock.lock();
+                    try {
+                        if (freeSlots > 0) {
+                            freeSlots--;
+                            waiter.state = State.GRANTED;
+                        } else if (waiters.size() < properties.getMaxQueuedCalls()) {
+                            waiter.sink = sink;
+                            waiters.add(waiter);
+                            return;
+                        }
+                    } finally {
+                        lock.unlock();
+                    }
+                    if (waiter.state == State.GRANTED) {
+                        sink.success();
+                    } else {
+                        sink.error(rejected("too many calls to the upstream are already waiting"));
+                    }
+                })
+                .timeout(properties.getMaxWait(),
+                        Mono.defer(() -> Mono.error(rejected("no call to the upstream finished in time"))));
+    }
+
+    /**
+     * Marks the slot given to {@code waiter} as used by its call, unless the waiter has been abandoned meanwhile.
+     */
+    private boolean start(Waiter waiter) {
+        lock.lock();
+        try {
+            if (waiter.state != State.GRANTED) {
+                return false;
+            }
+            waiter.state = State.STARTED;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Hands a freed slot to the longest waiting call, or puts it back if none is waiting.
+     */
+    private void release() {
+        Waiter next;
+        lock.lock();
+        try {
+            next = waiters.poll();
+            if (next == null) {
+                freeSlots++;
+                return;
+            }
+            next.state = State.GRANTED;
+        } finally {
+            lock.unlock();
+        }
+        next.sink.success();
+    }
+
+    /**
+     * Called when a call ends for any reason: takes a waiter that is still waiting out of the queue, and frees the
+     * slot of one that was given a slot but never started its call, e.g. because it timed out or was cancelled just
+     * as the slot came free.
+     */
+    private void abandon(Waiter waiter) {
+        boolean unusedSlot;
+        lock.lock();
+        try {
+            if (waiter.state == State.WAITING) {
+                waiters.remove(waiter);
+            }
+            unusedSlot = waiter.state == State.GRANTED;
+            waiter.state = State.DONE;
+        } finally {
+            lock.unlock();
+        }
+        if (unusedSlot) {
+            release();
+        }
+    }
+
+    private int inFlight() {
+        lock.lock();
+        try {
+            return properties.getMaxConcurrentCalls() - freeSlots;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int queued() {
+        lock.lock();
+        try {
+            return waiters.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static UpstreamUnavailableException rejected(String reason) {
+        logger.warn("UpstreamBulkhead - Rejecting request, {}", reason);
+        return new UpstreamUnavailableException("The employee service is busy, please try again later.");
+    }
+
+    private enum State { WAITING, GRANTED, STARTED, DONE }
+
+    private static final class Waiter {
+        private State state = State.WAITING;
+        private MonoSink<Void> sink;
+    }
+}
@@ -0,0 +1,138 @@
+package com.reliaquest.api.resilience;
+
+import com.reliaquest.api.Exception.ApiRateLimitException;
+import com.reliaquest.api.Exception.UpstreamUnavailableException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Circuit breakers in front of the upstream employee API, one per operation, so that an operation that keeps failing
+ * is rejected straight away instead of every caller waiting for its own failure, while operations that still work
+ * carry on. See {@link CircuitBreaker} for when a breaker opens and closes again.
+ * <p>
+ * A call fails when the upstream could not answer it: a connection error, a timeout or a 5xx response. Any other
+ * answer, a 404 or a 429 included, shows that the upstream is up and counts as a success. Calls turned away before
+ * reaching the upstream, by the rate governor or the bulkhead, and cancelled calls are not counted. A call rejected by
+ * an open breaker fails with {@link UpstreamUnavailableException}.
+ * <p>
+ * Each breaker's state is published as {@value #STATE_METRIC}, tagged with the operation: 0 when closed, 1 when open
+ * and 2 when half open.
+ */
+@Component
+public class UpstreamCircuitBreakers {
+    static final String STATE_METRIC = "employee.upstream.circuit.state";
+    private static final Logger logger = LoggerFactory.getLogger(UpstreamCircuitBreakers.class);
+
+    private final CircuitBreakerProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    public UpstreamCircuitBreakers(CircuitBreakerProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Subscribes to {@code call} if the breaker of {@code operation} lets it through, and records how it ended.
+     */
+    public <T> Mono<T> protect(String operation, Mono<T> call) {
+        if (!properties.isEnabled()) {
+            return call;
+        }
+        return Mono.defer(() -> {
+            CircuitBreaker breaker = breaker(operation);
+            CircuitBreaker.Permit permit = breaker.tryAcquire(now());
+            if (permit == null) {
+                return rejected(operation);
+            }
+            AtomicBoolean settled = new AtomicBoolean();
+            return call
+                    .doOnSuccess(ignored -> settle(breaker, permit, settled, null))
+                    .doOnError(error -> settle(breaker, permit, settled, error))
+                    .doOnCancel(() -> release(breaker, permit, settled));
+        });
+    }
+
+    /**
+     * Like {@link #protect(String, Mono)}, for a call whose response is consumed as a stream.
+     */
+    public <T> Flux<T> protect(String operation, Flux<T> call) {
+        if (!properties.isEnabled()) {
+            return call;
+        }
+        return Flux.defer(() -> {
+            CircuitBreaker breaker = breaker(operation);
+            CircuitBreaker.Permit permit = breaker.tryAcquire(now());
+            if (permit == null) {
+                return rejected(operation);
+            }
+            AtomicBoolean settled = new AtomicBoolean();
+            return call
+                    .doOnComplete(() -> settle(breaker, permit, settled, null))
+                    .doOnError(error -> settle(breaker, permit, settled, error))
+                    .doOnCancel(() -> release(breaker, permit, settled));
+        });
+    }
+
+    private CircuitBreaker breaker(String operation) {
+        return breakers.computeIfAbsent(operation, key -> {
+            CircuitBreaker breaker = new CircuitBreaker(key, properties);
+            Gauge.builder(STATE_METRIC, breaker, b -> b.getState().ordinal())
+                    .tag("operation", key)
+                    .description("State of the circuit breaker of an upstream operation: 0 closed, 1 open, 2 half open")
+                    .register(meterRegistry);
+            return breaker;
+        });
+    }
+
+    private static void settle(CircuitBreaker breaker, CircuitBreaker.Permit permit, AtomicBoolean settled, Throwable error) {
+        if (!settled.compareAndSet(false, true)) {
+            return;
+        }
+        if (error == null) {
+            breaker.onSuccess(permit);
+        } else if (isFailure(error)) {
+            breaker.onFailure(permit, now());
+        } else if (error instanceof ApiRateLimitException || error instanceof UpstreamUnavailableException) {
+            breaker.release(permit);
+        } else {
+            breaker.onSuccess(permit);
+        }
+    }
+
+    private static void release(CircuitBreaker breaker, CircuitBreaker.Permit permit, AtomicBoolean settled) {
+        if (settled.compareAndSet(false, true)) {
+            breaker.release(permit);
+        }
+    }
+
+    private static boolean isFailure(Throwable error) {
+        return error instanceof WebClientRequestException
+                || error instanceof TimeoutException
+                || error instanceof WebClientResponseException ex && ex.getStatusCode().is5xxServerError();
+    }
+
+    private static <T> Mono<T> rejected(String operation) {
+        logger.debug("UpstreamCircuitBreakers - Rejecting {} call, its circuit is open", operation);
+        return Mono.error(new UpstreamUnavailableException("The employee service is unavailable, please try again later."));
+    }
+
+    private static long now() {
+        // The scheduler's clock rather than System.nanoTime(), so tests can run the breakers on virtual time.
+        return Schedulers.parallel().now(TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,231 @@
+package com.reliaquest.api.resilience;
+
+import com.reliaquest.api.Exception.ApiRateLimitException;
+import com.reliaquest.api.constants.ApplicationConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Client-side rate limiter for calls to the upstream employee API, which answers 429 once a caller has used up a
+ * small request budget and then keeps refusing for a while.
+ * <p>
+ * Every call takes a permit from a token bucket first. While permits are available calls go straight through;
+ * otherwise they wait for the next permit instead of being fired into a closed window, as long as that permit is
+ * due before the call's deadline. Calls that cannot get a permit in time, or that find too many others already
+ * waiting, fail with {@link ApiRateLimitException} without reaching the upstream.
+ * <p>
+ * The bucket learns from the upstream's answers. A 429 closes the bucket for a cooldown that doubles on every
+ * further 429 in a row, or for the upstream's {@code Retry-After} if it sends one, multiplies the refill rate down,
+ * and takes the number of requests accepted since the bucket last opened as the new burst size. Every accepted
+ * request raises the refill rate a little again. A 429 received while the bucket is already closed answers a
+ * request sent before it closed and is ignored.
+ * <p>
+ * Calls rejected with a 429 are retried with jittered exponential backoff, within the same deadline. Retrying is
+ * safe for every method because the upstream rejects a request before handling it.
+ */
+@Component
+public class UpstreamRateGovernor {
+    private static final Logger logger = LoggerFactory.getLogger(UpstreamRateGovernor.class);
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final RateGovernorProperties properties;
+    private final Retry retryOnThrottle;
+    private final AtomicInteger queued = new AtomicInteger();
+
+    // Bucket state, guarded by the lock. A lock rather than synchronized, so virtual threads never pin on it.
+    private final ReentrantLock lock = new ReentrantLock();
+    private double capacity;
+    private double tokens;
+    private double ratePerSecond;
+    private long lastRefillNanos;
+    private long closedUntilNanos;
+    private long cooldownNanos;
+    private int acceptedSinceOpened;
+
+    public UpstreamRateGovernor(RateGovernorProperties properties) {
+        this.properties = properties;
+        this.capacity = properties.getInitialBurst();
+        this.tokens = capacity;
+        this.ratePerSecond = properties.getInitialRate();
+        this.lastRefillNanos = now();
+        this.closedUntilNanos = lastRefillNanos;
+        this.cooldownNanos = properties.getInitialCooldown().toNanos();
+        this.retryOnThrottle = Retry.backoff(Math.max(0, properties.getMaxAttempts() - 1), properties.getMinBackoff())
+                .maxBackoff(properties.getMaxBackoff())
+                .jitter(properties.getJitter())
+                .filter(UpstreamRateGovernor::isThrottled)
+                .doBeforeRetry(signal -> logger.info("UpstreamRateGovernor - Retrying throttled request, attempt {}", signal.totalRetries() + 2))
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+    }
+
+    /**
+     * Subscribes to {@code call} once a permit is available, and again after every 429 until the call succeeds,
+     * fails otherwise, runs out of attempts or would overrun its deadline. {@code call} must be cold, so that
+     * every subscription sends a new request.
+     */
+    public <T> Mono<T> govern(Mono<T> call) {
+        if (!properties.isEnabled()) {
+            return call;
+        }
+        return Mono.defer(() -> {
+            long deadlineNanos = now() + properties.getDeadline().toNanos();
+            return Mono.defer(() -> admit(deadlineNanos))
+                    .then(call)
+                    .doOnSuccess(ignored -> onAccepted())
+                    .doOnError(this::onError)
+                    .retryWhen(retryOnThrottle);
+        });
+    }
+
+    /**
+     * Like {@link #govern(Mono)}, for a call whose response is consumed as a stream. A 429 always arrives before the
+     * first element, so a retried call never repeats elements already emitted.
+     */
+    public <T> Flux<T> govern(Flux<T> call) {
+        if (!properties.isEnabled()) {
+            return call;
+        }
+        return Flux.defer(() -> {
+            long deadlineNanos = now() + properties.getDeadline().toNanos();
+            return Mono.defer(() -> admit(deadlineNanos))
+                    .thenMany(call)
+                    .doOnComplete(this::onAccepted)
+                    .doOnError(this::onError)
+                    .retryWhen(retryOnThrottle);
+        });
+    }
+
+    private Mono<Void> admit(long deadlineNanos) {
+        long nowNanos = now();
+        if (queued.get() >= properties.getMaxQueued()) {
+            return rejected("too many requests are already waiting for the upstream");
+        }
+        long waitNanos = reserve(nowNanos, deadlineNanos - nowNanos);
+        if (waitNanos < 0) {
+            return rejected("the upstream will not accept it before the deadline");
+        }
+        if (waitNanos == 0) {
+            return Mono.empty();
+        }
+        queued.incrementAndGet();
+        return Mono.delay(Duration.ofNanos(waitNanos))
+                .doFinally(signal -> queued.decrementAndGet())
+                .then();
+    }
+
+    /**
+     * Takes a permit and returns how long the caller has to wait before using it, or -1 without taking one if that
+     * wait would exceed {@code budgetNanos}.
+     */
+    private long reserve(long nowNanos, long budgetNanos) {
+        lock.lock();
+        try {
+            refill(nowNanos);
+            long openAt = Math.max(nowNanos, closedUntilNanos);
+            // Permits can be taken ahead of time; a negative balance is the queue of calls already waiting.
+            double shortfall = tokens >= 1 ? 0 : 1 - tokens;
+            long waitNanos = openAt - nowNanos + (long) (shortfall / ratePerSecond * NANOS_PER_SECOND);
+            if (waitNanos > budgetNanos) {
+                return -1;
+            }
+            tokens -= 1;
+            return waitNanos;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void refill(long nowNanos) {
+        // Nothing accrues while the bucket is closed.
+        long from = Math.max(lastRefillNanos, closedUntilNanos);
+        if (nowNanos > from) {
+            tokens = Math.min(capacity, tokens + (nowNanos - from) / NANOS_PER_SECOND * ratePerSecond);
+        }
+        lastRefillNanos = Math.max(lastRefillNanos, nowNanos);
+    }
+
+    private void onError(Throwable error) {
+        if (isThrottled(error)) {
+            onThrottled((WebClientResponseException) error);
+        } else if (error instanceof WebClientResponseException) {
+            // Any other upstream answer still used up part of its budget.
+            onAccepted();
+        }
+    }
+
+    private void onAccepted() {
+        lock.lock();
+        try {
+            acceptedSinceOpened++;
+            cooldownNanos = properties.getInitialCooldown().toNanos();
+            ratePerSecond = Math.min(properties.getMaxRate(), ratePerSecond + properties.getRateIncrease());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onThrottled(WebClientResponseException throttled) {
+        lock.lock();
+        try {
+            long nowNanos = now();
+            if (nowNanos < closedUntilNanos) {
+                return;
+            }
+            refill(nowNanos);
+            if (acceptedSinceOpened > 0) {
+                capacity = acceptedSinceOpened;
+            }
+            acceptedSinceOpened = 0;
+            long retryAfterNanos = retryAfterNanos(throttled);
+            long closedForNanos = retryAfterNanos > 0 ? retryAfterNanos : cooldownNanos;
+            closedUntilNanos = nowNanos + closedForNanos;
+            cooldownNanos = Math.min(cooldownNanos * 2, properties.getMaxCooldown().toNanos());
+            ratePerSecond = Math.max(properties.getMinRate(), ratePerSecond * properties.getRateDecreaseFactor());
+            tokens = Math.min(tokens, 0);
+            logger.warn("UpstreamRateGovernor - Upstream is throttling, holding requests for {} ms; burst {}, rate {}/s",
+                    TimeUnit.NANOSECONDS.toMillis(closedForNanos), (int) capacity, String.format("%.2f", ratePerSecond));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static <T> Mono<T> rejected(String reason) {
+        logger.warn("UpstreamRateGovernor - Rejecting request, {}", reason);
+        return Mono.error(new ApiRateLimitException("Unusual traffic has been detected, please try again later", ApplicationConstants.NA));
+    }
+
+    private static boolean isThrottled(Throwable error) {
+        return error instanceof WebClientResponseException ex && ex.getStatusCode() == HttpStatus.TOO_MANY_REQUESTS;
+    }
+
+    private static long retryAfterNanos(WebClientResponseException throttled) {
+        String retryAfter = throttled.getHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+        if (retryAfter == null) {
+            return 0;
+        }
+        try {
+            return TimeUnit.SECONDS.toNanos(Long.parseLong(retryAfter.trim()));
+        } catch (NumberFormatException e) {
+            // An HTTP date; fall back to the learned cooldown.
+            return 0;
+        }
+    }
+
+    private static long now() {
+        // The scheduler's clock rather than System.nanoTime(), so tests can run the governor on virtual time.
+        return Schedulers.parallel().now(TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,75 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.Exception.EmployeeConflictException;
+import com.reliaquest.api.Exception.EmployeeException;
+import com.reliaquest.api.cache.EmployeeByIdCache;
+import com.reliaquest.api.cache.EmployeeRosterCache;
+import com.reliaquest.api.cache.RosterSnapshot;
+import com.reliaquest.api.constants.ApplicationConstants;
+import com.reliaquest.api.dao.EmployeeDao;
+import com.reliaquest.api.models.Employee;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Deletes employees by id although the upstream only deletes by name.
+ * <p>
+ * The upstream deletes the first employee whose name matches case-insensitively, so every delete is checked against a
+ * roster no older than reads would be served, loading one if the cached snapshot is too old or missing. The name
+ * behind the id is taken from that same roster, and only asked of the {@link EmployeeByIdCache} if the roster
+ * doesn't hold the id. A delete therefore costs the delete alone while the roster is cached, and one roster load
+ * besides when it isn't.
+ * <p>
+ * If the roster shows a namesake ahead of the employee, it is refetched to confirm it; when it is confirmed the
+ * delete is refused with {@link EmployeeConflictException} rather than removing the wrong employee.
+ */
+@Component
+@RequiredArgsConstructor
+public class EmployeeDeleter {
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeDeleter.class);
+
+    private final EmployeeDao employeeDao;
+    private final EmployeeRosterCache rosterCache;
+    private final EmployeeByIdCache employeeByIdCache;
+
+    public Mono<String> deleteById(String id) {
+        return rosterCache.snapshot()
+                .flatMap(snapshot -> resolve(id, snapshot)
+                        .flatMap(employee -> snapshot.isShadowedByNamesake(employee)
+                                ? confirmShadowed(id, employee)
+                                : Mono.just(employee)))
+                .flatMap(employee -> employeeDao.deleteByName(employee.getName()))
+                .doOnNext(deletedName -> {
+                    rosterCache.onEmployeeDeleted(id);
+                    employeeByIdCache.onEmployeeDeleted(id);
+                });
+    }
+
+    private Mono<Employee> resolve(String id, RosterSnapshot snapshot) {
+        Employee known = snapshot.findById(id);
+        if (known != null) {
+            logger.debug("EmployeeDeleter - Resolved employee with id {} from the cached roster", id);
+            return Mono.just(known);
+        }
+        return employeeByIdCache.employee(id);
+    }
+
+    private Mono<Employee> confirmShadowed(String id, Employee employee) {
+        logger.info("EmployeeDeleter - Cached roster has a namesake ahead of employee with id {}, refetching to confirm", id);
+        rosterCache.invalidate();
+        return rosterCache.snapshot().flatMap(fresh -> {
+            if (fresh.findById(id) == null) {
+                return Mono.error(new EmployeeException("Employee not Found", ApplicationConstants.ID));
+            }
+            if (fresh.isShadowedByNamesake(employee)) {
+                logger.warn("EmployeeDeleter - Refusing to delete employee with id {}, another employee named '{}' would be deleted instead", id, employee.getName());
+                return Mono.error(new EmployeeConflictException(
+                        String.format("Another employee named %s would be deleted instead", employee.getName()), ApplicationConstants.ID));
+            }
+            return Mono.just(employee);
+        });
+    }
+}
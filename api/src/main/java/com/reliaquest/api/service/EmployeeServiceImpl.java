@@ -1,6 +1,10 @@
 package com.reliaquest.api.service;
 
 import com.reliaquest.api.Exception.EmployeeException;
+import com.reliaquest.api.Exception.UpstreamUnavailableException;
+import com.reliaquest.api.cache.EmployeeByIdCache;
+import com.reliaquest.api.cache.EmployeeRosterCache;
+import com.reliaquest.api.cache.RosterSnapshot;
 import com.reliaquest.api.constants.ApplicationConstants;
 import com.reliaquest.api.dao.EmployeeDao;
 import com.reliaquest.api.models.Employee;
@@ -10,52 +14,75 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
-import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class EmployeeServiceImpl implements IEmployeeService {
     private final EmployeeDao employeeDao;
+    private final EmployeeRosterCache rosterCache;
+    private final EmployeeByIdCache employeeByIdCache;
+    private final EmployeeDeleter employeeDeleter;
     private final Logger logger = LoggerFactory.getLogger(EmployeeServiceImpl.class);
 
     @Override
     public List<Employee> getAllEmployees() {
-        logger.info("EmployeeService - Fetching all employees");
-        return employeeDao.getListOfAllEmployees();
+        logger.debug("EmployeeService - Fetching all employees");
+        return rosterCache.getEmployees();
     }
 
     @Override
     public Employee getEmployeeById(String id) {
-        logger.info("EmployeeService - Fetching employee with id: {}", id);
-        // Directly return the employee retrieved from DAO. DAO will handle the exception if not found.
-        return employeeDao.getEmployeeById(id);
+        logger.debug("EmployeeService - Fetching employee with id: {}", id);
+        Employee cached = findInServableRoster(id);
+        if (cached != null) {
+            return cached;
+        }
+        // The cache loads from the DAO on a miss and throws the DAO's exception if the employee is not found.
+        try {
+            return employeeByIdCache.getEmployee(id);
+        } catch (UpstreamUnavailableException e) {
+            Employee lastLoaded = findInLastRoster(id);
+            if (lastLoaded == null) {
+                throw e;
+            }
+            return lastLoaded;
+        }
+    }
+
+    private Employee findInServableRoster(String id) {
+        RosterSnapshot roster = rosterCache.peekServableSnapshot();
+        return roster == null ? null : roster.findById(id);
+    }
+
+    private Employee findInLastRoster(String id) {
+        RosterSnapshot lastRoster = rosterCache.peekSnapshot();
+        Employee employee = lastRoster == null ? null : lastRoster.findById(id);
+        if (employee != null) {
+            logger.warn("EmployeeService - Upstream unavailable, serving employee with id {} from roster loaded at {}", id, lastRoster.getLoadedAt());
+        }
+        return employee;
     }
 
     @Override
     public List<Employee> getEmployeesByNameSearch(String name) {
-        logger.info("EmployeeService - Searching employees by name containing: '{}'", name);
+        logger.debug("EmployeeService - Searching employees by name containing: '{}'", name);
         // No need to check for an empty list here; let DAO handle it if necessary
-        List<Employee> employeeList = employeeDao.getListOfAllEmployees().stream()
-                .filter(employee -> employee.getName().toLowerCase().contains(name.toLowerCase()))
-                .collect(Collectors.toList());
+        List<Employee> employeeList = rosterCache.getSnapshot().getNameIndex().search(name);
 
         if (employeeList.isEmpty()) {
             logger.warn("EmployeeService - No employees found with name containing: '{}'", name);
             throw new EmployeeException(String.format("No employees found with name: %s", name), ApplicationConstants.NAME);
         }
 
-        logger.info("EmployeeService - Found {} employees with name containing: '{}'", employeeList.size(), name);
+        logger.debug("EmployeeService - Found {} employees with name containing: '{}'", employeeList.size(), name);
         return employeeList;
     }
 
     @Override
     public Integer getHighestSalaryOfEmployees() {
-        logger.info("EmployeeService - Retrieving highest salary among employees");
-        return employeeDao.getListOfAllEmployees().stream()
-                .map(Employee::getSalary)
-                .max(Integer::compareTo)
+        logger.debug("EmployeeService - Retrieving highest salary among employees");
+        return rosterCache.getSnapshot().getSalaryIndex().getHighestSalary()
                 .orElseThrow(() -> {
                     logger.warn("EmployeeService - No employees found or no salaries available");
                     return new EmployeeException("No employees found or no salaries available", ApplicationConstants.NA);
@@ -64,23 +91,22 @@ public class EmployeeServiceImpl implements IEmployeeService {
 
     @Override
     public List<String> getTopTenHighestEarningEmployeeNames() {
-        logger.info("EmployeeService - Retrieving top 10 highest earning employee names");
-        return employeeDao.getListOfAllEmployees().stream()
-                .sorted(Comparator.comparing(Employee::getSalary).reversed())
-                .limit(ApplicationConstants.DIGIT_TEN)
-                .map(Employee::getName)
-                .collect(Collectors.toList());
+        logger.debug("EmployeeService - Retrieving top 10 highest earning employee names");
+        return rosterCache.getSnapshot().getSalaryIndex().getTopEarnerNames(ApplicationConstants.DIGIT_TEN);
     }
 
     @Override
     public Employee createEmployee(EmployeeRequest request) {
-        logger.info("EmployeeService - Creating employee with request: {}", request);
-        return employeeDao.addEmployee(request);
+        logger.debug("EmployeeService - Creating employee with request: {}", request);
+        Employee createdEmployee = employeeDao.addEmployee(request);
+        rosterCache.onEmployeeCreated(createdEmployee);
+        employeeByIdCache.onEmployeeCreated(createdEmployee);
+        return createdEmployee;
     }
 
     @Override
     public String deleteEmployeeById(String id) {
-        logger.info("EmployeeService - Deleting employee with id: {}", id);
-        return employeeDao.deleteEmployeeByName(id);
+        logger.debug("EmployeeService - Deleting employee with id: {}", id);
+        return employeeDeleter.deleteById(id).block();
     }
 }
@@ -0,0 +1,21 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.models.Employee;
+import com.reliaquest.api.models.EmployeeRequest;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of {@link IEmployeeService}, used when the api runs on WebFlux.
+ */
+public interface IReactiveEmployeeService {
+
+    Mono<List<Employee>> getAllEmployees();
+    Mono<Employee> getEmployeeById(String id);
+    Mono<List<Employee>> getEmployeesByNameSearch(String name);
+    Mono<Integer> getHighestSalaryOfEmployees();
+    Mono<List<String>> getTopTenHighestEarningEmployeeNames();
+    Mono<Employee> createEmployee(EmployeeRequest request);
+    Mono<String> deleteEmployeeById(String id);
+}
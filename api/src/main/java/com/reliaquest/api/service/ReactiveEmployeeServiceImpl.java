@@ -0,0 +1,106 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.Exception.EmployeeException;
+import com.reliaquest.api.Exception.UpstreamUnavailableException;
+import com.reliaquest.api.cache.EmployeeByIdCache;
+import com.reliaquest.api.cache.EmployeeRosterCache;
+import com.reliaquest.api.cache.RosterSnapshot;
+import com.reliaquest.api.constants.ApplicationConstants;
+import com.reliaquest.api.dao.EmployeeDao;
+import com.reliaquest.api.models.Employee;
+import com.reliaquest.api.models.EmployeeRequest;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class ReactiveEmployeeServiceImpl implements IReactiveEmployeeService {
+    private final EmployeeDao employeeDao;
+    private final EmployeeRosterCache rosterCache;
+    private final EmployeeByIdCache employeeByIdCache;
+    private final EmployeeDeleter employeeDeleter;
+    private final Logger logger = LoggerFactory.getLogger(ReactiveEmployeeServiceImpl.class);
+
+    @Override
+    public Mono<List<Employee>> getAllEmployees() {
+        logger.debug("ReactiveEmployeeService - Fetching all employees");
+        return rosterCache.snapshot().map(RosterSnapshot::getEmployees);
+    }
+
+    @Override
+    public Mono<Employee> getEmployeeById(String id) {
+        logger.debug("ReactiveEmployeeService - Fetching employee with id: {}", id);
+        return Mono.defer(() -> {
+            Employee cached = findInServableRoster(id);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+            return employeeByIdCache.employee(id)
+                    .onErrorResume(UpstreamUnavailableException.class, e -> Mono.justOrEmpty(findInLastRoster(id))
+                            .switchIfEmpty(Mono.error(e)));
+        });
+    }
+
+    private Employee findInServableRoster(String id) {
+        RosterSnapshot roster = rosterCache.peekServableSnapshot();
+        return roster == null ? null : roster.findById(id);
+    }
+
+    private Employee findInLastRoster(String id) {
+        RosterSnapshot lastRoster = rosterCache.peekSnapshot();
+        Employee employee = lastRoster == null ? null : lastRoster.findById(id);
+        if (employee != null) {
+            logger.warn("ReactiveEmployeeService - Upstream unavailable, serving employee with id {} from roster loaded at {}", id, lastRoster.getLoadedAt());
+        }
+        return employee;
+    }
+
+    @Override
+    public Mono<List<Employee>> getEmployeesByNameSearch(String name) {
+        logger.debug("ReactiveEmployeeService - Searching employees by name containing: '{}'", name);
+        return rosterCache.snapshot()
+                .map(snapshot -> snapshot.getNameIndex().search(name))
+                .filter(employeeList -> !employeeList.isEmpty())
+                .switchIfEmpty(Mono.error(() -> {
+                    logger.warn("ReactiveEmployeeService - No employees found with name containing: '{}'", name);
+                    return new EmployeeException(String.format("No employees found with name: %s", name), ApplicationConstants.NAME);
+                }));
+    }
+
+    @Override
+    public Mono<Integer> getHighestSalaryOfEmployees() {
+        logger.debug("ReactiveEmployeeService - Retrieving highest salary among employees");
+        return rosterCache.snapshot()
+                .mapNotNull(snapshot -> snapshot.getSalaryIndex().getHighestSalary().orElse(null))
+                .switchIfEmpty(Mono.error(() -> {
+                    logger.warn("ReactiveEmployeeService - No employees found or no salaries available");
+                    return new EmployeeException("No employees found or no salaries available", ApplicationConstants.NA);
+                }));
+    }
+
+    @Override
+    public Mono<List<String>> getTopTenHighestEarningEmployeeNames() {
+        logger.debug("ReactiveEmployeeService - Retrieving top 10 highest earning employee names");
+        return rosterCache.snapshot()
+                .map(snapshot -> snapshot.getSalaryIndex().getTopEarnerNames(ApplicationConstants.DIGIT_TEN));
+    }
+
+    @Override
+    public Mono<Employee> createEmployee(EmployeeRequest request) {
+        logger.debug("ReactiveEmployeeService - Creating employee with request: {}", request);
+        return employeeDao.createEmployee(request)
+                .doOnNext(rosterCache::onEmployeeCreated)
+                .doOnNext(employeeByIdCache::onEmployeeCreated);
+    }
+
+    @Override
+    public Mono<String> deleteEmployeeById(String id) {
+        logger.debug("ReactiveEmployeeService - Deleting employee with id: {}", id);
+        return employeeDeleter.deleteById(id);
+    }
+}
@@ -1,5 +1,7 @@
 package com.reliaquest.api.Integration;
 
+import com.reliaquest.api.cache.EmployeeByIdCache;
+import com.reliaquest.api.cache.EmployeeRosterCache;
 import com.reliaquest.api.constants.ApplicationConstants;
 import com.reliaquest.api.dao.EmployeeDao;
 import com.reliaquest.api.models.Employee;
@@ -11,16 +13,19 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockitoAnnotations;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import reactor.core.publisher.Mono;
 
 import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -30,6 +35,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.
 
 @SpringBootTest
 @AutoConfigureMockMvc
+@AutoConfigureObservability
 public class EmployeeIntegrationTest {
 
     @Autowired
@@ -44,6 +50,12 @@ public class EmployeeIntegrationTest {
     @Autowired
     private EmployeeServiceImpl employeeService;
 
+    @Autowired
+    private EmployeeRosterCache rosterCache;
+
+    @Autowired
+    private EmployeeByIdCache employeeByIdCache;
+
     private EmployeeRequest employeeRequest;
     private Employee mockEmployee;
     private List<Employee> mockEmployees;
@@ -51,6 +63,8 @@ public class EmployeeIntegrationTest {
     @BeforeEach
     public void setUp() {
         MockitoAnnotations.openMocks(this);
+        rosterCache.invalidate();
+        employeeByIdCache.invalidateAll();
 
         employeeRequest = new EmployeeRequest("Shivani Singh", 50000, "Engineer", 30);
         mockEmployee = new Employee(UUID.randomUUID(), "Shivani Singh", 50000, 30, "Engineer", "shivani.singh@gmail.com");
@@ -77,7 +91,7 @@ public class EmployeeIntegrationTest {
 
     @Test
     public void testGetAllEmployees() throws Exception {
-        when(employeeDao.getListOfAllEmployees()).thenReturn(mockEmployees);
+        when(employeeDao.listAllEmployees()).thenReturn(Mono.just(mockEmployees));
 
         mockMvc.perform(get(Strings.EMPTY)
                         .contentType(MediaType.APPLICATION_JSON))
@@ -87,13 +101,13 @@ public class EmployeeIntegrationTest {
                 .andExpect(jsonPath("$[1].employee_name").value("Aniksha Singh"))
                 .andDo(print());
 
-        verify(employeeDao, times(1)).getListOfAllEmployees();
+        verify(employeeDao, times(1)).listAllEmployees();
     }
 
     @Test
     public void testGetEmployeeById() throws Exception {
         String employeeId = mockEmployee.getId().toString();
-        when(employeeDao.getEmployeeById(eq(employeeId))).thenReturn(mockEmployee);
+        when(employeeDao.findEmployeeById(eq(employeeId))).thenReturn(Mono.just(mockEmployee));
 
         mockMvc.perform(get(ApplicationConstants.FORWARD_SLASH+"{id}", employeeId)
                         .contentType(MediaType.APPLICATION_JSON))
@@ -102,13 +116,13 @@ public class EmployeeIntegrationTest {
                 .andExpect(jsonPath("$.employee_salary").value(50000))
                 .andDo(print());
 
-        verify(employeeDao, times(1)).getEmployeeById(employeeId);
+        verify(employeeDao, times(1)).findEmployeeById(employeeId);
     }
 
     @Test
     public void testGetEmployeesByNameSearch() throws Exception {
         String searchString = "Singh";
-        when(employeeDao.getListOfAllEmployees()).thenReturn(mockEmployees);
+        when(employeeDao.listAllEmployees()).thenReturn(Mono.just(mockEmployees));
 
         mockMvc.perform(get(ApplicationConstants.FORWARD_SLASH + "search/{searchString}", searchString)
                         .contentType(MediaType.APPLICATION_JSON))
@@ -118,12 +132,12 @@ public class EmployeeIntegrationTest {
                 .andExpect(jsonPath("$[1].employee_name").value("Aniksha Singh"))
                 .andDo(print());
 
-        verify(employeeDao, times(1)).getListOfAllEmployees();
+        verify(employeeDao, times(1)).listAllEmployees();
     }
 
     @Test
     public void testGetHighestSalaryOfEmployees() throws Exception {
-        when(employeeDao.getListOfAllEmployees()).thenReturn(mockEmployees);
+        when(employeeDao.listAllEmployees()).thenReturn(Mono.just(mockEmployees));
 
         mockMvc.perform(get(ApplicationConstants.FORWARD_SLASH + "highestSalary")
                         .contentType(MediaType.APPLICATION_JSON))
@@ -131,12 +145,12 @@ public class EmployeeIntegrationTest {
                 .andExpect(jsonPath("$").value(60000))
                 .andDo(print());
 
-        verify(employeeDao, times(1)).getListOfAllEmployees();
+        verify(employeeDao, times(1)).listAllEmployees();
     }
 
     @Test
     public void testGetTopTenHighestEarningEmployeeNames() throws Exception {
-        when(employeeDao.getListOfAllEmployees()).thenReturn(mockEmployees);
+        when(employeeDao.listAllEmployees()).thenReturn(Mono.just(mockEmployees));
 
         mockMvc.perform(get(ApplicationConstants.FORWARD_SLASH + "topTenHighestEarningEmployeeNames")
                         .contentType(MediaType.APPLICATION_JSON))
@@ -146,13 +160,15 @@ public class EmployeeIntegrationTest {
                 .andExpect(jsonPath("$[1]").value("Shivani Singh"))
                 .andDo(print());
 
-        verify(employeeDao, times(1)).getListOfAllEmployees();
+        verify(employeeDao, times(1)).listAllEmployees();
     }
 
     @Test
     public void testDeleteEmployeeById() throws Exception {
         String employeeId = mockEmployee.getId().toString();
-        when(employeeDao.deleteEmployeeByName(eq(employeeId))).thenReturn("Shivani Singh");
+        when(employeeDao.findEmployeeById(eq(employeeId))).thenReturn(Mono.just(mockEmployee));
+        when(employeeDao.listAllEmployees()).thenReturn(Mono.just(List.of(mockEmployee)));
+        when(employeeDao.deleteByName("Shivani Singh")).thenReturn(Mono.just("Shivani Singh"));
 
         mockMvc.perform(delete(ApplicationConstants.FORWARD_SLASH + "{id}", employeeId)
                         .contentType(MediaType.APPLICATION_JSON))
@@ -160,7 +176,21 @@ public class EmployeeIntegrationTest {
                 .andExpect(content().string("Shivani Singh"))
                 .andDo(print());
 
-        verify(employeeDao, times(1)).deleteEmployeeByName(employeeId);
+        verify(employeeDao, times(1)).deleteByName("Shivani Singh");
+    }
+
+    @Test
+    public void testDeleteEmployeeShadowedByNamesakeReturnsConflict() throws Exception {
+        Employee namesake = new Employee(UUID.randomUUID(), "Shivani Singh", 90000, 41, "Director", "s.singh@gmail.com");
+        when(employeeDao.listAllEmployees()).thenReturn(Mono.just(Arrays.asList(namesake, mockEmployee)));
+
+        mockMvc.perform(get(ApplicationConstants.FORWARD_SLASH)).andExpect(status().isOk());
+        mockMvc.perform(delete(ApplicationConstants.FORWARD_SLASH + "{id}", mockEmployee.getId().toString())
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isConflict())
+                .andDo(print());
+
+        verify(employeeDao, never()).deleteByName(any());
     }
 
     @Test
@@ -175,6 +205,15 @@ public class EmployeeIntegrationTest {
                 .andDo(print());
     }
 
+    @Test
+    public void testMetricsAreScrapeableByPrometheus() throws Exception {
+        when(employeeDao.listAllEmployees()).thenReturn(Mono.just(mockEmployees));
+        mockMvc.perform(get(Strings.EMPTY)).andExpect(status().isOk());
 
-
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket")))
+                .andExpect(content().string(containsString("cache_gets_total{cache=\"employee.roster\",result=\"miss\"")))
+                .andExpect(content().string(containsString("cache_load_latency_seconds_bucket")));
+    }
 }
@@ -0,0 +1,365 @@
+package com.reliaquest.api.Integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.ApiApplication;
+import com.reliaquest.server.ServerApplication;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeService;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Drives all seven endpoints of the api against the real mock server, both booted in this JVM on random ports.
+ * <p>
+ * Requests arrive in an open model: arrival times are drawn from a Poisson process at a fixed rate, and a request is
+ * sent at its arrival time whether or not earlier ones have completed. Latency is measured from the arrival time, so
+ * time a request spent waiting to be sent counts against it. Requests arriving during the warm-up are sent but not
+ * recorded. The report lists throughput, latency percentiles and response statuses per endpoint, and the calls that
+ * reached the mock server by method and status; the full latency distribution of every endpoint is written to
+ * {@code build/reports/load} in HdrHistogram's percentile format.
+ * <p>
+ * Run with {@code ./gradlew :api:loadTest --tests '*EndToEndLoadTest'}, optionally with {@code -Pload.rate=<requests
+ * per second>}, {@code -Pload.duration=<duration>}, {@code -Pload.warmup=<duration>},
+ * {@code -Pload.roster-size=<mock employees>} and {@code -Pload.seed=<seed>}. {@code -Pload.rate-limiter=false} switches
+ * off both the mock server's random rate limiting and the api's pacing of upstream calls, for pure-throughput runs.
+ */
+@Tag("load")
+public class EndToEndLoadTest {
+
+    private static final double RATE = Double.parseDouble(System.getProperty("load.rate", "50"));
+    private static final Duration DURATION = DurationStyle.detectAndParse(System.getProperty("load.duration", "20s"));
+    private static final Duration WARMUP = DurationStyle.detectAndParse(System.getProperty("load.warmup", "5s"));
+    private static final int ROSTER_SIZE = Integer.parseInt(System.getProperty("load.roster-size", "1000"));
+    private static final boolean RATE_LIMITER = Boolean.parseBoolean(System.getProperty("load.rate-limiter", "true"));
+    private static final long SEED = Long.parseLong(System.getProperty("load.seed", "42"));
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final Path REPORT_DIRECTORY = Path.of("build", "reports", "load");
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final UpstreamCallCounter upstreamCalls = new UpstreamCallCounter();
+
+    private static ConfigurableApplicationContext server;
+    private static ConfigurableApplicationContext api;
+    private static String baseUri;
+
+    @BeforeAll
+    public static void startApplications() {
+        server = new SpringApplicationBuilder(ServerApplication.class)
+                .initializers(context -> context.getBeanFactory().registerSingleton("upstreamCallCounter", upstreamCalls))
+                .run(
+                        // The api's application.yml comes first on this classpath; the server is configured here instead.
+                        "--spring.config.name=mock-employee-api",
+                        "--spring.application.name=mock-employee-api",
+                        "--server.port=0",
+                        "--server.compression.enabled=true",
+                        "--mock.employees.max=" + ROSTER_SIZE,
+                        "--mock.rate-limit.enabled=" + RATE_LIMITER,
+                        "--logging.level.com.reliaquest=WARN");
+        int serverPort = server.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+        api = new SpringApplicationBuilder(ApiApplication.class).run(
+                "--server.port=0",
+                "--employee.upstream.base-url=http://localhost:" + serverPort + "/api/v1/employee",
+                "--employee.upstream.rate-limit.enabled=" + RATE_LIMITER,
+                "--logging.level.com.reliaquest=WARN");
+        baseUri = "http://localhost:" + api.getEnvironment().getRequiredProperty("local.server.port", Integer.class) + "/";
+    }
+
+    @AfterAll
+    public static void stopApplications() {
+        if (api != null) {
+            api.close();
+        }
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    @Test
+    public void testAllEndpointsUnderOpenModelLoad() throws IOException {
+        List<MockEmployee> roster = server.getBean(MockEmployeeService.class).getMockEmployees();
+        Workload workload = new Workload(roster, new Random(SEED));
+        Map<Endpoint, Results> results = new TreeMap<>();
+        for (Endpoint endpoint : Endpoint.values()) {
+            results.put(endpoint, new Results());
+        }
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        List<CompletableFuture<?>> responses = new ArrayList<>();
+        Random arrivals = new Random(SEED);
+        long start = System.nanoTime();
+        long measureFrom = start + WARMUP.toNanos();
+        long end = measureFrom + DURATION.toNanos();
+        boolean measuring = false;
+        for (long arrival = start; arrival < end; arrival += exponential(arrivals, RATE)) {
+            LockSupport.parkNanos(arrival - System.nanoTime());
+            if (!measuring && arrival >= measureFrom) {
+                measuring = true;
+                upstreamCalls.reset();
+            }
+            Endpoint endpoint = workload.nextEndpoint();
+            HttpRequest request = workload.request(endpoint);
+            long arrivedAt = arrival;
+            boolean recorded = measuring;
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                    .whenComplete((response, error) -> {
+                        if (response != null) {
+                            workload.onResponse(endpoint, response);
+                        }
+                        if (recorded) {
+                            results.get(endpoint).record(System.nanoTime() - arrivedAt, response, error);
+                        }
+                    }));
+        }
+        CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).handle((ignored, error) -> null).join();
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - measureFrom);
+
+        report(results, elapsed);
+        for (Map.Entry<Endpoint, Results> entry : results.entrySet()) {
+            Results endpointResults = entry.getValue();
+            assertTrue(endpointResults.latencies.getTotalCount() > 0, entry.getKey() + " was never called");
+            assertEquals(0, endpointResults.count("timeout") + endpointResults.count("io-error"),
+                    entry.getKey() + " had requests that failed without a response");
+            if (!RATE_LIMITER) {
+                assertEquals(0, endpointResults.count("429") + endpointResults.count("503"),
+                        entry.getKey() + " was throttled although rate limiting is off");
+            }
+        }
+    }
+
+    private static long exponential(Random random, double ratePerSecond) {
+        return Math.max(1, (long) (-Math.log(1 - random.nextDouble()) / ratePerSecond * TimeUnit.SECONDS.toNanos(1)));
+    }
+
+    private static void report(Map<Endpoint, Results> results, Duration elapsed) throws IOException {
+        PrintStream out = System.out;
+        out.printf("Open-model load: %.1f requests/s for %s after %s of warm-up, %d mock employees, rate limiting %s%n",
+                RATE, DURATION, WARMUP, ROSTER_SIZE, RATE_LIMITER ? "on" : "off");
+        out.printf("%-38s %8s %9s %9s %9s %9s %9s %9s  %s%n",
+                "endpoint", "count", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "statuses");
+        Histogram all = new Histogram(3);
+        Files.createDirectories(REPORT_DIRECTORY);
+        for (Map.Entry<Endpoint, Results> entry : results.entrySet()) {
+            Histogram latencies = entry.getValue().latencies;
+            all.add(latencies);
+            printRow(out, entry.getKey().label, latencies, elapsed, entry.getValue().statuses());
+            try (PrintStream file = new PrintStream(REPORT_DIRECTORY.resolve(entry.getKey().name().toLowerCase() + ".hgrm").toFile())) {
+                latencies.outputPercentileDistribution(file, 1000.0);
+            }
+        }
+        printRow(out, "all", all, elapsed, "");
+        out.printf("Upstream calls: %s%n", upstreamCalls.counts());
+        out.printf("Latency distributions written to %s%n", REPORT_DIRECTORY.toAbsolutePath());
+    }
+
+    private static void printRow(PrintStream out, String label, Histogram latencies, Duration elapsed, String statuses) {
+        out.printf("%-38s %8d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f  %s%n",
+                label,
+                latencies.getTotalCount(),
+                latencies.getTotalCount() / (elapsed.toNanos() / 1e9),
+                latencies.getValueAtPercentile(50) / 1000.0,
+                latencies.getValueAtPercentile(90) / 1000.0,
+                latencies.getValueAtPercentile(99) / 1000.0,
+                latencies.getValueAtPercentile(99.9) / 1000.0,
+                latencies.getMaxValue() / 1000.0,
+                statuses);
+    }
+
+    private enum Endpoint {
+        GET_ALL("GET /", 10),
+        SEARCH("GET /search/{searchString}", 20),
+        GET_BY_ID("GET /{id}", 30),
+        HIGHEST_SALARY("GET /highestSalary", 10),
+        TOP_TEN("GET /topTenHighestEarningEmployeeNames", 10),
+        CREATE("POST /", 10),
+        DELETE("DELETE /{id}", 10);
+
+        private final String label;
+        private final int weight;
+
+        Endpoint(String label, int weight) {
+            this.label = label;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * Picks endpoints by weight and builds their requests. Lookups mostly ask for employees that exist; deletes remove
+     * employees this test created, so the roster the reads run against keeps its size.
+     */
+    private static final class Workload {
+        private final List<String> knownIds;
+        private final List<String> searchTerms;
+        private final Queue<String> createdIds = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger created = new AtomicInteger();
+        private final Random random;
+        private final int totalWeight;
+
+        private Workload(List<MockEmployee> roster, Random random) {
+            this.knownIds = roster.stream().map(employee -> employee.getId().toString()).toList();
+            this.searchTerms = roster.stream().map(employee -> employee.getName().split(" ")[0]).distinct().toList();
+            this.random = random;
+            int weights = 0;
+            for (Endpoint endpoint : Endpoint.values()) {
+                weights += endpoint.weight;
+            }
+            this.totalWeight = weights;
+        }
+
+        private Endpoint nextEndpoint() {
+            int pick = random.nextInt(totalWeight);
+            for (Endpoint endpoint : Endpoint.values()) {
+                pick -= endpoint.weight;
+                if (pick < 0) {
+                    return endpoint;
+                }
+            }
+            throw new IllegalStateException("Weights changed while picking");
+        }
+
+        private HttpRequest request(Endpoint endpoint) {
+            return switch (endpoint) {
+                case GET_ALL -> get("");
+                case SEARCH -> get("search/" + URLEncoder.encode(pick(searchTerms), StandardCharsets.UTF_8).replace("+", "%20"));
+                // One lookup in ten asks for an id nobody has, which the api answers with a 404.
+                case GET_BY_ID -> get(random.nextInt(10) == 0 ? UUID.randomUUID().toString() : pick(knownIds));
+                case HIGHEST_SALARY -> get("highestSalary");
+                case TOP_TEN -> get("topTenHighestEarningEmployeeNames");
+                case CREATE -> builder("").header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("""
+                                {"name":"Load Test %d","salary":%d,"title":"Load Tester","age":%d}\
+                                """.formatted(created.incrementAndGet(), 30000 + random.nextInt(470000), 18 + random.nextInt(58))))
+                        .build();
+                case DELETE -> {
+                    String id = createdIds.poll();
+                    yield builder(id != null ? id : UUID.randomUUID().toString()).DELETE().build();
+                }
+            };
+        }
+
+        private void onResponse(Endpoint endpoint, HttpResponse<String> response) {
+            if (endpoint == Endpoint.CREATE && response.statusCode() == 200) {
+                try {
+                    createdIds.add(objectMapper.readTree(response.body()).get("id").asText());
+                } catch (IOException e) {
+                    throw new IllegalStateException("Unexpected create response: " + response.body(), e);
+                }
+            }
+        }
+
+        private String pick(List<String> values) {
+            return values.get(random.nextInt(values.size()));
+        }
+
+        private static HttpRequest get(String path) {
+            return builder(path).GET().build();
+        }
+
+        private static HttpRequest.Builder builder(String path) {
+            return HttpRequest.newBuilder(URI.create(baseUri + path)).timeout(REQUEST_TIMEOUT);
+        }
+    }
+
+    private static final class Results {
+        // Microseconds, up to an hour, to three significant digits.
+        private final ConcurrentHistogram latencies = new ConcurrentHistogram(TimeUnit.HOURS.toMicros(1), 3);
+        private final Map<String, LongAdder> statuses = new ConcurrentHashMap<>();
+
+        private void record(long nanos, HttpResponse<String> response, Throwable error) {
+            latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), latencies.getHighestTrackableValue()));
+            String outcome;
+            if (response != null) {
+                outcome = String.valueOf(response.statusCode());
+            } else if (error instanceof HttpTimeoutException || error.getCause() instanceof HttpTimeoutException) {
+                outcome = "timeout";
+            } else {
+                outcome = "io-error";
+            }
+            statuses.computeIfAbsent(outcome, ignored -> new LongAdder()).increment();
+        }
+
+        private long count(String outcome) {
+            LongAdder adder = statuses.get(outcome);
+            return adder == null ? 0 : adder.sum();
+        }
+
+        private String statuses() {
+            StringBuilder summary = new StringBuilder();
+            new TreeMap<>(statuses).forEach((outcome, count) -> summary.append(outcome).append('=').append(count.sum()).append(' '));
+            return summary.toString().trim();
+        }
+    }
+
+    /**
+     * Counts the requests that reach the mock server, by method and response status.
+     */
+    private static final class UpstreamCallCounter implements Filter {
+        private final Map<String, LongAdder> calls = new ConcurrentHashMap<>();
+
+        @Override
+        public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                String key = ((HttpServletRequest) request).getMethod() + " " + ((HttpServletResponse) response).getStatus();
+                calls.computeIfAbsent(key, ignored -> new LongAdder()).increment();
+            }
+        }
+
+        private void reset() {
+            calls.clear();
+        }
+
+        private Map<String, Long> counts() {
+            Map<String, Long> counts = new TreeMap<>();
+            calls.forEach((key, count) -> counts.put(key, count.sum()));
+            return counts;
+        }
+    }
+}
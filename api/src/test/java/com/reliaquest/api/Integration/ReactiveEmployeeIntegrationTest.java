@@ -0,0 +1,151 @@
+package com.reliaquest.api.Integration;
+
+import com.reliaquest.api.Exception.ApiRateLimitException;
+import com.reliaquest.api.cache.EmployeeByIdCache;
+import com.reliaquest.api.cache.EmployeeRosterCache;
+import com.reliaquest.api.constants.ApplicationConstants;
+import com.reliaquest.api.dao.EmployeeDao;
+import com.reliaquest.api.models.Employee;
+import com.reliaquest.api.models.EmployeeRequest;
+import org.apache.logging.log4j.util.Strings;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(properties = "spring.main.web-application-type=reactive")
+@AutoConfigureWebTestClient
+public class ReactiveEmployeeIntegrationTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private EmployeeDao employeeDao;
+
+    @Autowired
+    private EmployeeRosterCache rosterCache;
+
+    @Autowired
+    private EmployeeByIdCache employeeByIdCache;
+
+    private Employee mockEmployee;
+    private List<Employee> mockEmployees;
+
+    @BeforeEach
+    public void setUp() {
+        rosterCache.invalidate();
+        employeeByIdCache.invalidateAll();
+        mockEmployee = new Employee(UUID.randomUUID(), "Shivani Singh", 50000, 30, "Engineer", "shivani.singh@gmail.com");
+        mockEmployees = Arrays.asList(mockEmployee,
+                new Employee(UUID.randomUUID(), "Aniksha Singh", 60000, 28, "Manager", "aniksha.singh@gmail.com"));
+    }
+
+    @Test
+    public void testGetAllEmployees() {
+        when(employeeDao.listAllEmployees()).thenReturn(Mono.just(mockEmployees));
+
+        webTestClient.get().uri(Strings.EMPTY)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].employee_name").isEqualTo("Shivani Singh")
+                .jsonPath("$[1].employee_name").isEqualTo("Aniksha Singh");
+
+        verify(employeeDao, times(1)).listAllEmployees();
+    }
+
+    @Test
+    public void testGetEmployeesByNameSearchWithoutMatchReturnsNotFound() {
+        when(employeeDao.listAllEmployees()).thenReturn(Mono.just(mockEmployees));
+
+        webTestClient.get().uri(ApplicationConstants.FORWARD_SLASH + "search/{searchString}", "Raj")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("No employees found with name: Raj");
+    }
+
+    @Test
+    public void testHighestSalaryAndTopTenShareOneRosterFetch() {
+        when(employeeDao.listAllEmployees()).thenReturn(Mono.just(mockEmployees));
+
+        webTestClient.get().uri(ApplicationConstants.FORWARD_SLASH + "highestSalary")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Integer.class).isEqualTo(60000);
+        webTestClient.get().uri(ApplicationConstants.FORWARD_SLASH + "topTenHighestEarningEmployeeNames")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0]").isEqualTo("Aniksha Singh")
+                .jsonPath("$[1]").isEqualTo("Shivani Singh");
+
+        verify(employeeDao, times(1)).listAllEmployees();
+    }
+
+    @Test
+    public void testGetEmployeeByIdMapsRateLimit() {
+        String employeeId = mockEmployee.getId().toString();
+        when(employeeDao.findEmployeeById(employeeId)).thenReturn(Mono.error(
+                new ApiRateLimitException("Unusual traffic has been detected, please try again later", ApplicationConstants.ID)));
+
+        webTestClient.get().uri(ApplicationConstants.FORWARD_SLASH + "{id}", employeeId)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    @Test
+    public void testCreateEmployee() {
+        when(employeeDao.createEmployee(any(EmployeeRequest.class))).thenReturn(Mono.just(mockEmployee));
+
+        webTestClient.post().uri(Strings.EMPTY)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new EmployeeRequest("Shivani Singh", 50000, "Engineer", 30))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.employee_name").isEqualTo("Shivani Singh")
+                .jsonPath("$.employee_salary").isEqualTo(50000);
+    }
+
+    @Test
+    public void testCreateEmployeeThrowsExceptionWhenNameMissing() {
+        webTestClient.post().uri(Strings.EMPTY)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new EmployeeRequest("", 50000, "Engineer", 30))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("Employee name must not be empty");
+
+        verify(employeeDao, never()).createEmployee(any(EmployeeRequest.class));
+    }
+
+    @Test
+    public void testDeleteEmployeeById() {
+        String employeeId = mockEmployee.getId().toString();
+        when(employeeDao.findEmployeeById(employeeId)).thenReturn(Mono.just(mockEmployee));
+        when(employeeDao.listAllEmployees()).thenReturn(Mono.just(List.of(mockEmployee)));
+        when(employeeDao.deleteByName("Shivani Singh")).thenReturn(Mono.just("Shivani Singh"));
+
+        webTestClient.delete().uri(ApplicationConstants.FORWARD_SLASH + "{id}", employeeId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("Shivani Singh");
+    }
+}
@@ -0,0 +1,167 @@
+package com.reliaquest.api.Integration;
+
+import com.reliaquest.api.ApiApplication;
+import com.reliaquest.api.constants.ApplicationConstants;
+import com.sun.net.httpserver.HttpServer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the blocking servlet path on platform threads with the same path on virtual threads.
+ * <p>
+ * The api runs against a local stub upstream that answers {@code GET /{id}} after a fixed delay, so every request
+ * parks its handling thread inside {@code EmployeeDao.getEmployeeById}. With a small Tomcat worker pool the platform
+ * thread run can never have more upstream calls in flight than it has workers; the virtual thread run is not bounded
+ * by the pool. The assertion is on peak upstream concurrency rather than wall time, which on a machine with few cores
+ * is dominated by CPU rather than waiting. Every request asks for a different id, the rate governor is switched off
+ * and the bulkhead lets all requests through at once, so neither the by-id cache, nor read coalescing, nor pacing,
+ * nor queueing keeps requests from reaching the upstream. Run with {@code ./gradlew :api:loadTest}.
+ */
+@Tag("load")
+public class VirtualThreadLoadTest {
+
+    private static final int CONCURRENT_REQUESTS = 400;
+    private static final int TOMCAT_MAX_THREADS = 16;
+    private static final Duration UPSTREAM_LATENCY = Duration.ofMillis(100);
+    private static final String EMPLOYEE_RESPONSE = """
+            {"data":{"id":"%s","employee_name":"Shivani Singh","employee_salary":50000,"employee_age":30,\
+            "employee_title":"Engineer","employee_email":"shivani@company.com"},"status":"Successfully processed request."}\
+            """;
+
+    private static final AtomicInteger upstreamInFlight = new AtomicInteger();
+    private static final AtomicInteger upstreamPeak = new AtomicInteger();
+
+    private static HttpServer upstream;
+
+    @BeforeAll
+    public static void startUpstream() throws IOException {
+        upstream = HttpServer.create(new InetSocketAddress("localhost", 0), CONCURRENT_REQUESTS);
+        upstream.createContext("/api/v1/employee", exchange -> {
+            upstreamPeak.accumulateAndGet(upstreamInFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(UPSTREAM_LATENCY.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                upstreamInFlight.decrementAndGet();
+            }
+            String path = exchange.getRequestURI().getPath();
+            String id = path.substring(path.lastIndexOf('/') + 1);
+            byte[] body = EMPLOYEE_RESPONSE.formatted(id).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream responseBody = exchange.getResponseBody()) {
+                responseBody.write(body);
+            }
+        });
+        upstream.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        upstream.start();
+    }
+
+    @AfterAll
+    public static void stopUpstream() {
+        upstream.stop(0);
+    }
+
+    @Test
+    public void testVirtualThreadsScaleBeyondTomcatWorkerPool() throws Exception {
+        LoadResult platformThreads = runLoad(false);
+        LoadResult virtualThreads = runLoad(true);
+
+        System.out.printf("%d concurrent GET /{id}, upstream latency %d ms, tomcat max threads %d%n",
+                CONCURRENT_REQUESTS, UPSTREAM_LATENCY.toMillis(), TOMCAT_MAX_THREADS);
+        System.out.printf("  platform threads: %d ms, peak upstream calls in flight %d%n",
+                platformThreads.wallTime().toMillis(), platformThreads.peakUpstreamCalls());
+        System.out.printf("  virtual threads:  %d ms, peak upstream calls in flight %d%n",
+                virtualThreads.wallTime().toMillis(), virtualThreads.peakUpstreamCalls());
+
+        assertTrue(platformThreads.peakUpstreamCalls() <= TOMCAT_MAX_THREADS,
+                "Platform threads cannot wait on more upstream calls than there are Tomcat workers");
+        assertTrue(virtualThreads.peakUpstreamCalls() > 4 * TOMCAT_MAX_THREADS,
+                "Virtual threads should wait on upstream calls well beyond the Tomcat worker pool");
+    }
+
+    @Test
+    public void testBlockingDaoPathDoesNotPinCarrierThreads() throws Exception {
+        List<RecordedEvent> pinnedInApi = new CopyOnWriteArrayList<>();
+        try (RecordingStream recording = new RecordingStream()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.onEvent("jdk.VirtualThreadPinned", event -> {
+                if (event.getStackTrace() != null && event.getStackTrace().getFrames().stream().anyMatch(VirtualThreadLoadTest::isApiFrame)) {
+                    pinnedInApi.add(event);
+                }
+            });
+            recording.startAsync();
+            runLoad(true);
+            recording.stop();
+        }
+
+        assertTrue(pinnedInApi.isEmpty(), () -> "Virtual threads were pinned in api code: " + pinnedInApi);
+    }
+
+    private static boolean isApiFrame(RecordedFrame frame) {
+        return frame.getMethod() != null && frame.getMethod().getType().getName().startsWith("com.reliaquest.api");
+    }
+
+    private static LoadResult runLoad(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ApiApplication.class).run(
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--server.tomcat.threads.max=" + TOMCAT_MAX_THREADS,
+                "--employee.upstream.rate-limit.enabled=false",
+                "--employee.upstream.bulkhead.max-concurrent-calls=" + CONCURRENT_REQUESTS,
+                "--employee.upstream.base-url=http://localhost:" + upstream.getAddress().getPort() + "/api/v1/employee")) {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            String baseUri = "http://localhost:" + port + ApplicationConstants.FORWARD_SLASH;
+            HttpClient client = HttpClient.newHttpClient();
+
+            // Warm up connections and JIT before measuring.
+            fire(client, baseUri, TOMCAT_MAX_THREADS);
+
+            upstreamPeak.set(0);
+            long start = System.nanoTime();
+            fire(client, baseUri, CONCURRENT_REQUESTS);
+            return new LoadResult(Duration.ofNanos(System.nanoTime() - start), upstreamPeak.get());
+        }
+    }
+
+    private static void fire(HttpClient client, String baseUri, int requests) {
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUri + UUID.randomUUID())).GET().build();
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+        }
+        for (CompletableFuture<HttpResponse<String>> response : responses) {
+            assertEquals(200, response.join().statusCode());
+        }
+    }
+
+    private record LoadResult(Duration wallTime, int peakUpstreamCalls) {
+    }
+}
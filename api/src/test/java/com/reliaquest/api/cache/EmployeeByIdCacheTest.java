@@ -0,0 +1,144 @@
+package com.reliaquest.api.cache;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.reliaquest.api.Exception.ApiRateLimitException;
+import com.reliaquest.api.Exception.EmployeeException;
+import com.reliaquest.api.constants.ApplicationConstants;
+import com.reliaquest.api.dao.EmployeeDao;
+import com.reliaquest.api.models.Employee;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeByIdCacheTest {
+
+    private static final Duration TTL = Duration.ofSeconds(60);
+    private static final Duration NOT_FOUND_TTL = Duration.ofSeconds(5);
+
+    @Mock
+    private EmployeeDao employeeDao;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final Ticker ticker = nanos::get;
+    private EmployeeByIdCache employeeByIdCache;
+
+    private Employee shivani;
+    private String shivaniId;
+
+    @BeforeEach
+    void setUp() {
+        employeeByIdCache = new EmployeeByIdCache(employeeDao, new SimpleMeterRegistry(), 100, TTL, NOT_FOUND_TTL, ticker);
+        shivani = new Employee(UUID.randomUUID(), "Shivani Singh", 50000, 30, "Engineer", "shivani.singh@gmail.com");
+        shivaniId = shivani.getId().toString();
+    }
+
+    @Test
+    void testRepeatedLookupIsServedFromCacheUntilTtl() {
+        when(employeeDao.findEmployeeById(shivaniId)).thenReturn(Mono.just(shivani));
+
+        assertEquals(shivani, employeeByIdCache.getEmployee(shivaniId));
+        assertEquals(shivani, employeeByIdCache.getEmployee(shivaniId.toUpperCase()));
+        verify(employeeDao, times(1)).findEmployeeById(shivaniId);
+
+        advance(TTL.plusSeconds(1));
+        employeeByIdCache.getEmployee(shivaniId);
+        verify(employeeDao, times(2)).findEmployeeById(shivaniId);
+    }
+
+    @Test
+    void testNotFoundIsCachedForTheShorterWindow() {
+        String missingId = UUID.randomUUID().toString();
+        when(employeeDao.findEmployeeById(missingId))
+                .thenReturn(Mono.error(new EmployeeException("Employee not Found", ApplicationConstants.ID)));
+
+        assertThrows(EmployeeException.class, () -> employeeByIdCache.getEmployee(missingId));
+        assertThrows(EmployeeException.class, () -> employeeByIdCache.getEmployee(missingId));
+        verify(employeeDao, times(1)).findEmployeeById(missingId);
+
+        advance(NOT_FOUND_TTL.plusSeconds(1));
+        assertThrows(EmployeeException.class, () -> employeeByIdCache.getEmployee(missingId));
+        verify(employeeDao, times(2)).findEmployeeById(missingId);
+    }
+
+    @Test
+    void testFailuresOtherThanNotFoundAreNotCached() {
+        when(employeeDao.findEmployeeById(shivaniId))
+                .thenReturn(Mono.error(new ApiRateLimitException("Unusual traffic has been detected, please try again later", ApplicationConstants.ID)))
+                .thenReturn(Mono.just(shivani));
+
+        assertThrows(ApiRateLimitException.class, () -> employeeByIdCache.getEmployee(shivaniId));
+        assertEquals(shivani, employeeByIdCache.getEmployee(shivaniId));
+    }
+
+    @Test
+    void testCreateReplacesCachedNotFoundAndDeleteDropsEntry() {
+        when(employeeDao.findEmployeeById(shivaniId))
+                .thenReturn(Mono.error(new EmployeeException("Employee not Found", ApplicationConstants.ID)))
+                .thenReturn(Mono.error(new EmployeeException("Employee not Found", ApplicationConstants.ID)));
+
+        assertThrows(EmployeeException.class, () -> employeeByIdCache.getEmployee(shivaniId));
+        employeeByIdCache.onEmployeeCreated(shivani);
+        assertEquals(shivani, employeeByIdCache.getEmployee(shivaniId));
+
+        employeeByIdCache.onEmployeeDeleted(shivaniId);
+        assertThrows(EmployeeException.class, () -> employeeByIdCache.getEmployee(shivaniId));
+        verify(employeeDao, times(2)).findEmployeeById(shivaniId);
+    }
+
+    @Test
+    void testConcurrentLookupsShareOneLoad() {
+        Sinks.One<Employee> load = Sinks.one();
+        when(employeeDao.findEmployeeById(shivaniId)).thenReturn(load.asMono());
+
+        StepVerifier.create(employeeByIdCache.employee(shivaniId).zipWith(employeeByIdCache.employee(shivaniId)))
+                .then(() -> load.tryEmitValue(shivani))
+                .assertNext(pair -> assertSame(pair.getT1(), pair.getT2()))
+                .verifyComplete();
+        verify(employeeDao, times(1)).findEmployeeById(shivaniId);
+    }
+
+    @Test
+    void testHitRatioEvictionsAndLoadLatencyArePublished() throws InterruptedException {
+        // A registry of its own; the cache built in setUp already registered meters under the same name.
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        EmployeeByIdCache tinyCache = new EmployeeByIdCache(employeeDao, registry, 1, TTL, NOT_FOUND_TTL, ticker);
+        Employee aniksha = new Employee(UUID.randomUUID(), "Aniksha Singh", 60000, 28, "Manager", "aniksha.singh@gmail.com");
+        when(employeeDao.findEmployeeById(shivaniId)).thenReturn(Mono.just(shivani));
+        when(employeeDao.findEmployeeById(aniksha.getId().toString())).thenReturn(Mono.just(aniksha));
+
+        tinyCache.getEmployee(shivaniId);
+        tinyCache.getEmployee(shivaniId);
+
+        assertEquals(0.5, registry.get("cache.hit.ratio").tag("cache", EmployeeByIdCache.CACHE_NAME).gauge().value());
+        assertEquals(1, registry.get("cache.gets").tag("result", "hit").functionCounter().count());
+        assertEquals(1, registry.get("cache.load.latency").tag("cache", EmployeeByIdCache.CACHE_NAME).timer().count());
+
+        // A second employee does not fit into a cache of size one; Caffeine evicts asynchronously.
+        tinyCache.getEmployee(aniksha.getId().toString());
+        FunctionCounter evictions = registry.get("cache.evictions").tag("cache", EmployeeByIdCache.CACHE_NAME).functionCounter();
+        for (int attempt = 0; attempt < 100 && evictions.count() < 1; attempt++) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, evictions.count());
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+}
@@ -0,0 +1,259 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.Exception.ApiRateLimitException;
+import com.reliaquest.api.Exception.UpstreamUnavailableException;
+import com.reliaquest.api.constants.ApplicationConstants;
+import com.reliaquest.api.dao.EmployeeDao;
+import com.reliaquest.api.models.Employee;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeRosterCacheTest {
+
+    private static final Duration TTL = Duration.ofSeconds(30);
+    private static final Duration STALE_WHILE_REVALIDATE = Duration.ofMinutes(2);
+
+    @Mock
+    private EmployeeDao employeeDao;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private MutableClock clock;
+    private EmployeeRosterCache rosterCache;
+
+    private List<Employee> firstRoster;
+    private List<Employee> secondRoster;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+        rosterCache = new EmployeeRosterCache(employeeDao, meterRegistry, TTL, STALE_WHILE_REVALIDATE, Integer.MAX_VALUE, clock,
+                Schedulers.immediate());
+
+        Employee shivani = new Employee(UUID.randomUUID(), "Shivani Singh", 50000, 30, "Engineer", "shivani.singh@gmail.com");
+        Employee aniksha = new Employee(UUID.randomUUID(), "Aniksha Singh", 60000, 28, "Manager", "aniksha.singh@gmail.com");
+        firstRoster = List.of(shivani);
+        secondRoster = List.of(shivani, aniksha);
+    }
+
+    @Test
+    void testFreshSnapshotIsServedWithoutUpstreamCall() {
+        when(employeeDao.listAllEmployees()).thenReturn(Mono.just(firstRoster));
+
+        rosterCache.getEmployees();
+        clock.advance(TTL.minusSeconds(1));
+        List<Employee> result = rosterCache.getEmployees();
+
+        assertEquals(firstRoster, result);
+        verify(employeeDao, times(1)).listAllEmployees();
+    }
+
+    @Test
+    void testStaleSnapshotIsServedWhileRefreshRunsInBackground() {
+        Sinks.One<List<Employee>> refresh = Sinks.one();
+        when(employeeDao.listAllEmployees()).thenReturn(Mono.just(firstRoster)).thenReturn(refresh.asMono());
+
+        rosterCache.getEmployees();
+        clock.advance(TTL.plusSeconds(1));
+
+        assertEquals(firstRoster, rosterCache.getEmployees());
+        assertEquals(firstRoster, rosterCache.getEmployees());
+        verify(employeeDao, times(2)).listAllEmployees();
+
+        refresh.tryEmitValue(secondRoster);
+
+        assertEquals(secondRoster, rosterCache.getEmployees());
+        verify(employeeDao, times(2)).listAllEmployees();
+    }
+
+    @Test
+    void testReadsAreCountedAsHitsStaleHitsAndMisses() {
+        Sinks.One<List<Employee>> refresh = Sinks.one();
+        when(employeeDao.listAllEmployees()).thenReturn(Mono.just(firstRoster)).thenReturn(refresh.asMono());
+
+        rosterCache.getEmployees();
+        rosterCache.getEmployees();
+        clock.advance(TTL.plusSeconds(1));
+        rosterCache.getEmployees();
+
+        assertEquals(1, gets("miss"));
+        assertEquals(1, gets("hit"));
+        assertEquals(1, gets("stale"));
+        assertEquals(1, meterRegistry.get("cache.load.latency").tag("cache", "employee.roster").timer().count());
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("cache.gets").tags("cache", "employee.roster", "result", result).counter().count();
+    }
+
+    @Test
+    void testExpiredSnapshotIsReloadedBeforeReturning() {
+        when(employeeDao.listAllEmployees()).thenReturn(Mono.just(firstRoster)).thenReturn(Mono.just(secondRoster));
+
+        rosterCache.getEmployees();
+        clock.advance(TTL.plus(STALE_WHILE_REVALIDATE));
+
+        assertEquals(secondRoster, rosterCache.getEmployees());
+    }
+
+    @Test
+    void testInvalidateForcesReloadOnNextRead() {
+        when(employeeDao.listAllEmployees()).thenReturn(Mono.just(firstRoster)).thenReturn(Mono.just(secondRoster));
+
+        rosterCache.getEmployees();
+        rosterCache.invalidate();
+
+        assertEquals(secondRoster, rosterCache.getEmployees());
+        verify(employeeDao, times(2)).listAllEmployees();
+    }
+
+    @Test
+    void testLoadFailureIsPropagatedAndNotCached() {
+        when(employeeDao.listAllEmployees())
+                .thenReturn(Mono.error(new ApiRateLimitException("Unusual traffic has been detected, please try again later", ApplicationConstants.NA)))
+                .thenReturn(Mono.just(firstRoster));
+
+        assertThrows(ApiRateLimitException.class, rosterCache::getEmployees);
+        assertEquals(firstRoster, rosterCache.getEmployees());
+    }
+
+    @Test
+    void testExpiredSnapshotIsServedWhileTheUpstreamIsUnavailable() {
+        when(employeeDao.listAllEmployees())
+                .thenReturn(Mono.just(firstRoster))
+                .thenReturn(Mono.error(new UpstreamUnavailableException("The employee service is unavailable, please try again later.")));
+
+        rosterCache.getEmployees();
+        clock.advance(TTL.plus(STALE_WHILE_REVALIDATE).plusSeconds(1));
+
+        assertEquals(firstRoster, rosterCache.getEmployees());
+        StepVerifier.create(rosterCache.snapshot().map(RosterSnapshot::getEmployees)).expectNext(firstRoster).verifyComplete();
+        assertEquals(2, gets("fallback"));
+    }
+
+    @Test
+    void testUnavailableUpstreamFailsTheLoadWhenNothingWasLoadedYet() {
+        when(employeeDao.listAllEmployees())
+                .thenReturn(Mono.error(new UpstreamUnavailableException("The employee service is unavailable, please try again later.")));
+
+        assertThrows(UpstreamUnavailableException.class, rosterCache::getEmployees);
+    }
+
+    @Test
+    void testReactiveSnapshotSharesLoadWithBlockingReaders() throws Exception {
+        Sinks.One<List<Employee>> load = Sinks.one();
+        when(employeeDao.listAllEmployees()).thenReturn(load.asMono());
+
+        Mono<RosterSnapshot> reactiveRead = rosterCache.snapshot();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            StepVerifier.create(reactiveRead)
+                    .then(() -> executor.submit(rosterCache::getEmployees))
+                    .then(() -> load.tryEmitValue(firstRoster))
+                    .assertNext(snapshot -> assertEquals(firstRoster, snapshot.getEmployees()))
+                    .verifyComplete();
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(employeeDao, times(1)).listAllEmployees();
+    }
+
+    @Test
+    void testConcurrentColdReadsShareOneUpstreamFetch() throws Exception {
+        int callers = 16;
+        Sinks.One<List<Employee>> load = Sinks.one();
+        when(employeeDao.listAllEmployees()).thenReturn(load.asMono());
+
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<List<Employee>>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(rosterCache::getEmployees));
+            }
+            // Give the callers time to pile up behind the in-flight load.
+            Thread.sleep(100);
+            load.tryEmitValue(firstRoster);
+
+            for (Future<List<Employee>> result : results) {
+                assertEquals(firstRoster, result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(employeeDao, times(1)).listAllEmployees();
+    }
+
+    @Test
+    void testLoadedRosterIsIndexedOffTheThreadThatDeliveredIt() throws Exception {
+        Scheduler storeScheduler = Schedulers.newSingle("roster-store");
+        try {
+            rosterCache = new EmployeeRosterCache(employeeDao, meterRegistry, TTL,
+                    STALE_WHILE_REVALIDATE, Integer.MAX_VALUE, clock, storeScheduler);
+            Sinks.One<List<Employee>> load = Sinks.one();
+            when(employeeDao.listAllEmployees()).thenReturn(load.asMono());
+            // The read completes on the thread that built and stored the snapshot.
+            Future<String> indexedOn = rosterCache.snapshot()
+                    .map(snapshot -> Thread.currentThread().getName())
+                    .toFuture();
+            load.tryEmitValue(firstRoster);
+
+            String thread = indexedOn.get(5, TimeUnit.SECONDS);
+            assertTrue(thread.startsWith("roster-store"), thread);
+            assertEquals(firstRoster, rosterCache.getEmployees());
+        } finally {
+            storeScheduler.dispose();
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.logging.CorrelationId;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WebClientConfigTest {
+
+    private static final String BODY = "{\"status\":\"Successfully processed request.\"}";
+
+    private final WebClientConfig webClientConfig = new WebClientConfig();
+    private final UpstreamClientProperties properties = new UpstreamClientProperties();
+    private final AtomicReference<String> acceptEncoding = new AtomicReference<>();
+    private final AtomicReference<String> correlationId = new AtomicReference<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private HttpServer upstream;
+    private ConnectionProvider connectionProvider;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        upstream = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        upstream.createContext("/gzip", exchange -> {
+            acceptEncoding.set(exchange.getRequestHeaders().getFirst("Accept-Encoding"));
+            correlationId.set(exchange.getRequestHeaders().getFirst(CorrelationId.HEADER));
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream responseBody = new GZIPOutputStream(exchange.getResponseBody())) {
+                responseBody.write(BODY.getBytes(StandardCharsets.UTF_8));
+            }
+        });
+        upstream.createContext("/slow", exchange -> {
+            try {
+                Thread.sleep(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        upstream.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (connectionProvider != null) {
+            connectionProvider.dispose();
+        }
+        upstream.stop(0);
+    }
+
+    @Test
+    void testGzipResponsesAreRequestedAndDecompressed() {
+        WebClient webClient = webClient();
+
+        StepVerifier.create(webClient.get().uri("/gzip").retrieve().bodyToMono(String.class))
+                .expectNext(BODY)
+                .verifyComplete();
+        assertEquals("gzip", acceptEncoding.get());
+    }
+
+    @Test
+    void testSlowUpstreamFailsAfterResponseTimeout() {
+        properties.setResponseTimeout(Duration.ofMillis(100));
+        WebClient webClient = webClient();
+
+        StepVerifier.create(webClient.get().uri("/slow").retrieve().bodyToMono(String.class))
+                .expectError(WebClientRequestException.class)
+                .verify(Duration.ofMillis(900));
+    }
+
+    @Test
+    void testConnectionPoolIsSizedAndPublishesGauges() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Metrics.addRegistry(registry);
+        try {
+            properties.setMaxConnections(7);
+            WebClient webClient = webClient();
+
+            webClient.get().uri("/gzip").retrieve().bodyToMono(String.class).block();
+
+            Gauge maxConnections = registry.find("reactor.netty.connection.provider.max.connections").tag("name", "employee-upstream").gauge();
+            assertNotNull(registry.find("reactor.netty.connection.provider.total.connections").tag("name", "employee-upstream").gauge());
+            assertNotNull(registry.find("reactor.netty.connection.provider.active.connections").tag("name", "employee-upstream").gauge());
+            assertNotNull(registry.find("reactor.netty.connection.provider.idle.connections").tag("name", "employee-upstream").gauge());
+            assertNotNull(registry.find("reactor.netty.connection.provider.pending.connections").tag("name", "employee-upstream").gauge());
+            assertEquals(7, maxConnections.value());
+        } finally {
+            Metrics.removeRegistry(registry);
+        }
+    }
+
+    @Test
+    void testUpstreamRequestsAreTimedByMethodStatusAndOutcome() {
+        WebClient webClient = webClient();
+
+        webClient.get().uri("/gzip").retrieve().bodyToMono(String.class).block();
+        StepVerifier.create(webClient.get().uri("/missing").retrieve().bodyToMono(String.class))
+                .expectError()
+                .verify();
+
+        assertEquals(1, meterRegistry.get(UpstreamRequestMetrics.METRIC_NAME)
+                .tags("method", "GET", "status", "200", "outcome", "SUCCESS").timer().count());
+        assertEquals(1, meterRegistry.get(UpstreamRequestMetrics.METRIC_NAME)
+                .tags("method", "GET", "status", "404", "outcome", "CLIENT_ERROR").timer().count());
+    }
+
+    @Test
+    void testCorrelationIdIsForwardedToTheUpstream() {
+        WebClient webClient = webClient();
+
+        MDC.put(CorrelationId.MDC_KEY, "request-1");
+        try {
+            webClient.get().uri("/gzip").retrieve().bodyToMono(String.class).block();
+        } finally {
+            MDC.remove(CorrelationId.MDC_KEY);
+        }
+
+        assertEquals("request-1", correlationId.get());
+    }
+
+    private WebClient webClient() {
+        connectionProvider = webClientConfig.upstreamConnectionProvider(properties);
+        return webClientConfig.webClient("http://localhost:" + upstream.getAddress().getPort(), connectionProvider, properties,
+                meterRegistry);
+    }
+}
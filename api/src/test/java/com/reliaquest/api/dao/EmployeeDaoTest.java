@@ -1,25 +1,40 @@
 package com.reliaquest.api.dao;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.reliaquest.api.Exception.ApiRateLimitException;
 import com.reliaquest.api.Exception.EmployeeException;
 import com.reliaquest.api.Exception.ExternalApiException;
+import com.reliaquest.api.Exception.UpstreamUnavailableException;
 import com.reliaquest.api.constants.ApplicationConstants;
 import com.reliaquest.api.models.*;
+import com.reliaquest.api.resilience.BulkheadProperties;
+import com.reliaquest.api.resilience.CircuitBreakerProperties;
+import com.reliaquest.api.resilience.RateGovernorProperties;
+import com.reliaquest.api.resilience.UpstreamBulkhead;
+import com.reliaquest.api.resilience.UpstreamCircuitBreakers;
+import com.reliaquest.api.resilience.UpstreamRateGovernor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
 
 
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -38,7 +53,8 @@ class EmployeeDaoTest {
     @Mock
     private WebClient.ResponseSpec responseSpec;
 
-    @InjectMocks
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
     private EmployeeDao employeeDao;
 
     private EmployeeRequest employeeRequest;
@@ -49,6 +65,15 @@ class EmployeeDaoTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        // The mocked responses are fixed, so retrying them would only repeat the same answer.
+        RateGovernorProperties rateLimit = new RateGovernorProperties();
+        rateLimit.setEnabled(false);
+        CircuitBreakerProperties circuitBreaker = new CircuitBreakerProperties();
+        circuitBreaker.setSlidingWindowSize(2);
+        circuitBreaker.setMinimumCalls(2);
+        employeeDao = new EmployeeDao(webClient, new UpstreamRateGovernor(rateLimit),
+                new UpstreamCircuitBreakers(circuitBreaker, meterRegistry),
+                new UpstreamBulkhead(new BulkheadProperties(), meterRegistry), objectMapper, meterRegistry);
 
         // Initialize data
         employeeRequest = new EmployeeRequest("Shivansh Singh", 50000, "Software Engineer", 25);
@@ -88,7 +113,7 @@ class EmployeeDaoTest {
         when(webClient.get()).thenReturn(requestHeadersUriSpec);
         when(requestHeadersUriSpec.uri(anyString())).thenReturn(requestHeadersSpec);
         when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
-        when(responseSpec.bodyToMono(anyParameterizedTypeReference())).thenReturn(Mono.just(apiEmployeeListResponse));
+        when(responseSpec.bodyToFlux(DataBuffer.class)).thenReturn(body(apiEmployeeListResponse));
 
         List<Employee> result = employeeDao.getListOfAllEmployees();
 
@@ -102,7 +127,7 @@ class EmployeeDaoTest {
         when(webClient.get()).thenReturn(requestHeadersUriSpec);
         when(requestHeadersUriSpec.uri(anyString())).thenReturn(requestHeadersSpec);
         when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
-        when(responseSpec.bodyToMono(anyParameterizedTypeReference())).thenReturn(Mono.empty());
+        when(responseSpec.bodyToFlux(DataBuffer.class)).thenReturn(body(new ApiResponse<>("success", null)));
 
         assertThrows(ExternalApiException.class, employeeDao::getListOfAllEmployees);
     }
@@ -226,6 +251,100 @@ class EmployeeDaoTest {
         assertThrows(ExternalApiException.class, () -> employeeDao.getEmployeeById("12345"));
     }
 
+    @Test
+    void testConcurrentReadsOfSameIdShareOneUpstreamCall() {
+        Sinks.One<Object> response = Sinks.one();
+        when(webClient.get()).thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.uri(anyString())).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToMono(anyParameterizedTypeReference())).thenReturn(response.asMono());
+
+        String id = employee.getId().toString();
+        CompletableFuture<Employee> first = employeeDao.findEmployeeById(id).toFuture();
+        CompletableFuture<Employee> second = employeeDao.findEmployeeById(id).toFuture();
+        response.tryEmitValue(apiEmployeeResponse);
+
+        assertSame(first.join(), second.join());
+        verify(webClient, times(1)).get();
+    }
+
+    @Test
+    void testReadsAreNotSharedAcrossUrisOrAfterCompletion() {
+        when(webClient.get()).thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.uri(anyString())).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToMono(anyParameterizedTypeReference())).thenReturn(Mono.just(apiEmployeeResponse));
+
+        employeeDao.getEmployeeById(employee.getId().toString());
+        employeeDao.getEmployeeById(employee.getId().toString());
+        employeeDao.getEmployeeById(UUID.randomUUID().toString());
+
+        verify(webClient, times(3)).get();
+        verify(requestHeadersUriSpec, times(2)).uri("/" + employee.getId());
+    }
+
+    @Test
+    void testRosterStreamIsThrottledLikeOtherReads() {
+        WebClientResponseException tooManyRequestsException = WebClientResponseException.create(
+                HttpStatus.TOO_MANY_REQUESTS.value(), "Too Many Requests", null, null, null);
+        when(webClient.get()).thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.uri(anyString())).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToFlux(DataBuffer.class)).thenReturn(Flux.error(tooManyRequestsException));
+
+        StepVerifier.create(employeeDao.streamAllEmployees()).expectError(ApiRateLimitException.class).verify();
+    }
+
+    @Test
+    void testOperationIsRejectedWithoutCallingTheUpstreamOnceItKeepsFailing() {
+        WebClientResponseException serviceUnavailableException = WebClientResponseException.create(
+                HttpStatus.SERVICE_UNAVAILABLE.value(), "Service Unavailable", null, null, null);
+        when(webClient.get()).thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.uri(anyString())).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToMono(anyParameterizedTypeReference())).thenThrow(serviceUnavailableException);
+
+        assertThrows(ExternalApiException.class, () -> employeeDao.getEmployeeById("12345"));
+        assertThrows(ExternalApiException.class, () -> employeeDao.getEmployeeById("12345"));
+        assertThrows(UpstreamUnavailableException.class, () -> employeeDao.getEmployeeById("12345"));
+
+        verify(webClient, times(2)).get();
+        assertEquals(1, meterRegistry.get(EmployeeDao.CALLS_METRIC)
+                .tags("operation", "get-by-id", "outcome", "REJECTED").timer().count());
+    }
+
+    @Test
+    void testCallsAreTimedByOperationAndOutcome() {
+        WebClientResponseException tooManyRequestsException = WebClientResponseException.create(
+                HttpStatus.TOO_MANY_REQUESTS.value(), "Too Many Requests", null, null, null);
+        when(webClient.get()).thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.uri(anyString())).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToMono(anyParameterizedTypeReference()))
+                .thenReturn(Mono.just(apiEmployeeResponse))
+                .thenThrow(tooManyRequestsException);
+
+        employeeDao.getEmployeeById(employee.getId().toString());
+        assertThrows(ApiRateLimitException.class, () -> employeeDao.getEmployeeById(employee.getId().toString()));
+
+        assertEquals(1, callsTimer("get-by-id", "SUCCESS").count());
+        assertEquals(1, callsTimer("get-by-id", "RATE_LIMITED").count());
+    }
+
+    private io.micrometer.core.instrument.Timer callsTimer(String operation, String outcome) {
+        return meterRegistry.get(EmployeeDao.CALLS_METRIC)
+                .tags("operation", operation, "method", "GET", "outcome", outcome)
+                .timer();
+    }
+
+    private Flux<DataBuffer> body(Object response) {
+        try {
+            return Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(objectMapper.writeValueAsBytes(response)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     // Helper method to handle ParameterizedTypeReference generics
     private <T> ParameterizedTypeReference<T> anyParameterizedTypeReference() {
         return any();
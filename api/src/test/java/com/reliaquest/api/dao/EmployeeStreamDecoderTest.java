@@ -0,0 +1,136 @@
+package com.reliaquest.api.dao;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.models.ApiResponse;
+import com.reliaquest.api.models.Employee;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EmployeeStreamDecoderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Employee shivani = new Employee(UUID.randomUUID(), "Shivani Singh", 50000, 30, "Engineer", "shivani.singh@gmail.com");
+    private final Employee aniksha = new Employee(UUID.randomUUID(), "Aniksha Singh", 60000, 28, "Manager", "aniksha.singh@gmail.com");
+
+    @Test
+    void testDecodesEmployeesSplitAcrossEveryPossibleChunkBoundary() throws Exception {
+        String json = "{\"status\":\"Successfully processed request.\",\"meta\":{\"tags\":[1,{\"a\":[]}]},\"data\":"
+                + objectMapper.writeValueAsString(List.of(shivani, aniksha)) + ",\"trailer\":null}";
+
+        for (int split = 1; split < json.length(); split++) {
+            Flux<DataBuffer> body = Flux.just(json.substring(0, split), json.substring(split)).map(this::buffer);
+            StepVerifier.create(EmployeeStreamDecoder.decode(body, objectMapper))
+                    .expectNext(shivani, aniksha)
+                    .verifyComplete();
+        }
+    }
+
+    @Test
+    void testEmployeeIsEmittedBeforeTheBodyEnds() throws Exception {
+        String json = "{\"data\":" + objectMapper.writeValueAsString(List.of(shivani, aniksha)) + "}";
+        int afterFirst = json.indexOf("},{") + 1;
+        Sinks.Many<DataBuffer> body = Sinks.many().unicast().onBackpressureBuffer();
+
+        StepVerifier.create(EmployeeStreamDecoder.decode(body.asFlux(), objectMapper))
+                .then(() -> body.tryEmitNext(buffer(json.substring(0, afterFirst))))
+                .expectNext(shivani)
+                .then(() -> body.tryEmitNext(buffer(json.substring(afterFirst))))
+                .then(body::tryEmitComplete)
+                .expectNext(aniksha)
+                .verifyComplete();
+    }
+
+    @Test
+    void testEmptyRosterCompletesWithoutEmployees() {
+        StepVerifier.create(EmployeeStreamDecoder.decode(Flux.just(buffer("{\"data\":[]}")), objectMapper))
+                .verifyComplete();
+    }
+
+    @Test
+    void testMissingOrNullDataFails() {
+        for (String json : List.of("{\"data\":null}", "{\"status\":\"ok\"}", "")) {
+            Flux<DataBuffer> body = json.isEmpty() ? Flux.empty() : Flux.just(buffer(json));
+            StepVerifier.create(EmployeeStreamDecoder.decode(body, objectMapper))
+                    .expectError(DecodingException.class)
+                    .verify();
+        }
+    }
+
+    @Test
+    void testTruncatedOrMalformedBodyFails() {
+        StepVerifier.create(EmployeeStreamDecoder.decode(Flux.just(buffer("{\"data\":[{\"id\":")), objectMapper))
+                .expectError(DecodingException.class)
+                .verify();
+        StepVerifier.create(EmployeeStreamDecoder.decode(Flux.just(buffer("{\"data\":[1]}")), objectMapper))
+                .expectError(DecodingException.class)
+                .verify();
+    }
+
+    @Test
+    void testLargeRosterInSmallChunks() throws Exception {
+        List<Employee> roster = IntStream.range(0, 2000)
+                .mapToObj(i -> new Employee(UUID.randomUUID(), "Employee " + i, 30000 + i, 30, "Engineer", "e" + i + "@company.com"))
+                .toList();
+        byte[] json = objectMapper.writeValueAsBytes(Map.of("data", roster));
+        Flux<DataBuffer> body = Flux.range(0, (json.length + 511) / 512)
+                .map(chunk -> DefaultDataBufferFactory.sharedInstance.wrap(
+                        Arrays.copyOfRange(json, chunk * 512, Math.min(json.length, (chunk + 1) * 512))));
+
+        assertEquals(roster, EmployeeStreamDecoder.decode(body, objectMapper).collectList().block());
+    }
+
+    @Test
+    void testRosterLargerThanTheCodecLimitDecodesOverHttp() throws Exception {
+        List<Employee> roster = IntStream.range(0, 5000)
+                .mapToObj(i -> new Employee(UUID.randomUUID(), "Employee " + i, 30000 + i, 30, "Engineer", "e" + i + "@company.com"))
+                .toList();
+        byte[] json = objectMapper.writeValueAsBytes(Map.of("data", roster));
+        HttpServer upstream = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        upstream.createContext("/", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream responseBody = exchange.getResponseBody()) {
+                responseBody.write(json);
+            }
+        });
+        upstream.start();
+        try {
+            WebClient webClient = WebClient.create("http://localhost:" + upstream.getAddress().getPort());
+            assertTrue(json.length > 256 * 1024, "the roster should exceed the default in-memory limit");
+
+            StepVerifier.create(webClient.get().retrieve().bodyToMono(new ParameterizedTypeReference<ApiResponse<List<Employee>>>() {}))
+                    .expectErrorMatches(e -> e.getCause() instanceof DataBufferLimitException)
+                    .verify();
+            Flux<DataBuffer> body = webClient.get().retrieve().bodyToFlux(DataBuffer.class);
+            assertEquals(roster, EmployeeStreamDecoder.decode(body, objectMapper).collectList().block());
+        } finally {
+            upstream.stop(0);
+        }
+    }
+
+    private DataBuffer buffer(String json) {
+        return DefaultDataBufferFactory.sharedInstance.wrap(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,41 @@
+package com.reliaquest.api.index;
+
+import com.reliaquest.api.models.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeSlotsTest {
+
+    @Test
+    void testSlotsKeepTheirPositionAcrossAppendsAndRemovals() {
+        List<Employee> roster = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            roster.add(employee("Employee " + i));
+        }
+        EmployeeSlots slots = EmployeeSlots.of(roster.subList(0, 1500));
+        for (Employee employee : roster.subList(1500, 3000)) {
+            slots = slots.withAppended(employee);
+        }
+
+        EmployeeSlots cleared = slots.withCleared(1024).withCleared(0);
+
+        assertEquals(3000, cleared.slotCount());
+        assertEquals(2998, cleared.size());
+        assertNull(cleared.get(1024));
+        assertEquals(roster.get(2999), cleared.get(2999));
+        List<Employee> expected = new ArrayList<>(roster);
+        expected.remove(1024);
+        expected.remove(0);
+        assertEquals(expected, cleared.employees());
+        assertEquals(roster, slots.employees(), "The original slots must not change");
+    }
+
+    private static Employee employee(String name) {
+        return new Employee(UUID.randomUUID(), name, 50000, 30, "Engineer", "employee@company.com");
+    }
+}
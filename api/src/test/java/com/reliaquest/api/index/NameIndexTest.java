@@ -0,0 +1,162 @@
+package com.reliaquest.api.index;
+
+import com.reliaquest.api.models.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NameIndexTest {
+
+    private final Employee shivani = employee("Shivani Singh");
+    private final Employee aniksha = employee("Aniksha Singh");
+    private final Employee rajesh = employee("Rajesh Kumar");
+
+    @Test
+    void testSearchIsCaseInsensitiveAndKeepsRosterOrder() {
+        NameIndex index = NameIndex.build(List.of(shivani, rajesh, aniksha));
+
+        assertEquals(List.of(shivani, aniksha), index.search("SINGH"));
+        assertEquals(List.of(rajesh), index.search("esh ku"));
+    }
+
+    @Test
+    void testSearchRequiresContiguousMatch() {
+        NameIndex index = NameIndex.build(List.of(shivani, aniksha));
+
+        // Every trigram of "singhani" appears in "Shivani Singh", but not as one substring.
+        assertTrue(index.search("singhani").isEmpty());
+        assertTrue(index.search("xyz").isEmpty());
+    }
+
+    @Test
+    void testShortQueriesFallBackToScan() {
+        NameIndex index = NameIndex.build(List.of(shivani, rajesh, aniksha));
+
+        assertEquals(List.of(shivani, aniksha), index.search("ni"));
+        assertEquals(List.of(shivani, rajesh, aniksha), index.search("h"));
+    }
+
+    @Test
+    void testWithAddedAndWithRemovedAreReflectedInSearch() {
+        NameIndex index = NameIndex.build(List.of(shivani, rajesh));
+        Employee shivansh = employee("Shivansh Singh");
+
+        NameIndex updated = index.withAdded(shivansh).withRemoved(shivani);
+
+        assertEquals(List.of(shivansh), updated.search("shiva"));
+        assertEquals(List.of(shivansh), updated.search("sh s"));
+        assertEquals(List.of(shivani), index.search("shiva"), "The original index must not change");
+    }
+
+    @Test
+    void testShortQueriesNeverMatchAcrossNeighbouringNames() {
+        Employee ann = employee("Ann");
+        Employee abe = employee("Abe");
+        NameIndex index = NameIndex.build(List.of(ann, abe));
+
+        assertTrue(index.search("na").isEmpty());
+        assertEquals(List.of(abe), index.search("ab"));
+        assertEquals(List.of(ann, abe), index.search("a"));
+    }
+
+    @Test
+    void testEmployeesWithoutNameNeverMatch() {
+        Employee unnamed = employee(null);
+        NameIndex index = NameIndex.build(List.of(unnamed, rajesh)).withAdded(employee(null)).withAdded(shivani);
+
+        assertEquals(List.of(rajesh, shivani), index.search(""));
+        assertEquals(List.of(shivani), index.search("shivani"));
+    }
+
+    @Test
+    void testSearchMatchesLinearContainsScan() {
+        Random random = new Random(7);
+        String alphabet = "abcdeAB ";
+        List<Employee> roster = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            roster.add(employee(randomString(random, alphabet, 4 + random.nextInt(8))));
+        }
+        NameIndex index = NameIndex.build(roster.subList(0, 200));
+        for (Employee employee : roster.subList(200, 300)) {
+            index = index.withAdded(employee);
+        }
+
+        for (int i = 0; i < 200; i++) {
+            String query = randomString(random, alphabet, 1 + random.nextInt(5));
+            List<Employee> expected = roster.stream()
+                    .filter(employee -> employee.getName().toLowerCase().contains(query.toLowerCase()))
+                    .collect(Collectors.toList());
+            assertEquals(expected, index.search(query), "query: '" + query + "'");
+        }
+    }
+
+    @Test
+    void testParallelSearchMatchesSequentialSearch() {
+        Random random = new Random(13);
+        String alphabet = "abAB ";
+        List<Employee> roster = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            roster.add(employee(randomString(random, alphabet, 4 + random.nextInt(8))));
+        }
+        NameIndex sequential = NameIndex.build(roster);
+        NameIndex parallel = NameIndex.build(roster, 1).withRemoved(roster.get(0));
+
+        for (String query : List.of("a", "b ", "aba", "bab a", "zzz")) {
+            List<Employee> expected = new ArrayList<>(sequential.search(query));
+            expected.remove(roster.get(0));
+            assertEquals(expected, parallel.search(query), "query: '" + query + "'");
+        }
+    }
+
+    @Test
+    void testAddsToEarlierVersionsDoNotLeakIntoEachOther() {
+        NameIndex index = NameIndex.build(List.of(shivani)).withAdded(rajesh);
+        Employee shivansh = employee("Shivansh Singh");
+        Employee rajeshwari = employee("Rajeshwari Singh");
+
+        NameIndex withShivansh = index.withAdded(shivansh);
+        NameIndex withRajeshwari = index.withAdded(rajeshwari);
+
+        assertEquals(List.of(shivani, shivansh), withShivansh.search("shiv"));
+        assertEquals(List.of(rajesh), withShivansh.search("rajesh"));
+        assertEquals(List.of(shivani), withRajeshwari.search("shiv"));
+        assertEquals(List.of(rajesh, rajeshwari), withRajeshwari.search("rajesh"));
+        assertEquals(List.of(shivani), index.search("singh"), "The original index must not change");
+    }
+
+    @Test
+    void testSearchSpansChunksOfSlots() {
+        List<Employee> roster = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            roster.add(employee("Employee " + i));
+        }
+        NameIndex index = NameIndex.build(roster.subList(0, 1000));
+        for (Employee employee : roster.subList(1000, 2500)) {
+            index = index.withAdded(employee);
+        }
+        index = index.withRemoved(roster.get(1024));
+
+        assertEquals(List.of(roster.get(1023)), index.search("e 1023"));
+        assertEquals(List.of(roster.get(2024)), index.search("024"));
+        assertEquals(2499, index.search("e ").size());
+        assertEquals(List.of(roster.get(2499)), index.search("2499"));
+    }
+
+    private static String randomString(Random random, String alphabet, int length) {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return builder.toString();
+    }
+
+    private static Employee employee(String name) {
+        return new Employee(UUID.randomUUID(), name, 50000, 30, "Engineer", "employee@company.com");
+    }
+}
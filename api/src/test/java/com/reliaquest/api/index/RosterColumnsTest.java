@@ -0,0 +1,148 @@
+package com.reliaquest.api.index;
+
+import com.reliaquest.api.models.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RosterColumnsTest {
+
+    @Test
+    void testColumnsHoldEveryFieldInRosterOrder() {
+        Employee alpha = new Employee(UUID.randomUUID(), "Alpha", 60000, 31, "Engineer", "alpha@company.com");
+        Employee bravo = new Employee(UUID.randomUUID(), "Bravo", 50000, 45, "Manager", "bravo@company.com");
+
+        RosterColumns columns = RosterColumns.of(List.of(alpha, bravo));
+
+        assertEquals(2, columns.size());
+        assertEquals(60000, columns.salary(0));
+        assertEquals(45, columns.age(1));
+        assertEquals("Engineer", columns.title(0));
+        assertEquals("Manager", columns.title(1));
+    }
+
+    @Test
+    void testMissingValuesAreKeptApart() {
+        Employee blank = new Employee(null, null, null, null, null, null);
+
+        RosterColumns columns = RosterColumns.of(List.of(blank));
+
+        assertEquals(RosterColumns.MISSING, columns.salary(0));
+        assertEquals(RosterColumns.MISSING, columns.age(0));
+        assertNull(columns.title(0));
+        assertEquals(-1, columns.rowOf(new UUID(0, 0).toString()));
+    }
+
+    @Test
+    void testRowOfFindsEveryIdIgnoringCase() {
+        Random random = new Random(3);
+        List<Employee> roster = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            roster.add(new Employee(new UUID(random.nextLong(), random.nextLong()), "Employee " + i, i, 30, null,
+                    null));
+        }
+
+        RosterColumns columns = RosterColumns.of(roster);
+
+        for (int row = 0; row < roster.size(); row++) {
+            String id = roster.get(row).getId().toString();
+            assertEquals(row, columns.rowOf(id));
+            assertEquals(row, columns.rowOf(id.toUpperCase(Locale.ROOT)));
+        }
+        assertEquals(-1, columns.rowOf(UUID.randomUUID().toString()));
+    }
+
+    @Test
+    void testRowOfRejectsNonCanonicalIds() {
+        UUID id = UUID.fromString("00000001-0002-0003-0004-000000000005");
+        RosterColumns columns = RosterColumns.of(List.of(new Employee(id, "Alpha", 1, 30, null, null)));
+
+        assertEquals(0, columns.rowOf(id.toString()));
+        assertEquals(-1, columns.rowOf("1-2-3-4-5"));
+        assertEquals(-1, columns.rowOf("00000001x0002-0003-0004-000000000005"));
+        assertEquals(-1, columns.rowOf("0000000g-0002-0003-0004-000000000005"));
+        assertEquals(-1, columns.rowOf(null));
+    }
+
+    @Test
+    void testRowOfReturnsFirstRowWhenIdsRepeat() {
+        UUID id = UUID.randomUUID();
+        RosterColumns columns = RosterColumns.of(List.of(
+                new Employee(id, "Alpha", 1, 30, null, null),
+                new Employee(id, "Bravo", 2, 30, null, null)));
+
+        assertEquals(0, columns.rowOf(id.toString()));
+    }
+
+    @Test
+    void testWithAppendedAddsRowAndLeavesOriginalUnchanged() {
+        Employee alpha = new Employee(UUID.randomUUID(), "Alpha", 60000, 31, "Engineer", null);
+        Employee bravo = new Employee(UUID.randomUUID(), "Bravo", 50000, 45, "Director", null);
+        RosterColumns columns = RosterColumns.of(List.of(alpha));
+
+        RosterColumns appended = columns.withAppended(bravo);
+
+        assertEquals(2, appended.size());
+        assertEquals(1, appended.rowOf(bravo.getId().toString()));
+        assertEquals(0, appended.rowOf(alpha.getId().toString()));
+        assertEquals(50000, appended.salary(1));
+        assertEquals("Director", appended.title(1));
+        assertEquals("Engineer", appended.withAppended(alpha).title(2));
+        assertEquals(1, columns.size());
+        assertEquals(-1, columns.rowOf(bravo.getId().toString()), "The original columns must not change");
+    }
+
+    @Test
+    void testWithRemovedHidesRowAndLeavesOriginalUnchanged() {
+        Employee alpha = new Employee(UUID.randomUUID(), "Alpha", 60000, 31, "Engineer", null);
+        Employee bravo = new Employee(UUID.randomUUID(), "Bravo", 50000, 45, "Director", null);
+        RosterColumns columns = RosterColumns.of(List.of(alpha, bravo));
+
+        RosterColumns removed = columns.withRemoved(0);
+
+        assertTrue(removed.isRemoved(0));
+        assertEquals(-1, removed.rowOf(alpha.getId().toString()));
+        assertEquals(1, removed.rowOf(bravo.getId().toString()));
+        assertEquals(2, removed.withAppended(alpha).rowOf(alpha.getId().toString()), "A re-added id is found again");
+        assertFalse(columns.isRemoved(0));
+        assertEquals(0, columns.rowOf(alpha.getId().toString()), "The original columns must not change");
+    }
+
+    @Test
+    void testAppendsToEarlierVersionsDoNotLeakIntoEachOther() {
+        Random random = new Random(5);
+        List<Employee> roster = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            roster.add(new Employee(new UUID(random.nextLong(), random.nextLong()), "Employee " + i, i, 30, null,
+                    null));
+        }
+        Employee alpha = new Employee(UUID.randomUUID(), "Alpha", 60000, 31, "Engineer", null);
+        Employee bravo = new Employee(UUID.randomUUID(), "Bravo", 50000, 45, "Director", null);
+        RosterColumns base = RosterColumns.of(roster.subList(0, 50));
+        for (Employee employee : roster.subList(50, 100)) {
+            base = base.withAppended(employee);
+        }
+
+        // Both are appended to the same version; the second can't use the room the first already wrote into.
+        RosterColumns withAlpha = base.withAppended(alpha);
+        RosterColumns withBravo = base.withAppended(bravo);
+
+        assertEquals(100, withAlpha.rowOf(alpha.getId().toString()));
+        assertEquals(-1, withAlpha.rowOf(bravo.getId().toString()));
+        assertEquals(100, withBravo.rowOf(bravo.getId().toString()));
+        assertEquals(-1, withBravo.rowOf(alpha.getId().toString()));
+        assertEquals(60000, withAlpha.salary(100));
+        assertEquals(50000, withBravo.salary(100));
+        assertEquals(-1, base.rowOf(alpha.getId().toString()));
+        for (int row = 0; row < roster.size(); row++) {
+            assertEquals(row, withAlpha.rowOf(roster.get(row).getId().toString()));
+            assertEquals(row, withBravo.rowOf(roster.get(row).getId().toString()));
+        }
+    }
+}
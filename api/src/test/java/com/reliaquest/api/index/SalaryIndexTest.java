@@ -0,0 +1,133 @@
+package com.reliaquest.api.index;
+
+import com.reliaquest.api.models.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SalaryIndexTest {
+
+    private static final int CAPACITY = 3;
+
+    @Test
+    void testBuildKeepsHighestSalariesInDescendingOrder() {
+        List<Employee> roster = List.of(
+                employee("Alpha", 40000),
+                employee("Bravo", 90000),
+                employee("Charlie", 10000),
+                employee("Delta", 70000),
+                employee("Echo", 80000));
+
+        SalaryIndex index = SalaryIndex.build(roster, CAPACITY);
+
+        assertEquals(90000, index.getHighestSalary().orElseThrow());
+        assertEquals(List.of("Bravo", "Echo", "Delta"), index.getTopEarnerNames(CAPACITY));
+    }
+
+    @Test
+    void testBuildBreaksSalaryTiesByRosterOrder() {
+        List<Employee> roster = List.of(
+                employee("Alpha", 50000),
+                employee("Bravo", 50000),
+                employee("Charlie", 50000),
+                employee("Delta", 50000));
+
+        SalaryIndex index = SalaryIndex.build(roster, CAPACITY);
+
+        assertEquals(List.of("Alpha", "Bravo", "Charlie"), index.getTopEarnerNames(CAPACITY));
+    }
+
+    @Test
+    void testEmptyRosterHasNoHighestSalary() {
+        SalaryIndex index = SalaryIndex.build(List.of(), CAPACITY);
+
+        assertTrue(index.getHighestSalary().isEmpty());
+        assertTrue(index.getTopEarnerNames(CAPACITY).isEmpty());
+    }
+
+    @Test
+    void testWithAddedPlacesNewEmployeeAfterExistingTies() {
+        SalaryIndex index = SalaryIndex.build(List.of(employee("Alpha", 60000), employee("Bravo", 50000)), CAPACITY);
+
+        SalaryIndex updated = index
+                .withAdded(employee("Charlie", 60000))
+                .withAdded(employee("Delta", 70000));
+
+        assertEquals(70000, updated.getHighestSalary().orElseThrow());
+        assertEquals(List.of("Delta", "Alpha", "Charlie"), updated.getTopEarnerNames(CAPACITY));
+    }
+
+    @Test
+    void testWithRemovedOutsideTopEarnersKeepsIndex() {
+        Employee lowEarner = employee("Charlie", 10000);
+        List<Employee> roster = List.of(employee("Alpha", 90000), employee("Bravo", 80000), employee("Delta", 70000), lowEarner);
+        SalaryIndex index = SalaryIndex.build(roster, CAPACITY);
+
+        assertSame(index, index.withRemoved(lowEarner, roster.subList(0, 3)));
+    }
+
+    @Test
+    void testWithRemovedTopEarnerPromotesNextHighest() {
+        Employee topEarner = employee("Alpha", 90000);
+        List<Employee> remaining = List.of(employee("Bravo", 80000), employee("Charlie", 10000), employee("Delta", 70000), employee("Echo", 60000));
+        List<Employee> roster = new ArrayList<>(remaining);
+        roster.add(0, topEarner);
+
+        SalaryIndex updated = SalaryIndex.build(roster, CAPACITY).withRemoved(topEarner, remaining);
+
+        assertEquals(80000, updated.getHighestSalary().orElseThrow());
+        assertEquals(List.of("Bravo", "Delta", "Echo"), updated.getTopEarnerNames(CAPACITY));
+    }
+
+    @Test
+    void testIncrementalAdditionsMatchFullSort() {
+        Random random = new Random(42);
+        List<Employee> roster = new ArrayList<>();
+        SalaryIndex index = SalaryIndex.build(roster, 10);
+        for (int i = 0; i < 500; i++) {
+            Employee employee = employee("Employee " + i, 1000 * random.nextInt(50));
+            roster.add(employee);
+            index = index.withAdded(employee);
+        }
+
+        List<String> expected = roster.stream()
+                .sorted(Comparator.comparing(Employee::getSalary).reversed())
+                .limit(10)
+                .map(Employee::getName)
+                .collect(Collectors.toList());
+        assertEquals(expected, index.getTopEarnerNames(10));
+        assertEquals(expected, SalaryIndex.build(roster, 10).getTopEarnerNames(10));
+    }
+
+    @Test
+    void testParallelBuildMatchesSequentialBuildIncludingTies() {
+        // Few distinct salaries, so the top ten is decided by roster order among many ties.
+        Random random = new Random(11);
+        List<Employee> roster = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            roster.add(employee("Employee " + i, 1000 * random.nextInt(5)));
+        }
+        List<String> sequential = SalaryIndex.build(roster, 10).getTopEarnerNames(10);
+
+        for (int run = 0; run < 5; run++) {
+            assertEquals(sequential, SalaryIndex.build(roster, 10, 1).getTopEarnerNames(10));
+        }
+        List<String> stableSort = roster.stream()
+                .sorted(Comparator.comparing(Employee::getSalary).reversed())
+                .limit(10)
+                .map(Employee::getName)
+                .collect(Collectors.toList());
+        assertEquals(stableSort, sequential);
+    }
+
+    private static Employee employee(String name, int salary) {
+        return new Employee(UUID.randomUUID(), name, salary, 30, "Engineer", name.toLowerCase() + "@company.com");
+    }
+}
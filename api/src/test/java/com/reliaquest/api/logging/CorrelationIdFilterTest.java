@@ -0,0 +1,82 @@
+package com.reliaquest.api.logging;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class CorrelationIdFilterTest {
+
+    @Mock
+    private RequestLogSampler requestLogSampler;
+
+    private final AtomicReference<String> correlationIdSeenByHandler = new AtomicReference<>();
+
+    @Test
+    void testRequestedIdIsUsedForLoggingAndEchoed() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/employee");
+        request.addHeader(CorrelationId.HEADER, "request-1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new CorrelationIdFilter(requestLogSampler).doFilter(request, response, chain(201));
+
+        assertEquals("request-1", correlationIdSeenByHandler.get());
+        assertEquals("request-1", response.getHeader(CorrelationId.HEADER));
+        assertNull(MDC.get(CorrelationId.MDC_KEY));
+        verify(requestLogSampler).log(eq("GET"), eq("/api/v1/employee"), eq(201), anyLong());
+    }
+
+    @Test
+    void testRequestWithoutIdGetsAFreshOne() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new CorrelationIdFilter(requestLogSampler).doFilter(new MockHttpServletRequest("GET", "/"), response, chain(200));
+
+        assertNotNull(correlationIdSeenByHandler.get());
+        assertEquals(correlationIdSeenByHandler.get(), response.getHeader(CorrelationId.HEADER));
+    }
+
+    @Test
+    void testEscapingExceptionIsLoggedAsServerError() {
+        MockHttpServletRequest request = new MockHttpServletRequest("DELETE", "/api/v1/employee/1");
+        MockFilterChain failingChain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                throw new IllegalStateException("boom");
+            }
+        });
+
+        assertThrows(IllegalStateException.class, () -> new CorrelationIdFilter(requestLogSampler)
+                .doFilter(request, new MockHttpServletResponse(), failingChain));
+
+        assertNull(MDC.get(CorrelationId.MDC_KEY));
+        verify(requestLogSampler).log(eq("DELETE"), eq("/api/v1/employee/1"), eq(500), anyLong());
+    }
+
+    private MockFilterChain chain(int status) {
+        return new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
+                correlationIdSeenByHandler.set(MDC.get(CorrelationId.MDC_KEY));
+                resp.setStatus(status);
+            }
+        });
+    }
+}
@@ -0,0 +1,48 @@
+package com.reliaquest.api.logging;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import reactor.core.publisher.Hooks;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CorrelationIdTest {
+
+    @AfterEach
+    void tearDown() {
+        Hooks.disableAutomaticContextPropagation();
+        MDC.clear();
+    }
+
+    @Test
+    void testRequestedIdIsKeptWhenSafe() {
+        assertEquals("checkout-42_a.b", CorrelationId.resolve("checkout-42_a.b"));
+    }
+
+    @Test
+    void testMissingOrUnsafeIdIsReplacedWithAFreshOne() {
+        assertDoesNotThrow(() -> UUID.fromString(CorrelationId.resolve(null)));
+        assertDoesNotThrow(() -> UUID.fromString(CorrelationId.resolve("")));
+        assertDoesNotThrow(() -> UUID.fromString(CorrelationId.resolve("forged\nINFO line")));
+        assertDoesNotThrow(() -> UUID.fromString(CorrelationId.resolve("x".repeat(CorrelationId.MAX_LENGTH + 1))));
+    }
+
+    @Test
+    void testIdFollowsAReactivePipelineOntoOtherThreads() {
+        CorrelationId.registerForContextPropagation();
+        Hooks.enableAutomaticContextPropagation();
+        MDC.put(CorrelationId.MDC_KEY, "request-1");
+
+        String seen = Mono.just(1)
+                .publishOn(Schedulers.boundedElastic())
+                .map(ignored -> MDC.get(CorrelationId.MDC_KEY))
+                .block();
+
+        assertEquals("request-1", seen);
+    }
+}
@@ -0,0 +1,38 @@
+package com.reliaquest.api.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestLogSamplerTest {
+
+    private static final long FAST = Duration.ofMillis(5).toNanos();
+
+    @Test
+    void testServerErrorsAndSlowRequestsAreAlwaysLogged() {
+        RequestLogSampler sampler = new RequestLogSampler(0, Duration.ofSeconds(1));
+
+        assertTrue(sampler.shouldLog(500, FAST));
+        assertTrue(sampler.shouldLog(503, FAST));
+        assertTrue(sampler.shouldLog(200, Duration.ofSeconds(2).toNanos()));
+    }
+
+    @Test
+    void testOtherRequestsAreLoggedAtTheSampleRate() {
+        RequestLogSampler never = new RequestLogSampler(0, Duration.ofSeconds(1));
+        RequestLogSampler always = new RequestLogSampler(1, Duration.ofSeconds(1));
+        RequestLogSampler tenth = new RequestLogSampler(0.1, Duration.ofSeconds(1));
+
+        int sampled = 0;
+        for (int i = 0; i < 10_000; i++) {
+            assertFalse(never.shouldLog(200, FAST));
+            assertTrue(always.shouldLog(404, FAST));
+            if (tenth.shouldLog(200, FAST)) {
+                sampled++;
+            }
+        }
+        assertTrue(sampled > 800 && sampled < 1200, "sampled " + sampled + " of 10000");
+    }
+}
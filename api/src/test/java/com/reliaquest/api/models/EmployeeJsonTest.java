@@ -0,0 +1,117 @@
+package com.reliaquest.api.models;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeJsonTest {
+
+    private static final UUID ID = UUID.fromString("4a3a170b-22cd-4ac2-aad1-9bb5b34a1507");
+    private static final String JSON = """
+            {"id":"4a3a170b-22cd-4ac2-aad1-9bb5b34a1507","employee_name":"Shivani Singh","employee_salary":50000,\
+            "employee_age":30,"employee_title":"Engineer","employee_email":"shivani@company.com"}""";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testWireFormatIsUnchanged() throws Exception {
+        Employee employee = objectMapper.readValue(JSON, Employee.class);
+
+        assertEquals(new Employee(ID, "Shivani Singh", 50000, 30, "Engineer", "shivani@company.com"), employee);
+        assertEquals(JSON, objectMapper.writeValueAsString(employee));
+    }
+
+    @Test
+    void testCompanyEmailsAreWrittenAlikeAsBytesAndChars() throws Exception {
+        List<Employee> roster = List.of(
+                new Employee(ID, "Shivani Singh", 50000, 30, "Engineer", "shivani@company.com"),
+                new Employee(null, null, null, null, null, "a.rather.long.local.part.for.the.buffer@company.com"),
+                new Employee(null, null, null, null, null, "quote\"back\\slash@company.com"));
+
+        String chars = objectMapper.writeValueAsString(roster);
+
+        assertEquals(chars, new String(objectMapper.writeValueAsBytes(roster), StandardCharsets.UTF_8));
+        assertEquals(roster, List.of(objectMapper.readValue(chars, Employee[].class)));
+    }
+
+    @Test
+    void testTitlesAreSharedBetweenEmployees() throws Exception {
+        Employee first = objectMapper.readValue(JSON, Employee.class);
+        Employee second = objectMapper.readValue(JSON, Employee.class);
+
+        assertSame(first.getTitle(), second.getTitle());
+        assertSame(first.getTitle(), new Employee(ID, null, null, null, new String("Engineer"), null).getTitle());
+    }
+
+    @Test
+    void testEmailsOutsideCompanyDomainAreKeptAsTheyAre() throws Exception {
+        for (String email : new String[] {"shivani@example.com", "élise@company.com", "@company.com", "company.com"}) {
+            String json = "{\"employee_email\":\"" + email + "\"}";
+
+            Employee employee = objectMapper.readValue(json, Employee.class);
+
+            assertEquals(email, employee.getEmail());
+            assertEquals(new Employee(null, null, null, null, null, email), employee);
+            assertTrue(objectMapper.writeValueAsString(employee).endsWith("\"employee_email\":\"" + email + "\"}"));
+        }
+    }
+
+    @Test
+    void testMissingAndNullFieldsReadAsNull() throws Exception {
+        String json = """
+                {"id":null,"employee_name":null,"employee_salary":null,"employee_title":null}""";
+
+        Employee employee = objectMapper.readValue(json, Employee.class);
+
+        assertNull(employee.getId());
+        assertNull(employee.getName());
+        assertNull(employee.getSalary());
+        assertNull(employee.getAge());
+        assertNull(employee.getTitle());
+        assertNull(employee.getEmail());
+        assertEquals(new Employee(null, null, null, null, null, null), employee);
+        assertEquals("""
+                {"id":null,"employee_name":null,"employee_salary":null,"employee_age":null,"employee_title":null,\
+                "employee_email":null}""", objectMapper.writeValueAsString(employee));
+    }
+
+    @Test
+    void testNumbersAreCoercedAsBefore() throws Exception {
+        Employee employee = objectMapper.readValue("{\"employee_salary\":\"50000\",\"employee_age\":30}",
+                Employee.class);
+
+        assertEquals(50000, employee.getSalary());
+        assertEquals(30, employee.getAge());
+        assertThrows(InvalidFormatException.class,
+                () -> objectMapper.readValue("{\"employee_salary\":\"lots\"}", Employee.class));
+        assertThrows(InvalidFormatException.class, () -> objectMapper.readValue("{\"id\":\"nope\"}", Employee.class));
+    }
+
+    @Test
+    void testIdsWithNonAsciiDigitsAreRejected() {
+        // Fullwidth digits, which Character.digit accepts but Jackson's UUID deserializer doesn't.
+        String id = ID.toString().replace('1', '\uFF11');
+
+        assertThrows(InvalidFormatException.class,
+                () -> objectMapper.readValue("{\"id\":\"" + id + "\"}", Employee.class));
+    }
+
+    @Test
+    void testUnknownFieldsFollowMapperConfiguration() throws Exception {
+        String json = "{\"employee_name\":\"Shivani Singh\",\"employee_team\":{\"name\":\"Core\"}}";
+
+        assertThrows(UnrecognizedPropertyException.class, () -> objectMapper.readValue(json, Employee.class));
+        Employee employee = objectMapper.copy()
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .readValue(json, Employee.class);
+        assertEquals("Shivani Singh", employee.getName());
+    }
+}
@@ -0,0 +1,36 @@
+package com.reliaquest.api.models;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TitleDictionaryTest {
+
+    @Test
+    void testLookupsByStringAndByCharsShareOneEntry() {
+        TitleDictionary dictionary = new TitleDictionary(4);
+        char[] buffer = "xxEngineerxx".toCharArray();
+
+        String fromChars = dictionary.intern(buffer, 2, 8);
+
+        assertEquals("Engineer", fromChars);
+        assertSame(fromChars, dictionary.intern(new String("Engineer")));
+        assertSame(fromChars, dictionary.intern(buffer, 2, 8));
+        assertEquals(1, dictionary.size());
+    }
+
+    @Test
+    void testStopsGrowingAtItsBound() {
+        TitleDictionary dictionary = new TitleDictionary(2);
+        String engineer = dictionary.intern("Engineer");
+        String manager = dictionary.intern("Manager");
+
+        String director = new String("Director");
+
+        assertSame(director, dictionary.intern(director));
+        assertNotSame(director, dictionary.intern(new String("Director")));
+        assertSame(engineer, dictionary.intern(new String("Engineer")));
+        assertSame(manager, dictionary.intern(new String("Manager")));
+        assertEquals(2, dictionary.size());
+    }
+}
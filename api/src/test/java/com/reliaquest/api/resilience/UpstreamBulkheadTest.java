@@ -0,0 +1,107 @@
+package com.reliaquest.api.resilience;
+
+import com.reliaquest.api.Exception.UpstreamUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UpstreamBulkheadTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private UpstreamBulkhead bulkhead;
+
+    @BeforeEach
+    void setUp() {
+        BulkheadProperties properties = new BulkheadProperties();
+        properties.setMaxConcurrentCalls(2);
+        properties.setMaxQueuedCalls(2);
+        properties.setMaxWait(Duration.ofMillis(200));
+        meterRegistry = new SimpleMeterRegistry();
+        bulkhead = new UpstreamBulkhead(properties, meterRegistry);
+    }
+
+    @Test
+    void testCallsOverTheCapWaitForASlotInArrivalOrder() {
+        Sinks.One<String> first = Sinks.one();
+        Sinks.Many<String> second = Sinks.many().unicast().onBackpressureBuffer();
+        bulkhead.limit(first.asMono()).subscribe();
+        bulkhead.limit(second.asFlux()).subscribe();
+        AtomicInteger subscribed = new AtomicInteger();
+        StringBuilder order = new StringBuilder();
+        bulkhead.limit(Mono.fromCallable(() -> order.append("third"))).subscribe();
+        bulkhead.limit(Flux.defer(() -> {
+            subscribed.incrementAndGet();
+            return Flux.just(order.append(", fourth"));
+        })).subscribe();
+
+        assertEquals(2, inFlight());
+        assertEquals(2, queued());
+        assertEquals(0, subscribed.get());
+
+        first.tryEmitValue("ok");
+        second.tryEmitComplete();
+
+        assertEquals("third, fourth", order.toString());
+        assertEquals(1, subscribed.get());
+        assertEquals(0, inFlight());
+        assertEquals(0, queued());
+    }
+
+    @Test
+    void testCallsFailStraightAwayOnceTheQueueIsFull() {
+        bulkhead.limit(Mono.never()).subscribe();
+        bulkhead.limit(Mono.never()).subscribe();
+        bulkhead.limit(Mono.never()).subscribe();
+        bulkhead.limit(Mono.never()).subscribe();
+
+        StepVerifier.create(bulkhead.limit(Mono.just("ok"))).expectError(UpstreamUnavailableException.class).verify(Duration.ofMillis(50));
+        StepVerifier.create(bulkhead.limit(Flux.just("ok"))).expectError(UpstreamUnavailableException.class).verify(Duration.ofMillis(50));
+    }
+
+    @Test
+    void testCallsThatWaitTooLongFailAndGiveUpTheirPlace() {
+        Sinks.One<String> first = Sinks.one();
+        bulkhead.limit(first.asMono()).subscribe();
+        bulkhead.limit(Mono.never()).subscribe();
+
+        StepVerifier.create(bulkhead.limit(Mono.just("late"))).expectError(UpstreamUnavailableException.class).verify(Duration.ofSeconds(5));
+        assertEquals(0, queued());
+
+        first.tryEmitValue("ok");
+        StepVerifier.create(bulkhead.limit(Mono.just("ok"))).expectNext("ok").verifyComplete();
+        assertEquals(1, inFlight());
+    }
+
+    @Test
+    void testSlotsAreFreedWhenCallsFailOrAreCancelled() {
+        Disposable cancelled = bulkhead.limit(Mono.never()).subscribe();
+        StepVerifier.create(bulkhead.limit(Mono.error(new IllegalStateException()))).expectError().verify();
+        Disposable other = bulkhead.limit(Mono.never()).subscribe();
+        Disposable waiting = bulkhead.limit(Mono.never()).subscribe();
+
+        waiting.dispose();
+        assertEquals(0, queued());
+        cancelled.dispose();
+        other.dispose();
+
+        assertEquals(0, inFlight());
+    }
+
+    private double inFlight() {
+        return meterRegistry.get(UpstreamBulkhead.IN_FLIGHT_METRIC).gauge().value();
+    }
+
+    private double queued() {
+        return meterRegistry.get(UpstreamBulkhead.QUEUED_METRIC).gauge().value();
+    }
+}
@@ -0,0 +1,157 @@
+package com.reliaquest.api.resilience;
+
+import com.reliaquest.api.Exception.ApiRateLimitException;
+import com.reliaquest.api.Exception.UpstreamUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UpstreamCircuitBreakersTest {
+
+    private static final Duration OPEN_DURATION = Duration.ofSeconds(10);
+
+    private VirtualTimeScheduler scheduler;
+    private SimpleMeterRegistry meterRegistry;
+    private UpstreamCircuitBreakers breakers;
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        scheduler = VirtualTimeScheduler.getOrSet();
+        CircuitBreakerProperties properties = new CircuitBreakerProperties();
+        properties.setSlidingWindowSize(4);
+        properties.setMinimumCalls(4);
+        properties.setFailureRateThreshold(0.5);
+        properties.setOpenDuration(OPEN_DURATION);
+        properties.setHalfOpenProbes(2);
+        meterRegistry = new SimpleMeterRegistry();
+        breakers = new UpstreamCircuitBreakers(properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        VirtualTimeScheduler.reset();
+    }
+
+    @Test
+    void testBreakerOpensOnceTheFailureRateIsReachedAndRejectsWithoutCallingTheUpstream() {
+        call("list", Mono.just("ok"));
+        call("list", Mono.just("ok"));
+        call("list", failure(HttpStatus.SERVICE_UNAVAILABLE));
+        assertEquals(0, state("list"));
+
+        call("list", failure(HttpStatus.BAD_GATEWAY));
+        assertEquals(1, state("list"));
+
+        StepVerifier.create(breakers.protect("list", counted(Mono.just("ok"))))
+                .expectError(UpstreamUnavailableException.class)
+                .verify();
+        assertEquals(4, calls.get());
+    }
+
+    @Test
+    void testAnswersOtherThanServerErrorsAndCallsThatNeverReachedTheUpstreamDoNotOpenTheBreaker() {
+        for (int i = 0; i < 4; i++) {
+            call("get-by-id", failure(HttpStatus.NOT_FOUND));
+            call("get-by-id", failure(HttpStatus.TOO_MANY_REQUESTS));
+            call("get-by-id", Mono.error(new ApiRateLimitException("held back", "Id")));
+        }
+
+        assertEquals(0, state("get-by-id"));
+    }
+
+    @Test
+    void testBreakersOfDifferentOperationsAreIndependent() {
+        open("delete");
+
+        StepVerifier.create(breakers.protect("create", Mono.just("created"))).expectNext("created").verifyComplete();
+        assertEquals(0, state("create"));
+    }
+
+    @Test
+    void testBreakerClosesOnceEveryHalfOpenProbeSucceeds() {
+        open("list");
+        scheduler.advanceTimeBy(OPEN_DURATION);
+
+        Sinks.One<String> firstProbe = Sinks.one();
+        Sinks.One<String> secondProbe = Sinks.one();
+        StepVerifier.create(breakers.protect("list", firstProbe.asMono())).then(() -> {
+            assertEquals(2, state("list"));
+            StepVerifier.create(breakers.protect("list", secondProbe.asMono())).then(() -> {
+                // Both probes are in flight; everything else is still turned away.
+                StepVerifier.create(breakers.protect("list", Mono.just("ok")))
+                        .expectError(UpstreamUnavailableException.class)
+                        .verify();
+                secondProbe.tryEmitValue("ok");
+            }).expectNext("ok").verifyComplete();
+            firstProbe.tryEmitValue("ok");
+        }).expectNext("ok").verifyComplete();
+
+        assertEquals(0, state("list"));
+    }
+
+    @Test
+    void testFailedProbeOpensTheBreakerAgain() {
+        open("list");
+        scheduler.advanceTimeBy(OPEN_DURATION);
+
+        call("list", failure(HttpStatus.INTERNAL_SERVER_ERROR));
+
+        assertEquals(1, state("list"));
+        scheduler.advanceTimeBy(OPEN_DURATION.minusSeconds(1));
+        StepVerifier.create(breakers.protect("list", Mono.just("ok")))
+                .expectError(UpstreamUnavailableException.class)
+                .verify();
+    }
+
+    @Test
+    void testCancelledProbeIsGivenBack() {
+        open("list");
+        scheduler.advanceTimeBy(OPEN_DURATION);
+
+        breakers.protect("list", Mono.never()).subscribe().dispose();
+        breakers.protect("list", Mono.never()).subscribe().dispose();
+
+        call("list", Mono.just("ok"));
+        call("list", Mono.just("ok"));
+        assertEquals(0, state("list"));
+    }
+
+    private void open(String operation) {
+        for (int i = 0; i < 4; i++) {
+            call(operation, failure(HttpStatus.SERVICE_UNAVAILABLE));
+        }
+        assertEquals(1, state(operation));
+    }
+
+    private void call(String operation, Mono<String> outcome) {
+        breakers.protect(operation, counted(outcome)).onErrorResume(e -> Mono.empty()).block();
+    }
+
+    private Mono<String> counted(Mono<String> outcome) {
+        return Mono.defer(() -> {
+            calls.incrementAndGet();
+            return outcome;
+        });
+    }
+
+    private double state(String operation) {
+        return meterRegistry.get(UpstreamCircuitBreakers.STATE_METRIC).tag("operation", operation).gauge().value();
+    }
+
+    private static Mono<String> failure(HttpStatus status) {
+        return Mono.error(WebClientResponseException.create(status.value(), status.getReasonPhrase(), null, null, null));
+    }
+}
@@ -0,0 +1,199 @@
+package com.reliaquest.api.resilience;
+
+import com.reliaquest.api.Exception.ApiRateLimitException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UpstreamRateGovernorTest {
+
+    private VirtualTimeScheduler scheduler;
+    private RateGovernorProperties properties;
+    private FakeUpstream upstream;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = VirtualTimeScheduler.getOrSet();
+        properties = new RateGovernorProperties();
+        upstream = new FakeUpstream();
+    }
+
+    @AfterEach
+    void tearDown() {
+        VirtualTimeScheduler.reset();
+    }
+
+    @Test
+    void testCallsWithinBurstGoStraightThrough() {
+        UpstreamRateGovernor governor = new UpstreamRateGovernor(properties);
+        upstream.budget = 3;
+
+        List<CompletableFuture<String>> results = fire(governor, 3);
+
+        results.forEach(result -> assertEquals("ok", result.getNow(null)));
+        assertEquals(3, upstream.calls.get());
+    }
+
+    @Test
+    void testThrottledCallIsHeldBackAndRetriedUntilTheUpstreamReopens() {
+        UpstreamRateGovernor governor = new UpstreamRateGovernor(properties);
+        upstream.budget = 2;
+
+        fire(governor, 2);
+        CompletableFuture<String> throttled = governor.govern(upstream.call()).toFuture();
+
+        // Rejected once; the retry waits out the one second cooldown instead of hitting the closed window again.
+        assertFalse(throttled.isDone());
+        scheduler.advanceTimeBy(Duration.ofMillis(900));
+        assertEquals(3, upstream.calls.get());
+
+        upstream.reopen();
+        scheduler.advanceTimeBy(Duration.ofSeconds(2));
+        assertEquals("ok", throttled.getNow(null));
+        assertEquals(4, upstream.calls.get());
+    }
+
+    @Test
+    void testCallFailsWithoutReachingUpstreamWhenItCannotReopenBeforeTheDeadline() {
+        properties.setDeadline(Duration.ofSeconds(5));
+        UpstreamRateGovernor governor = new UpstreamRateGovernor(properties);
+        upstream.retryAfterSeconds = 30;
+
+        CompletableFuture<String> first = governor.govern(upstream.call()).toFuture();
+        scheduler.advanceTimeBy(Duration.ofSeconds(1));
+        CompletableFuture<String> second = governor.govern(upstream.call()).toFuture();
+
+        assertRateLimited(first);
+        assertRateLimited(second);
+        assertEquals(1, upstream.calls.get());
+    }
+
+    @Test
+    void testBurstSizeIsLearnedFromRequestsAcceptedBeforeThe429() {
+        properties.setInitialBurst(10);
+        UpstreamRateGovernor governor = new UpstreamRateGovernor(properties);
+        upstream.budget = 3;
+
+        fire(governor, 3);
+        CompletableFuture<String> throttled = governor.govern(upstream.call()).toFuture();
+        upstream.reopen();
+        scheduler.advanceTimeBy(Duration.ofSeconds(2));
+        assertEquals("ok", throttled.getNow(null));
+
+        scheduler.advanceTimeBy(Duration.ofMinutes(1));
+        upstream.budget = 100;
+        upstream.reopen();
+        int callsBefore = upstream.calls.get();
+        List<CompletableFuture<String>> burst = fire(governor, 10);
+
+        assertEquals(3, upstream.calls.get() - callsBefore, "Only the learned burst may go out at once");
+        scheduler.advanceTimeBy(Duration.ofSeconds(10));
+        burst.forEach(result -> assertEquals("ok", result.getNow(null)));
+    }
+
+    @Test
+    void testCallsBeyondTheQueueLimitAreRejected() {
+        properties.setInitialBurst(1);
+        properties.setInitialRate(1.0);
+        properties.setMaxQueued(2);
+        UpstreamRateGovernor governor = new UpstreamRateGovernor(properties);
+        upstream.budget = 100;
+
+        List<CompletableFuture<String>> results = fire(governor, 4);
+
+        assertEquals("ok", results.get(0).getNow(null));
+        assertFalse(results.get(1).isDone());
+        assertFalse(results.get(2).isDone());
+        assertRateLimited(results.get(3));
+
+        scheduler.advanceTimeBy(Duration.ofSeconds(2));
+        assertEquals("ok", results.get(1).getNow(null));
+        assertEquals("ok", results.get(2).getNow(null));
+        assertEquals(3, upstream.calls.get());
+    }
+
+    @Test
+    void testThrottledStreamIsRetriedOnceTheUpstreamReopens() {
+        UpstreamRateGovernor governor = new UpstreamRateGovernor(properties);
+        upstream.budget = 1;
+
+        CompletableFuture<List<String>> first = governor.govern(upstream.call().flux()).collectList().toFuture();
+        CompletableFuture<List<String>> throttled = governor.govern(upstream.call().flux()).collectList().toFuture();
+        assertEquals(List.of("ok"), first.getNow(null));
+        assertFalse(throttled.isDone());
+
+        upstream.reopen();
+        scheduler.advanceTimeBy(Duration.ofSeconds(2));
+        assertEquals(List.of("ok"), throttled.getNow(null));
+        assertEquals(3, upstream.calls.get());
+    }
+
+    @Test
+    void testDisabledGovernorPassesThe429Through() {
+        properties.setEnabled(false);
+        UpstreamRateGovernor governor = new UpstreamRateGovernor(properties);
+
+        CompletableFuture<String> result = governor.govern(upstream.call()).toFuture();
+
+        ExecutionException failure = assertThrows(ExecutionException.class, result::get);
+        assertInstanceOf(WebClientResponseException.class, failure.getCause());
+        assertEquals(1, upstream.calls.get());
+    }
+
+    private List<CompletableFuture<String>> fire(UpstreamRateGovernor governor, int calls) {
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        for (int i = 0; i < calls; i++) {
+            results.add(governor.govern(upstream.call()).toFuture());
+        }
+        return results;
+    }
+
+    private static void assertRateLimited(CompletableFuture<String> result) {
+        assertTrue(result.isDone(), "The call should fail without waiting");
+        ExecutionException failure = assertThrows(ExecutionException.class, result::get);
+        assertInstanceOf(ApiRateLimitException.class, failure.getCause());
+    }
+
+    /**
+     * Accepts {@code budget} requests and answers 429 to everything after that until reopened.
+     */
+    private static final class FakeUpstream {
+        private final AtomicInteger calls = new AtomicInteger();
+        private int budget;
+        private int accepted;
+        private Integer retryAfterSeconds;
+
+        Mono<String> call() {
+            return Mono.defer(() -> {
+                calls.incrementAndGet();
+                if (accepted < budget) {
+                    accepted++;
+                    return Mono.just("ok");
+                }
+                HttpHeaders headers = new HttpHeaders();
+                if (retryAfterSeconds != null) {
+                    headers.set(HttpHeaders.RETRY_AFTER, retryAfterSeconds.toString());
+                }
+                return Mono.error(WebClientResponseException.create(HttpStatus.TOO_MANY_REQUESTS.value(), "Too Many Requests", headers, null, null));
+            });
+        }
+
+        void reopen() {
+            accepted = 0;
+        }
+    }
+}
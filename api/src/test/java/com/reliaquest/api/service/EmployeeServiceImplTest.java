@@ -1,6 +1,10 @@
 package com.reliaquest.api.service;
 
+import com.reliaquest.api.Exception.EmployeeConflictException;
 import com.reliaquest.api.Exception.EmployeeException;
+import com.reliaquest.api.Exception.UpstreamUnavailableException;
+import com.reliaquest.api.cache.EmployeeByIdCache;
+import com.reliaquest.api.cache.EmployeeRosterCache;
 import com.reliaquest.api.constants.ApplicationConstants;
 import com.reliaquest.api.dao.EmployeeDao;
 import com.reliaquest.api.models.Employee;
@@ -8,12 +12,14 @@ import com.reliaquest.api.models.EmployeeRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
@@ -23,8 +29,8 @@ public class EmployeeServiceImplTest {
     @Mock
     private EmployeeDao employeeDao;
 
-    @InjectMocks
     private EmployeeServiceImpl employeeService;
+    private EmployeeByIdCache employeeByIdCache;
 
     private Employee mockEmployee1;
     private Employee mockEmployee2;
@@ -33,6 +39,10 @@ public class EmployeeServiceImplTest {
 
     @BeforeEach
     public void setUp() {
+        employeeByIdCache = new EmployeeByIdCache(employeeDao, new SimpleMeterRegistry(), 100, Duration.ofSeconds(60), Duration.ofSeconds(5));
+        EmployeeRosterCache rosterCache = new EmployeeRosterCache(employeeDao, new SimpleMeterRegistry(), Duration.ofSeconds(30), Duration.ofMinutes(2), 50000);
+        EmployeeDeleter employeeDeleter = new EmployeeDeleter(employeeDao, rosterCache, employeeByIdCache);
+        employeeService = new EmployeeServiceImpl(employeeDao, rosterCache, employeeByIdCache, employeeDeleter);
         employeeId = UUID.randomUUID();
         mockEmployee1 = new Employee(employeeId, "Shivani Singh", 50000, 30, "Engineer", "shivani.singh@gmail.com");
         mockEmployee2 = new Employee(UUID.randomUUID(), "Aniksha Singh", 60000, 28, "Manager", "aniksha.singh@gmail.com");
@@ -43,53 +53,53 @@ public class EmployeeServiceImplTest {
     public void testGetAllEmployeesWithSuccessResponse() {
         List<Employee> mockEmployees = Arrays.asList(mockEmployee1, mockEmployee2);
 
-        when(employeeDao.getListOfAllEmployees()).thenReturn(mockEmployees);
+        when(employeeDao.listAllEmployees()).thenReturn(Mono.just(mockEmployees));
 
         List<Employee> result = employeeService.getAllEmployees();
 
         assertEquals(2, result.size());
         assertEquals("Shivani Singh", result.get(0).getName());
-        verify(employeeDao, times(1)).getListOfAllEmployees();
+        verify(employeeDao, times(1)).listAllEmployees();
     }
 
     @Test
     public void testGetEmployeeByIdWithValidId() {
-        when(employeeDao.getEmployeeById(employeeId.toString())).thenReturn(mockEmployee1);
+        when(employeeDao.findEmployeeById(employeeId.toString())).thenReturn(Mono.just(mockEmployee1));
 
         Employee result = employeeService.getEmployeeById(employeeId.toString());
 
         assertNotNull(result);
         assertEquals("Shivani Singh", result.getName());
         assertEquals(employeeId, result.getId());
-        verify(employeeDao, times(1)).getEmployeeById(employeeId.toString());
+        verify(employeeDao, times(1)).findEmployeeById(employeeId.toString());
     }
 
     @Test
     public void testGetEmployeeByIdWithInvalidId() {
         String invalidId = UUID.randomUUID().toString();
-        when(employeeDao.getEmployeeById(invalidId)).thenThrow(new EmployeeException("Employee not Found", ApplicationConstants.ID));
+        when(employeeDao.findEmployeeById(invalidId)).thenReturn(Mono.error(new EmployeeException("Employee not Found", ApplicationConstants.ID)));
 
         Exception exception = assertThrows(EmployeeException.class, () -> employeeService.getEmployeeById(invalidId));
 
         assertEquals("Employee not Found", exception.getMessage());
-        verify(employeeDao, times(1)).getEmployeeById(invalidId);
+        verify(employeeDao, times(1)).findEmployeeById(invalidId);
     }
 
     @Test
     public void testGetEmployeesByNameSearch() {
         List<Employee> mockEmployees = Arrays.asList(mockEmployee1, mockEmployee2);
 
-        when(employeeDao.getListOfAllEmployees()).thenReturn(mockEmployees);
+        when(employeeDao.listAllEmployees()).thenReturn(Mono.just(mockEmployees));
 
         List<Employee> result = employeeService.getEmployeesByNameSearch("Singh");
 
         assertEquals(2, result.size());
-        verify(employeeDao, times(1)).getListOfAllEmployees();
+        verify(employeeDao, times(1)).listAllEmployees();
     }
     @Test
     public void testGetEmployeesByNameSearch_NoMatchFound() {
         List<Employee> mockEmployees = Arrays.asList(mockEmployee1, mockEmployee2);
-        when(employeeDao.getListOfAllEmployees()).thenReturn(mockEmployees);
+        when(employeeDao.listAllEmployees()).thenReturn(Mono.just(mockEmployees));
 
         String searchTerm = "Raj";
 
@@ -98,7 +108,7 @@ public class EmployeeServiceImplTest {
         });
 
         assertEquals("No employees found with name: Raj", exception.getMessage());
-        verify(employeeDao, times(1)).getListOfAllEmployees();
+        verify(employeeDao, times(1)).listAllEmployees();
     }
 
 
@@ -106,25 +116,25 @@ public class EmployeeServiceImplTest {
     public void testGetHighestSalaryOfEmployees() {
         List<Employee> mockEmployees = Arrays.asList(mockEmployee1, mockEmployee2);
 
-        when(employeeDao.getListOfAllEmployees()).thenReturn(mockEmployees);
+        when(employeeDao.listAllEmployees()).thenReturn(Mono.just(mockEmployees));
 
         Integer result = employeeService.getHighestSalaryOfEmployees();
 
         assertEquals(60000, result);
-        verify(employeeDao, times(1)).getListOfAllEmployees();
+        verify(employeeDao, times(1)).listAllEmployees();
     }
 
     @Test
     public void testGetTopTenHighestEarningEmployeeNames() {
         List<Employee> mockEmployees = Arrays.asList(mockEmployee1, mockEmployee2);
 
-        when(employeeDao.getListOfAllEmployees()).thenReturn(mockEmployees);
+        when(employeeDao.listAllEmployees()).thenReturn(Mono.just(mockEmployees));
 
         List<String> result = employeeService.getTopTenHighestEarningEmployeeNames();
 
         assertEquals(2, result.size());
         assertEquals("Aniksha Singh", result.get(0));
-        verify(employeeDao, times(1)).getListOfAllEmployees();
+        verify(employeeDao, times(1)).listAllEmployees();
     }
 
     @Test
@@ -146,11 +156,163 @@ public class EmployeeServiceImplTest {
 
     @Test
     public void testDeleteEmployeeById() {
-        when(employeeDao.deleteEmployeeByName(employeeId.toString())).thenReturn("Shivani Singh");
+        when(employeeDao.listAllEmployees()).thenReturn(Mono.just(Arrays.asList(mockEmployee1, mockEmployee2)));
+        when(employeeDao.deleteByName("Shivani Singh")).thenReturn(Mono.just("Shivani Singh"));
 
         String result = employeeService.deleteEmployeeById(employeeId.toString());
 
         assertEquals("Shivani Singh", result);
-        verify(employeeDao, times(1)).deleteEmployeeByName(employeeId.toString());
+        // The roster the delete is checked against also tells the name, so there's no lookup by id.
+        verify(employeeDao, times(1)).listAllEmployees();
+        verify(employeeDao, never()).findEmployeeById(anyString());
+        verify(employeeDao, times(1)).deleteByName("Shivani Singh");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testDeleteEmployeeResolvesNameFromCachedRosterWithoutLookup() {
+        when(employeeDao.listAllEmployees()).thenReturn(Mono.just(Arrays.asList(mockEmployee1, mockEmployee2)));
+        when(employeeDao.deleteByName("Aniksha Singh")).thenReturn(Mono.just("Aniksha Singh"));
+
+        employeeService.getAllEmployees();
+        assertEquals("Aniksha Singh", employeeService.deleteEmployeeById(mockEmployee2.getId().toString().toUpperCase()));
+
+        verify(employeeDao, never()).findEmployeeById(anyString());
+    }
+
+    @Test
+    public void testDeleteUnknownEmployeeFailsWithoutDeleting() {
+        String unknownId = UUID.randomUUID().toString();
+        when(employeeDao.listAllEmployees()).thenReturn(Mono.just(Arrays.asList(mockEmployee1, mockEmployee2)));
+        when(employeeDao.findEmployeeById(unknownId)).thenReturn(Mono.error(new EmployeeException("Employee not Found", ApplicationConstants.ID)));
+
+        assertThrows(EmployeeException.class, () -> employeeService.deleteEmployeeById(unknownId));
+
+        verify(employeeDao, never()).deleteByName(anyString());
+    }
+
+    @Test
+    public void testDeleteEmployeeShadowedByEarlierNamesakeIsRefused() {
+        Employee namesake = new Employee(UUID.randomUUID(), "ANIKSHA SINGH", 90000, 41, "Director", "a.singh@gmail.com");
+        when(employeeDao.listAllEmployees()).thenReturn(Mono.just(Arrays.asList(namesake, mockEmployee2)));
+
+        employeeService.getAllEmployees();
+        EmployeeConflictException exception = assertThrows(EmployeeConflictException.class,
+                () -> employeeService.deleteEmployeeById(mockEmployee2.getId().toString()));
+
+        assertEquals("Another employee named Aniksha Singh would be deleted instead", exception.getMessage());
+        verify(employeeDao, times(2)).listAllEmployees();
+        verify(employeeDao, never()).deleteByName(anyString());
+    }
+
+    @Test
+    public void testDeleteEmployeeGoesAheadWhenRefetchedRosterNoLongerHasTheNamesake() {
+        Employee namesake = new Employee(UUID.randomUUID(), "Aniksha Singh", 90000, 41, "Director", "a.singh@gmail.com");
+        when(employeeDao.listAllEmployees())
+                .thenReturn(Mono.just(Arrays.asList(namesake, mockEmployee2)))
+                .thenReturn(Mono.just(Arrays.asList(mockEmployee1, mockEmployee2)));
+        when(employeeDao.deleteByName("Aniksha Singh")).thenReturn(Mono.just("Aniksha Singh"));
+
+        employeeService.getAllEmployees();
+        employeeService.deleteEmployeeById(mockEmployee2.getId().toString());
+
+        assertEquals(List.of(mockEmployee1), employeeService.getAllEmployees());
+        verify(employeeDao, times(2)).listAllEmployees();
+    }
+
+    @Test
+    public void testDeleteEmployeeIsCheckedAgainstACurrentRosterOnceTheCachedOneIsTooOld() {
+        EmployeeRosterCache rosterCache = new EmployeeRosterCache(employeeDao, new SimpleMeterRegistry(), Duration.ZERO, Duration.ZERO, 50000);
+        EmployeeServiceImpl service = new EmployeeServiceImpl(employeeDao, rosterCache, employeeByIdCache,
+                new EmployeeDeleter(employeeDao, rosterCache, employeeByIdCache));
+        Employee namesake = new Employee(UUID.randomUUID(), "Aniksha Singh", 90000, 41, "Director", "a.singh@gmail.com");
+        // The namesake is created upstream after the first roster was cached.
+        when(employeeDao.listAllEmployees())
+                .thenReturn(Mono.just(Arrays.asList(mockEmployee1, mockEmployee2)))
+                .thenReturn(Mono.just(Arrays.asList(namesake, mockEmployee1, mockEmployee2)));
+
+        service.getAllEmployees();
+        assertThrows(EmployeeConflictException.class, () -> service.deleteEmployeeById(mockEmployee2.getId().toString()));
+
+        verify(employeeDao, never()).deleteByName(anyString());
+    }
+
+    @Test
+    public void testRosterIsFetchedOnceAcrossReadEndpoints() {
+        when(employeeDao.listAllEmployees()).thenReturn(Mono.just(Arrays.asList(mockEmployee1, mockEmployee2)));
+
+        employeeService.getAllEmployees();
+        employeeService.getEmployeesByNameSearch("Singh");
+        employeeService.getHighestSalaryOfEmployees();
+        employeeService.getTopTenHighestEarningEmployeeNames();
+
+        verify(employeeDao, times(1)).listAllEmployees();
+    }
+
+    @Test
+    public void testCreateEmployeeUpdatesCachedSalaryAggregates() {
+        Employee createdEmployee = new Employee(UUID.randomUUID(), "Shivansh Singh", 70000, 30, "Software Engineer", "shivansh.singh@gmail.com");
+        when(employeeDao.listAllEmployees()).thenReturn(Mono.just(Arrays.asList(mockEmployee1, mockEmployee2)));
+        when(employeeDao.addEmployee(employeeRequest)).thenReturn(createdEmployee);
+
+        assertEquals(60000, employeeService.getHighestSalaryOfEmployees());
+        employeeService.createEmployee(employeeRequest);
+
+        assertEquals(70000, employeeService.getHighestSalaryOfEmployees());
+        assertEquals(List.of("Shivansh Singh", "Aniksha Singh", "Shivani Singh"), employeeService.getTopTenHighestEarningEmployeeNames());
+        assertEquals(3, employeeService.getAllEmployees().size());
+        verify(employeeDao, times(1)).listAllEmployees();
+    }
+
+    @Test
+    public void testDeleteEmployeeUpdatesCachedSalaryAggregates() {
+        when(employeeDao.listAllEmployees()).thenReturn(Mono.just(Arrays.asList(mockEmployee1, mockEmployee2)));
+        when(employeeDao.deleteByName("Aniksha Singh")).thenReturn(Mono.just("Aniksha Singh"));
+
+        assertEquals(60000, employeeService.getHighestSalaryOfEmployees());
+        employeeService.deleteEmployeeById(mockEmployee2.getId().toString());
+
+        assertEquals(50000, employeeService.getHighestSalaryOfEmployees());
+        assertEquals(List.of("Shivani Singh"), employeeService.getTopTenHighestEarningEmployeeNames());
+        verify(employeeDao, times(1)).listAllEmployees();
+    }
+
+    @Test
+    public void testDeleteEmployeeWithSharedNameRefetchesRoster() {
+        Employee namesake = new Employee(UUID.randomUUID(), "shivani singh", 90000, 41, "Director", "s.singh@gmail.com");
+        when(employeeDao.listAllEmployees())
+                .thenReturn(Mono.just(Arrays.asList(mockEmployee1, mockEmployee2, namesake)))
+                .thenReturn(Mono.just(Arrays.asList(mockEmployee2, namesake)));
+        when(employeeDao.deleteByName("Shivani Singh")).thenReturn(Mono.just("Shivani Singh"));
+
+        employeeService.getAllEmployees();
+        employeeService.deleteEmployeeById(employeeId.toString());
+
+        assertEquals(2, employeeService.getAllEmployees().size());
+        verify(employeeDao, times(2)).listAllEmployees();
+    }
+
+    @Test
+    public void testGetEmployeeByIdFallsBackToTheLastRosterWhileTheUpstreamIsUnavailable() {
+        // A roster too old to be served, so lookups go to the upstream and only fall back to it.
+        EmployeeRosterCache rosterCache = new EmployeeRosterCache(employeeDao, new SimpleMeterRegistry(), Duration.ZERO, Duration.ZERO, 50000);
+        EmployeeServiceImpl service = new EmployeeServiceImpl(employeeDao, rosterCache, employeeByIdCache,
+                new EmployeeDeleter(employeeDao, rosterCache, employeeByIdCache));
+        when(employeeDao.listAllEmployees()).thenReturn(Mono.just(List.of(mockEmployee1)));
+        when(employeeDao.findEmployeeById(anyString()))
+                .thenReturn(Mono.error(new UpstreamUnavailableException("The employee service is unavailable, please try again later.")));
+        service.getAllEmployees();
+
+        assertEquals(mockEmployee1, service.getEmployeeById(employeeId.toString()));
+        assertThrows(UpstreamUnavailableException.class, () -> service.getEmployeeById(UUID.randomUUID().toString()));
+    }
+
+    @Test
+    public void testGetEmployeeByIdIsAnsweredFromTheCachedRoster() {
+        when(employeeDao.listAllEmployees()).thenReturn(Mono.just(Arrays.asList(mockEmployee1, mockEmployee2)));
+
+        employeeService.getAllEmployees();
+
+        assertEquals(mockEmployee2, employeeService.getEmployeeById(mockEmployee2.getId().toString()));
+        verify(employeeDao, never()).findEmployeeById(anyString());
+    }
+}
@@ -0,0 +1,114 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.Exception.EmployeeException;
+import com.reliaquest.api.cache.EmployeeByIdCache;
+import com.reliaquest.api.cache.EmployeeRosterCache;
+import com.reliaquest.api.dao.EmployeeDao;
+import com.reliaquest.api.models.Employee;
+import com.reliaquest.api.models.EmployeeRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactiveEmployeeServiceImplTest {
+
+    @Mock
+    private EmployeeDao employeeDao;
+
+    private ReactiveEmployeeServiceImpl employeeService;
+
+    private Employee mockEmployee1;
+    private Employee mockEmployee2;
+
+    @BeforeEach
+    public void setUp() {
+        EmployeeByIdCache employeeByIdCache = new EmployeeByIdCache(employeeDao, new SimpleMeterRegistry(), 100, Duration.ofSeconds(60), Duration.ofSeconds(5));
+        EmployeeRosterCache rosterCache = new EmployeeRosterCache(employeeDao, new SimpleMeterRegistry(), Duration.ofSeconds(30), Duration.ofMinutes(2), 50000);
+        EmployeeDeleter employeeDeleter = new EmployeeDeleter(employeeDao, rosterCache, employeeByIdCache);
+        employeeService = new ReactiveEmployeeServiceImpl(employeeDao, rosterCache, employeeByIdCache, employeeDeleter);
+        mockEmployee1 = new Employee(UUID.randomUUID(), "Shivani Singh", 50000, 30, "Engineer", "shivani.singh@gmail.com");
+        mockEmployee2 = new Employee(UUID.randomUUID(), "Aniksha Singh", 60000, 28, "Manager", "aniksha.singh@gmail.com");
+    }
+
+    @Test
+    public void testGetEmployeeByIdIsAnsweredFromTheCachedRoster() {
+        String id = mockEmployee2.getId().toString();
+        when(employeeDao.listAllEmployees()).thenReturn(Mono.just(Arrays.asList(mockEmployee1, mockEmployee2)));
+
+        StepVerifier.create(employeeService.getAllEmployees()).expectNextCount(1).verifyComplete();
+        StepVerifier.create(employeeService.getEmployeeById(id)).expectNext(mockEmployee2).verifyComplete();
+
+        verify(employeeDao, never()).findEmployeeById(id);
+    }
+
+    @Test
+    public void testGetEmployeesByNameSearch() {
+        when(employeeDao.listAllEmployees()).thenReturn(Mono.just(Arrays.asList(mockEmployee1, mockEmployee2)));
+
+        StepVerifier.create(employeeService.getEmployeesByNameSearch("ANI"))
+                .expectNext(Arrays.asList(mockEmployee1, mockEmployee2))
+                .verifyComplete();
+    }
+
+    @Test
+    public void testGetEmployeesByNameSearch_NoMatchFound() {
+        when(employeeDao.listAllEmployees()).thenReturn(Mono.just(Arrays.asList(mockEmployee1, mockEmployee2)));
+
+        StepVerifier.create(employeeService.getEmployeesByNameSearch("Raj"))
+                .expectErrorMatches(error -> error instanceof EmployeeException
+                        && error.getMessage().equals("No employees found with name: Raj"))
+                .verify();
+    }
+
+    @Test
+    public void testGetHighestSalaryOfEmployees_EmptyRoster() {
+        when(employeeDao.listAllEmployees()).thenReturn(Mono.just(List.of()));
+
+        StepVerifier.create(employeeService.getHighestSalaryOfEmployees())
+                .expectError(EmployeeException.class)
+                .verify();
+    }
+
+    @Test
+    public void testCreateEmployeeIsVisibleToLaterReads() {
+        Employee createdEmployee = new Employee(UUID.randomUUID(), "Shivansh Singh", 70000, 30, "Software Engineer", "shivansh.singh@gmail.com");
+        EmployeeRequest request = new EmployeeRequest("Shivansh Singh", 70000, "Software Engineer", 30);
+        when(employeeDao.listAllEmployees()).thenReturn(Mono.just(Arrays.asList(mockEmployee1, mockEmployee2)));
+        when(employeeDao.createEmployee(request)).thenReturn(Mono.just(createdEmployee));
+
+        StepVerifier.create(employeeService.getHighestSalaryOfEmployees()).expectNext(60000).verifyComplete();
+        StepVerifier.create(employeeService.createEmployee(request)).expectNext(createdEmployee).verifyComplete();
+
+        StepVerifier.create(employeeService.getTopTenHighestEarningEmployeeNames())
+                .expectNext(List.of("Shivansh Singh", "Aniksha Singh", "Shivani Singh"))
+                .verifyComplete();
+        verify(employeeDao, times(1)).listAllEmployees();
+    }
+
+    @Test
+    public void testDeleteEmployeeById() {
+        String id = mockEmployee2.getId().toString();
+        when(employeeDao.listAllEmployees()).thenReturn(Mono.just(Arrays.asList(mockEmployee1, mockEmployee2)));
+        when(employeeDao.deleteByName("Aniksha Singh")).thenReturn(Mono.just("Aniksha Singh"));
+
+        StepVerifier.create(employeeService.getAllEmployees()).expectNextCount(1).verifyComplete();
+        StepVerifier.create(employeeService.deleteEmployeeById(id)).expectNext("Aniksha Singh").verifyComplete();
+
+        StepVerifier.create(employeeService.getAllEmployees()).expectNext(List.of(mockEmployee1)).verifyComplete();
+        verify(employeeDao, times(1)).listAllEmployees();
+        verify(employeeDao, never()).findEmployeeById(id);
+    }
+}
@@ -0,0 +1,89 @@
+package com.reliaquest.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.reliaquest.api.models.ApiResponse;
+import com.reliaquest.api.models.Employee;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jol.info.GraphLayout;
+
+/**
+ * Jackson reading and writing of {@link Employee} and of the upstream's {@link ApiResponse} envelope, whose field
+ * names go through the {@code employee_} prefix naming strategy.
+ * <p>
+ * Every trial prints the heap retained per employee by a roster read from JSON, the way rosters arrive from the
+ * upstream, with fresh strings for every field.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmployeeJsonBenchmark {
+
+    @Param({"1", "1000", "100000"})
+    public int rosterSize;
+
+    private Employee employee;
+    private ApiResponse<List<Employee>> response;
+    private byte[] employeeJson;
+    private byte[] responseJson;
+    private ObjectWriter employeeWriter;
+    private ObjectWriter responseWriter;
+    private ObjectReader employeeReader;
+    private ObjectReader responseReader;
+
+    @Setup
+    public void setUp() throws IOException {
+        final var objectMapper = new ObjectMapper();
+        final var responseType = new TypeReference<ApiResponse<List<Employee>>>() {};
+        final var roster = Rosters.employees(rosterSize);
+        employee = roster.get(0);
+        response = new ApiResponse<>("Successfully processed request.", roster);
+        employeeWriter = objectMapper.writerFor(Employee.class);
+        responseWriter = objectMapper.writerFor(responseType);
+        employeeReader = objectMapper.readerFor(Employee.class);
+        responseReader = objectMapper.readerFor(responseType);
+        employeeJson = employeeWriter.writeValueAsBytes(employee);
+        responseJson = responseWriter.writeValueAsBytes(response);
+        printFootprint();
+    }
+
+    @Benchmark
+    public byte[] writeEmployee() throws JsonProcessingException {
+        return employeeWriter.writeValueAsBytes(employee);
+    }
+
+    @Benchmark
+    public Employee readEmployee() throws IOException {
+        return employeeReader.readValue(employeeJson);
+    }
+
+    @Benchmark
+    public byte[] writeRosterResponse() throws JsonProcessingException {
+        return responseWriter.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public ApiResponse<List<Employee>> readRosterResponse() throws IOException {
+        return responseReader.readValue(responseJson);
+    }
+
+    private void printFootprint() throws IOException {
+        final ApiResponse<List<Employee>> read = responseReader.readValue(responseJson);
+        System.out.printf(
+                "%nHeap per employee read from JSON (bytes), %d employees: %.1f%n",
+                rosterSize, (double) GraphLayout.parseInstance(read.getData()).totalSize() / rosterSize);
+    }
+}
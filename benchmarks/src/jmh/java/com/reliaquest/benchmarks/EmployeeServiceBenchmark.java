@@ -0,0 +1,113 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.cache.EmployeeByIdCache;
+import com.reliaquest.api.cache.EmployeeRosterCache;
+import com.reliaquest.api.cache.RosterSnapshot;
+import com.reliaquest.api.dao.EmployeeDao;
+import com.reliaquest.api.models.Employee;
+import com.reliaquest.api.service.EmployeeDeleter;
+import com.reliaquest.api.service.EmployeeServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import reactor.core.publisher.Mono;
+
+/**
+ * Search, highest salary and top ten earners of {@link EmployeeServiceImpl}, answered from a cached roster, and the
+ * cost of building the snapshot and indexes behind them whenever the roster is reloaded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmployeeServiceBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int rosterSize;
+
+    @Param({"50000"})
+    public int parallelThreshold;
+
+    private List<Employee> roster;
+    private EmployeeServiceImpl employeeService;
+
+    @Setup
+    public void setUp() {
+        roster = Rosters.employees(rosterSize);
+        final var employeeDao = new RosterOnlyEmployeeDao(roster);
+        final var employeeByIdCache = new EmployeeByIdCache(
+                employeeDao, new SimpleMeterRegistry(), 10_000, Duration.ofDays(1), Duration.ofSeconds(5));
+        // A TTL longer than any run, so every call is answered from the one snapshot loaded here.
+        final var rosterCache = new EmployeeRosterCache(
+                employeeDao,
+                new SimpleMeterRegistry(),
+                Duration.ofDays(1),
+                Duration.ZERO,
+                parallelThreshold);
+        employeeService = new EmployeeServiceImpl(
+                employeeDao,
+                rosterCache,
+                employeeByIdCache,
+                new EmployeeDeleter(employeeDao, rosterCache, employeeByIdCache));
+        employeeService.getAllEmployees();
+    }
+
+    @Benchmark
+    public List<Employee> searchCommonName() {
+        // Matches about one employee in fourteen.
+        return employeeService.getEmployeesByNameSearch("singh");
+    }
+
+    @Benchmark
+    public List<Employee> searchSingleEmployee() {
+        return employeeService.getEmployeesByNameSearch(
+                roster.get(rosterSize / 2).getName());
+    }
+
+    @Benchmark
+    public List<Employee> searchShortQuery() {
+        // Too short for the trigram index, so every name is scanned.
+        return employeeService.getEmployeesByNameSearch("ei");
+    }
+
+    @Benchmark
+    public Integer highestSalary() {
+        return employeeService.getHighestSalaryOfEmployees();
+    }
+
+    @Benchmark
+    public List<String> topTenHighestEarningNames() {
+        return employeeService.getTopTenHighestEarningEmployeeNames();
+    }
+
+    @Benchmark
+    public RosterSnapshot buildRosterSnapshot() {
+        return new RosterSnapshot(roster, Instant.EPOCH, parallelThreshold);
+    }
+
+    /**
+     * Serves the roster from memory; nothing else is called by these benchmarks.
+     */
+    private static final class RosterOnlyEmployeeDao extends EmployeeDao {
+        private final Mono<List<Employee>> roster;
+
+        RosterOnlyEmployeeDao(List<Employee> roster) {
+            super(null, null, null, null, null, null);
+            this.roster = Mono.just(roster);
+        }
+
+        @Override
+        public Mono<List<Employee>> listAllEmployees() {
+            return roster;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.server.config.ServerConfiguration;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeGenerator;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import net.datafaker.Faker;
+import net.datafaker.transformations.Field;
+import net.datafaker.transformations.JavaObjectTransformer;
+import net.datafaker.transformations.Schema;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Generation of the mock server's roster at startup, in employees per second: one employee at a time through
+ * datafaker's {@link JavaObjectTransformer}, as the server used to, against the seeded, partitioned
+ * {@link MockEmployeeGenerator}. Every invocation generates a roster of {@value #ROSTER_SIZE} employees and counts
+ * as that many operations, so scores are employees per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(MockEmployeeGenerationBenchmark.ROSTER_SIZE)
+public class MockEmployeeGenerationBenchmark {
+
+    static final int ROSTER_SIZE = 100_000;
+
+    private Faker faker;
+    private MockEmployeeGenerator generator;
+
+    @Setup
+    public void setUp() {
+        faker = new Faker(Locale.ROOT);
+        generator = new MockEmployeeGenerator(Rosters.SEED, Locale.ROOT);
+    }
+
+    @Benchmark
+    public List<MockEmployee> transformerPerEmployee() {
+        final var transformer = new JavaObjectTransformer();
+        final var schema = Schema.of(
+                Field.field("id", UUID::randomUUID),
+                Field.field("name", () -> faker.name().fullName()),
+                Field.field("salary", () -> faker.number().numberBetween(30000, 500000)),
+                Field.field("age", () -> faker.number().numberBetween(16, 70)),
+                Field.field("title", () -> faker.job().title()),
+                Field.field(
+                        "email",
+                        () -> ServerConfiguration.EMAIL_TEMPLATE.formatted(
+                                faker.twitter().userName().toLowerCase())));
+        return IntStream.rangeClosed(1, ROSTER_SIZE)
+                .mapToObj(ignored -> (MockEmployee) transformer.apply(MockEmployee.class, schema))
+                .toList();
+    }
+
+    @Benchmark
+    public List<MockEmployee> seededPartitions() {
+        return generator.generate(ROSTER_SIZE);
+    }
+}
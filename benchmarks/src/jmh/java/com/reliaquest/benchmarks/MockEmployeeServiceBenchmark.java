@@ -0,0 +1,85 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeePage;
+import com.reliaquest.server.repository.MockEmployeeRepository;
+import com.reliaquest.server.service.MockEmployeeGenerator;
+import com.reliaquest.server.service.MockEmployeeService;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Lookups, pages and deletes of the mock server's {@link MockEmployeeService} over rosters of different sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MockEmployeeServiceBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int rosterSize;
+
+    private MockEmployeeService mockEmployeeService;
+    private List<UUID> ids;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        final var roster = Rosters.mockEmployees(rosterSize);
+        mockEmployeeService = new MockEmployeeService(
+                new MockEmployeeGenerator(Rosters.SEED, Locale.ROOT), new MockEmployeeRepository(roster));
+        ids = roster.stream().map(MockEmployee::getId).toList();
+    }
+
+    @Benchmark
+    public Optional<MockEmployee> findById() {
+        return mockEmployeeService.findById(nextId());
+    }
+
+    @Benchmark
+    public Optional<MockEmployee> findUnknownId() {
+        return mockEmployeeService.findById(UUID.randomUUID());
+    }
+
+    @Benchmark
+    public MockEmployeePage firstPage() {
+        return mockEmployeeService.getPage(100, null);
+    }
+
+    /**
+     * Deletes the oldest employee and creates one in its place, so the roster keeps its size however long the
+     * benchmark runs. The create includes generating the new employee's email address.
+     */
+    @Benchmark
+    public MockEmployee deleteAndRecreate() {
+        final var oldest = mockEmployeeService.getPage(1, null).employees().get(0);
+        final var delete = new DeleteMockEmployeeInput();
+        delete.setName(oldest.getName());
+        mockEmployeeService.delete(delete);
+        final var create = new CreateMockEmployeeInput();
+        create.setName(oldest.getName());
+        create.setSalary(oldest.getSalary());
+        create.setAge(oldest.getAge());
+        create.setTitle(oldest.getTitle());
+        return mockEmployeeService.create(create);
+    }
+
+    private UUID nextId() {
+        // Walks the ids in a fixed stride so consecutive lookups don't hit neighbouring slots.
+        next = (next + 7919) % ids.size();
+        return ids.get(next);
+    }
+}
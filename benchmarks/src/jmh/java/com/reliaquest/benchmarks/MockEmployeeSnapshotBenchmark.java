@@ -0,0 +1,86 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.server.repository.MockEmployeeRepository;
+import com.reliaquest.server.repository.MockEmployeeSnapshotFile;
+import com.reliaquest.server.service.MockEmployeeGenerator;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Restoring the mock server's roster from its snapshot file at startup, against generating it, and writing the
+ * snapshot file in the background.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MockEmployeeSnapshotBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int rosterSize;
+
+    private MockEmployeeGenerator generator;
+    private MockEmployeeRepository.Snapshot snapshot;
+    private Path directory;
+    private Path file;
+    private Path writtenFile;
+
+    @Setup
+    public void setUp() throws IOException {
+        generator = new MockEmployeeGenerator(Rosters.SEED, Locale.ROOT);
+        snapshot = new MockEmployeeRepository(generator.generate(rosterSize)).snapshot();
+        directory = Files.createTempDirectory("mock-snapshot-benchmark");
+        file = directory.resolve("roster.snapshot");
+        writtenFile = directory.resolve("written.snapshot");
+        MockEmployeeSnapshotFile.write(snapshot, file);
+        System.out.printf(
+                "%nSnapshot file for %d employees: %d bytes (%.1f per employee)%n",
+                rosterSize, Files.size(file), (double) Files.size(file) / rosterSize);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(writtenFile);
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public MockEmployeeSnapshotFile.Contents read() throws IOException {
+        return MockEmployeeSnapshotFile.read(file);
+    }
+
+    /**
+     * What startup does with a snapshot file: read it and index the employees.
+     */
+    @Benchmark
+    public MockEmployeeRepository restore() throws IOException {
+        final var contents = MockEmployeeSnapshotFile.read(file);
+        return new MockEmployeeRepository(contents.employees(), contents.sequence());
+    }
+
+    /**
+     * What startup does without one.
+     */
+    @Benchmark
+    public MockEmployeeRepository generate() {
+        return new MockEmployeeRepository(generator.generate(rosterSize));
+    }
+
+    @Benchmark
+    public Path write() throws IOException {
+        MockEmployeeSnapshotFile.write(snapshot, writtenFile);
+        return writtenFile;
+    }
+}
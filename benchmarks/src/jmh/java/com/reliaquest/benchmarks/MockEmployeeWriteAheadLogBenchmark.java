@@ -0,0 +1,121 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.repository.MockEmployeeRepository;
+import com.reliaquest.server.repository.MockEmployeeWriteAheadLog;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Creates and deletes on the mock server's repository with its write-ahead log under each fsync policy, and without
+ * one. Every operation is a create followed by a delete of the same employee, so the roster keeps its size. With
+ * {@code BATCHED}, writers waiting on the same fsync share it, which is what the contended variant shows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MockEmployeeWriteAheadLogBenchmark {
+
+    @Param({"NONE", "EVERY_WRITE", "BATCHED", "INTERVAL"})
+    public String fsyncPolicy;
+
+    private final AtomicInteger writers = new AtomicInteger();
+
+    private MockEmployeeRepository repository;
+    private MockEmployeeWriteAheadLog writeAheadLog;
+    private Path directory;
+
+    @Setup
+    public void setUp() throws IOException {
+        repository = new MockEmployeeRepository(Rosters.mockEmployees(10_000));
+        directory = Files.createTempDirectory("mock-wal-benchmark");
+        if (!fsyncPolicy.equals("NONE")) {
+            writeAheadLog = MockEmployeeWriteAheadLog.open(
+                    directory.resolve("roster.wal"),
+                    repository,
+                    MockEmployeeWriteAheadLog.FsyncPolicy.valueOf(fsyncPolicy),
+                    Duration.ofMillis(100));
+        }
+    }
+
+    /**
+     * Drops the segments written so far, as a snapshot write would, so the log doesn't grow over the whole run.
+     */
+    @TearDown(Level.Iteration)
+    public void compact() throws IOException {
+        if (writeAheadLog != null) {
+            writeAheadLog.rotate();
+            writeAheadLog.compact(repository.snapshot().sequence());
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException, InterruptedException {
+        if (writeAheadLog != null) {
+            writeAheadLog.close();
+        }
+        try (final var files = Files.walk(directory)) {
+            for (final var file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Writer {
+        private String prefix;
+        private int next;
+
+        @Setup
+        public void setUp(MockEmployeeWriteAheadLogBenchmark benchmark) {
+            prefix = "Writer " + benchmark.writers.incrementAndGet() + " Employee ";
+        }
+
+        MockEmployee nextEmployee() {
+            return MockEmployee.builder()
+                    .id(UUID.randomUUID())
+                    .name(prefix + next++)
+                    .salary(100000)
+                    .age(40)
+                    .title("Engineer")
+                    .email("someone@company.com")
+                    .build();
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Optional<MockEmployee> createAndDeleteUncontended(Writer writer) {
+        return createAndDelete(writer);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Optional<MockEmployee> createAndDeleteContended(Writer writer) {
+        return createAndDelete(writer);
+    }
+
+    private Optional<MockEmployee> createAndDelete(Writer writer) {
+        final var employee = writer.nextEmployee();
+        repository.add(employee);
+        return repository.deleteFirstByName(employee.getName());
+    }
+}
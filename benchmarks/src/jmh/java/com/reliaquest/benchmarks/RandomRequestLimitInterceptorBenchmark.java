@@ -0,0 +1,50 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.server.web.RandomRequestLimitInterceptor;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * {@link RandomRequestLimitInterceptor#preHandle} on the mock server's request path, called by one thread and by
+ * several threads sharing one interceptor, as every request to the server does. After the first few calls the
+ * interceptor is in its backoff window, which is where it spends almost all of its time under load.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RandomRequestLimitInterceptorBenchmark {
+
+    private RandomRequestLimitInterceptor interceptor;
+
+    @Setup
+    public void setUp() {
+        interceptor = new RandomRequestLimitInterceptor();
+    }
+
+    @State(Scope.Thread)
+    public static class Exchange {
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/employee");
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean preHandleUncontended(Exchange exchange) {
+        return interceptor.preHandle(exchange.request, exchange.response, null);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean preHandleContended(Exchange exchange) {
+        return interceptor.preHandle(exchange.request, exchange.response, null);
+    }
+}
@@ -0,0 +1,142 @@
+package com.reliaquest.benchmarks;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import com.reliaquest.api.logging.CorrelationId;
+import com.reliaquest.api.logging.RequestLogSampler;
+import com.reliaquest.api.models.EmployeeRequest;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import net.logstash.logback.encoder.LogstashEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+/**
+ * The logging done for one create request in the api, as it was and as it is now.
+ * <p>
+ * {@code before} writes the five INFO lines the request used to produce, including the request's {@code toString()},
+ * synchronously and as plain text. {@code after} makes the same calls at DEBUG, which is off, except for the one
+ * line still logged at INFO; it also sets and clears the correlation id and hands the {@link RequestLogSampler} the
+ * finished request, all through the asynchronous JSON appender. Both write to a stream that discards its input, so
+ * what is measured is the cost of creating, formatting and handing off the events, not the console's.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RequestLoggingBenchmark {
+
+    @Param({"before", "after"})
+    public String pipeline;
+
+    @Param({"0.01"})
+    public double sampleRate;
+
+    private LoggerContext loggerContext;
+    private Logger controllerLogger;
+    private Logger serviceLogger;
+    private Logger daoLogger;
+    private RequestLogSampler requestLogSampler;
+    private EmployeeRequest request;
+    private UUID createdId;
+
+    @Setup
+    public void setUp() {
+        loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+        loggerContext.reset();
+        final var root = loggerContext.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        root.addAppender("before".equals(pipeline) ? synchronousText() : asynchronousJson());
+
+        controllerLogger = loggerContext.getLogger("com.reliaquest.api.controller.IEmployeeController");
+        serviceLogger = loggerContext.getLogger("com.reliaquest.api.service.EmployeeServiceImpl");
+        daoLogger = loggerContext.getLogger("com.reliaquest.api.dao.EmployeeDao");
+        requestLogSampler = new RequestLogSampler(sampleRate, Duration.ofSeconds(1));
+        request = new EmployeeRequest("Shivani Singh", 50000, "Engineer", 30);
+        createdId = UUID.randomUUID();
+    }
+
+    @TearDown
+    public void tearDown() {
+        loggerContext.stop();
+    }
+
+    @Benchmark
+    public void logCreateRequest() {
+        if ("before".equals(pipeline)) {
+            before();
+        } else {
+            after();
+        }
+    }
+
+    private void before() {
+        controllerLogger.info("EmployeeController - Entered createEmployee() with request: {}", request);
+        serviceLogger.info("EmployeeService - Creating employee with request: {}", request);
+        daoLogger.info("EmployeeDao - Adding new employee with request: {}", request);
+        daoLogger.info("EmployeeDao - Successfully added employee with id: {}", createdId);
+        controllerLogger.info("EmployeeController - Created employee with id: {}", createdId);
+    }
+
+    private void after() {
+        final long start = System.nanoTime();
+        MDC.put(CorrelationId.MDC_KEY, CorrelationId.resolve("checkout-42"));
+        try {
+            controllerLogger.debug("EmployeeController - Entered createEmployee() with request: {}", request);
+            serviceLogger.debug("EmployeeService - Creating employee with request: {}", request);
+            daoLogger.debug("EmployeeDao - Adding new employee with request: {}", request);
+            daoLogger.info("EmployeeDao - Successfully added employee with id: {}", createdId);
+            controllerLogger.debug("EmployeeController - Created employee with id: {}", createdId);
+            requestLogSampler.log("POST", "/api/v1/employee", 200, System.nanoTime() - start);
+        } finally {
+            MDC.remove(CorrelationId.MDC_KEY);
+        }
+    }
+
+    private Appender<ILoggingEvent> synchronousText() {
+        final var encoder = new PatternLayoutEncoder();
+        encoder.setContext(loggerContext);
+        encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p [%t] %-40.40logger{39} : %m%n%wEx");
+        encoder.start();
+        return discarding(encoder);
+    }
+
+    private Appender<ILoggingEvent> asynchronousJson() {
+        final var encoder = new LogstashEncoder();
+        encoder.setContext(loggerContext);
+        encoder.start();
+        final var async = new AsyncAppender();
+        async.setContext(loggerContext);
+        async.setQueueSize(8192);
+        async.setNeverBlock(true);
+        async.addAppender(discarding(encoder));
+        async.start();
+        return async;
+    }
+
+    private OutputStreamAppender<ILoggingEvent> discarding(Encoder<ILoggingEvent> encoder) {
+        final var appender = new OutputStreamAppender<ILoggingEvent>();
+        appender.setContext(loggerContext);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(OutputStream.nullOutputStream());
+        appender.start();
+        return appender;
+    }
+}
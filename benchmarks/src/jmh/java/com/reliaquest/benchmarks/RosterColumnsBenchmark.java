@@ -0,0 +1,180 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.index.NameIndex;
+import com.reliaquest.api.index.RosterColumns;
+import com.reliaquest.api.index.SalaryIndex;
+import com.reliaquest.api.models.Employee;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jol.info.GraphLayout;
+
+/**
+ * Scans over the roster held as {@code Employee} objects, the way the api held it before, against the same scans
+ * over {@link RosterColumns} and the shared name buffer of {@link NameIndex}.
+ * <p>
+ * Every trial prints the heap retained per employee by each layout. Run with {@code -Pjmh.profilers=gc} to also
+ * get the bytes allocated per query, reported as {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RosterColumnsBenchmark {
+
+    private static final int TOP = 10;
+    private static final Comparator<Ranked> WEAKEST_FIRST = Comparator.comparingInt(Ranked::salary)
+            .thenComparing(Comparator.comparingInt(Ranked::position).reversed());
+
+    @Param({"10000", "100000"})
+    public int rosterSize;
+
+    private List<Employee> roster;
+    private Map<String, Integer> positionsById;
+    private String[] normalizedNames;
+    private RosterColumns columns;
+    private NameIndex nameIndex;
+    private String id;
+
+    @Setup
+    public void setUp() {
+        roster = Rosters.employees(rosterSize);
+        positionsById = new HashMap<>();
+        normalizedNames = new String[rosterSize];
+        for (int i = 0; i < rosterSize; i++) {
+            positionsById.putIfAbsent(roster.get(i).getId().toString().toLowerCase(Locale.ROOT), i);
+            normalizedNames[i] = roster.get(i).getName().toLowerCase();
+        }
+        columns = RosterColumns.of(roster);
+        nameIndex = NameIndex.build(roster);
+        id = roster.get(rosterSize / 2).getId().toString();
+        printFootprint();
+    }
+
+    @Benchmark
+    public long totalSalaryObjects() {
+        long total = 0;
+        for (final var employee : roster) {
+            if (employee.getSalary() != null) {
+                total += employee.getSalary();
+            }
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long totalSalaryColumns() {
+        long total = 0;
+        for (int row = 0; row < columns.size(); row++) {
+            final var salary = columns.salary(row);
+            if (salary != RosterColumns.MISSING) {
+                total += salary;
+            }
+        }
+        return total;
+    }
+
+    @Benchmark
+    public List<Employee> topTenObjects() {
+        // The top-ten scan the salary index ran before it read the salary column.
+        final var heap = new PriorityQueue<Ranked>(TOP + 1, WEAKEST_FIRST);
+        for (int position = 0; position < roster.size(); position++) {
+            final var employee = roster.get(position);
+            if (employee.getSalary() == null) {
+                continue;
+            }
+            final var candidate = new Ranked(employee, employee.getSalary(), position);
+            if (heap.size() < TOP) {
+                heap.add(candidate);
+            } else if (WEAKEST_FIRST.compare(candidate, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(candidate);
+            }
+        }
+        final var ranked = new ArrayList<>(heap);
+        ranked.sort(WEAKEST_FIRST.reversed());
+        final var topEarners = new ArrayList<Employee>(ranked.size());
+        ranked.forEach(entry -> topEarners.add(entry.employee()));
+        return topEarners;
+    }
+
+    @Benchmark
+    public SalaryIndex topTenColumns() {
+        return SalaryIndex.build(roster, columns, TOP, Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public Employee findByIdObjects() {
+        final var position = positionsById.getOrDefault(requestedId().toLowerCase(Locale.ROOT), -1);
+        return position < 0 ? null : roster.get(position);
+    }
+
+    @Benchmark
+    public Employee findByIdColumns() {
+        final var row = columns.rowOf(requestedId());
+        return row < 0 ? null : roster.get(row);
+    }
+
+    private String requestedId() {
+        // Every request brings its own copy of the id, whose hash code hasn't been computed yet.
+        return new String(id);
+    }
+
+    @Benchmark
+    public List<Employee> searchShortQueryObjects() {
+        final var query = "ei";
+        final var matches = new ArrayList<Employee>();
+        for (int i = 0; i < normalizedNames.length; i++) {
+            if (normalizedNames[i].contains(query)) {
+                matches.add(roster.get(i));
+            }
+        }
+        return matches;
+    }
+
+    @Benchmark
+    public List<Employee> searchShortQueryColumns() {
+        return nameIndex.search("ei");
+    }
+
+    private void printFootprint() {
+        // Ids, salaries, ages and titles as objects, which is what the columns replace.
+        final var fieldObjects = new ArrayList<>(rosterSize * 4);
+        for (final var employee : roster) {
+            fieldObjects.add(employee.getId());
+            fieldObjects.add(employee.getSalary());
+            fieldObjects.add(employee.getAge());
+            fieldObjects.add(employee.getTitle());
+        }
+        final var employees = GraphLayout.parseInstance(roster);
+        System.out.printf(
+                "%nHeap per employee (bytes), %d employees: Employee objects %.1f; their ids, salaries, ages and"
+                        + " titles %.1f, as columns %.1f; lower-cased names as strings %.1f, name index with its name"
+                        + " buffer %.1f%n",
+                rosterSize,
+                perEmployee(employees),
+                perEmployee(GraphLayout.parseInstance(fieldObjects.toArray())),
+                perEmployee(GraphLayout.parseInstance(columns)),
+                perEmployee(GraphLayout.parseInstance((Object[]) normalizedNames)),
+                // The index refers to the employees it returns; only what it adds on top of them counts.
+                perEmployee(GraphLayout.parseInstance(nameIndex).subtract(employees)));
+    }
+
+    private double perEmployee(GraphLayout layout) {
+        return (double) layout.totalSize() / rosterSize;
+    }
+
+    private record Ranked(Employee employee, int salary, int position) {}
+}
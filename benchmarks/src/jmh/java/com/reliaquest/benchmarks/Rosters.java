@@ -0,0 +1,87 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.models.Employee;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Deterministic rosters for the benchmarks, so that every run measures the same data.
+ */
+final class Rosters {
+
+    static final long SEED = 20240917L;
+
+    private static final String[] FIRST_NAMES = {
+        "Aarav", "Aniksha", "Beatriz", "Chen", "Diego", "Emma", "Fatima", "Hiroshi", "Ingrid", "Jamal", "Kavya", "Liam",
+        "Mei", "Noah", "Olga", "Priya", "Rajesh", "Shivani", "Tomas", "Yusuf"
+    };
+    private static final String[] LAST_NAMES = {
+        "Anderson",
+        "Brown",
+        "Garcia",
+        "Ivanova",
+        "Kumar",
+        "Lee",
+        "Martin",
+        "Nakamura",
+        "Okafor",
+        "Singh",
+        "Smith",
+        "Tanaka",
+        "Williams",
+        "Wong"
+    };
+    private static final String[] TITLES = {"Engineer", "Manager", "Analyst", "Designer", "Director"};
+
+    private Rosters() {}
+
+    static List<Employee> employees(int size) {
+        final var random = new Random(SEED);
+        final var employees = new ArrayList<Employee>(size);
+        for (int i = 0; i < size; i++) {
+            final var name = name(random, i);
+            employees.add(new Employee(
+                    uuid(random),
+                    name,
+                    30000 + random.nextInt(470000),
+                    16 + random.nextInt(55),
+                    TITLES[random.nextInt(TITLES.length)],
+                    email(name)));
+        }
+        return employees;
+    }
+
+    static List<MockEmployee> mockEmployees(int size) {
+        final var random = new Random(SEED);
+        final var employees = new ArrayList<MockEmployee>(size);
+        for (int i = 0; i < size; i++) {
+            final var name = name(random, i);
+            employees.add(MockEmployee.builder()
+                    .id(uuid(random))
+                    .name(name)
+                    .salary(30000 + random.nextInt(470000))
+                    .age(16 + random.nextInt(55))
+                    .title(TITLES[random.nextInt(TITLES.length)])
+                    .email(email(name))
+                    .build());
+        }
+        return employees;
+    }
+
+    private static String name(Random random, int i) {
+        // The sequence number keeps names mostly distinct, like the upstream's generated ones.
+        return FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)]
+                + " " + i;
+    }
+
+    private static UUID uuid(Random random) {
+        return new UUID(random.nextLong(), random.nextLong());
+    }
+
+    private static String email(String name) {
+        return name.toLowerCase().replace(' ', '.') + "@company.com";
+    }
+}
@@ -0,0 +1,9 @@
+package com.reliaquest.server.config;
+
+import com.reliaquest.server.repository.MockEmployeeRepository;
+
+/**
+ * The repository the mock server starts with, and the snapshot of it that the snapshot file already holds, or
+ * {@code null} if the file doesn't hold it, so that the file needn't be written until the roster changes.
+ */
+record MockEmployeeRoster(MockEmployeeRepository repository, MockEmployeeRepository.Snapshot savedSnapshot) {}
@@ -1,19 +1,22 @@
 package com.reliaquest.server.config;
 
-import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.repository.MockEmployeeRepository;
+import com.reliaquest.server.repository.MockEmployeeSnapshotFile;
+import com.reliaquest.server.repository.MockEmployeeSnapshotWriter;
+import com.reliaquest.server.repository.MockEmployeeWriteAheadLog;
+import com.reliaquest.server.service.MockEmployeeGenerator;
 import com.reliaquest.server.web.RandomRequestLimitInterceptor;
-import java.util.ArrayList;
-import java.util.List;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Locale;
-import java.util.UUID;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
-import net.datafaker.Faker;
-import net.datafaker.transformations.Field;
-import net.datafaker.transformations.JavaObjectTransformer;
-import net.datafaker.transformations.Schema;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
@@ -25,35 +28,118 @@ public class ServerConfiguration implements WebMvcConfigurer {
 
     public static final String EMAIL_TEMPLATE = "%s@company.com";
 
+    /*
+     * Switched off only for pure-throughput load tests; the random rate limiting is part of what the api is meant to
+     * cope with.
+     */
+    @Value("${mock.rate-limit.enabled:true}")
+    private boolean rateLimitEnabled;
+
+    /*
+     * Without a configured seed, every start generates a different roster; the seed is logged so that one can be
+     * generated again.
+     */
+    @Bean
+    public MockEmployeeGenerator mockEmployeeGenerator(@Value("${mock.employees.seed:#{null}}") Long seed) {
+        final var generator = new MockEmployeeGenerator(
+                seed != null ? seed : ThreadLocalRandom.current().nextLong(), Locale.getDefault());
+        log.info("Mock employee seed: {}", generator.seed());
+        return generator;
+    }
+
+    /*
+     * The repository is modifiable by design for CRUD operations. With a snapshot file configured, the roster is
+     * restored from it when it exists, and only generated when it doesn't. A file that exists but can't be read fails
+     * startup rather than being replaced, since it may be the only copy of the roster. With a write-ahead log, whose
+     * records only apply on top of the snapshot they were written after, a generated roster is saved straight away
+     * and any records left from an earlier roster are dropped.
+     */
+    @Bean
+    MockEmployeeRoster mockEmployeeRoster(
+            MockEmployeeGenerator generator,
+            @Value("${mock.employees.max:20}") int maxEmployees,
+            @Value("${mock.snapshot.file:}") String snapshotFile,
+            @Value("${mock.wal.file:}") String walFile)
+            throws IOException {
+        if (!walFile.isEmpty() && snapshotFile.isEmpty()) {
+            throw new IllegalStateException("mock.wal.file needs mock.snapshot.file to compact the log into");
+        }
+        if (!snapshotFile.isEmpty() && Files.exists(Path.of(snapshotFile))) {
+            final var start = System.nanoTime();
+            final MockEmployeeSnapshotFile.Contents contents;
+            try {
+                contents = MockEmployeeSnapshotFile.read(Path.of(snapshotFile));
+            } catch (IOException | RuntimeException e) {
+                throw new IllegalStateException(
+                        "Failed to restore mock employees from " + snapshotFile
+                                + "; move it aside to start with a new roster",
+                        e);
+            }
+            final var repository = new MockEmployeeRepository(contents.employees(), contents.sequence());
+            log.info(
+                    "Restored {} mock employees from {} in {} ms; mock.employees.max and mock.employees.seed don't"
+                            + " apply to a restored roster",
+                    repository.size(),
+                    snapshotFile,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return new MockEmployeeRoster(repository, repository.snapshot());
+        }
+        final var repository = new MockEmployeeRepository(generator.generate(maxEmployees));
+        if (walFile.isEmpty()) {
+            return new MockEmployeeRoster(repository, null);
+        }
+        MockEmployeeWriteAheadLog.discard(Path.of(walFile));
+        MockEmployeeSnapshotFile.write(repository.snapshot(), Path.of(snapshotFile));
+        return new MockEmployeeRoster(repository, repository.snapshot());
+    }
+
+    @Bean
+    public MockEmployeeRepository mockEmployeeRepository(MockEmployeeRoster roster) {
+        return roster.repository();
+    }
+
+    /*
+     * Makes creates and deletes durable between two snapshots, and replays the ones the snapshot file doesn't hold
+     * yet.
+     */
     @Bean
-    public Faker faker() {
-        return new Faker(Locale.getDefault());
+    @ConditionalOnExpression("!'${mock.wal.file:}'.isEmpty()")
+    public MockEmployeeWriteAheadLog mockEmployeeWriteAheadLog(
+            MockEmployeeRepository repository,
+            @Value("${mock.wal.file}") String walFile,
+            @Value("${mock.wal.fsync-policy:BATCHED}") MockEmployeeWriteAheadLog.FsyncPolicy fsyncPolicy,
+            @Value("${mock.wal.fsync-interval:100ms}") Duration fsyncInterval)
+            throws IOException {
+        log.info("Logging mock employee writes to {}, fsync policy {}", walFile, fsyncPolicy);
+        return MockEmployeeWriteAheadLog.open(Path.of(walFile), repository, fsyncPolicy, fsyncInterval);
     }
 
     /*
-     * This list is modifiable by design for CRUD operations.
+     * Keeps the snapshot file up to date with creates and deletes, in the background, compacting the write-ahead log
+     * if there is one; closed, and so written one last time, when the server shuts down. Writes replayed from the log
+     * make the repository's snapshot differ from the saved one, so they are written at the first check.
      */
     @Bean
-    public List<MockEmployee> mockEmployees(Faker faker, @Value("${mock.employees.max:20}") int maxEmployees) {
-        final var transformer = new JavaObjectTransformer();
-        final var schema = Schema.of(
-                Field.field("id", UUID::randomUUID),
-                Field.field("name", () -> faker.name().fullName()),
-                Field.field("salary", () -> faker.number().numberBetween(30000, 500000)),
-                Field.field("age", () -> faker.number().numberBetween(16, 70)),
-                Field.field("title", () -> faker.job().title()),
-                Field.field(
-                        "email",
-                        () -> EMAIL_TEMPLATE.formatted(
-                                faker.twitter().userName().toLowerCase())));
-        return IntStream.rangeClosed(1, maxEmployees)
-                .mapToObj(ignored -> (MockEmployee) transformer.apply(MockEmployee.class, schema))
-                .peek(mockEmployee -> log.debug("Created employee: {}", mockEmployee))
-                .collect(Collectors.toCollection(ArrayList::new));
+    @ConditionalOnExpression("!'${mock.snapshot.file:}'.isEmpty()")
+    public MockEmployeeSnapshotWriter mockEmployeeSnapshotWriter(
+            MockEmployeeRoster roster,
+            Optional<MockEmployeeWriteAheadLog> writeAheadLog,
+            @Value("${mock.snapshot.file}") String snapshotFile,
+            @Value("${mock.snapshot.interval:5s}") Duration interval) {
+        return new MockEmployeeSnapshotWriter(
+                roster.repository(),
+                Path.of(snapshotFile),
+                interval,
+                roster.savedSnapshot(),
+                writeAheadLog.orElse(null));
     }
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(new RandomRequestLimitInterceptor());
+        if (rateLimitEnabled) {
+            registry.addInterceptor(new RandomRequestLimitInterceptor());
+        } else {
+            log.warn("Random rate limiting is disabled");
+        }
     }
 }
@@ -1,15 +1,22 @@
 package com.reliaquest.server.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeePage;
 import com.reliaquest.server.model.Response;
+import com.reliaquest.server.repository.MockEmployeeRepository;
 import com.reliaquest.server.service.MockEmployeeService;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -17,20 +24,46 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/v1/employee")
 @RequiredArgsConstructor
 public class MockEmployeeController {
 
+    private static final int NDJSON_FLUSH_INTERVAL = 256;
+
     private final MockEmployeeService mockEmployeeService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping()
     public Response<List<MockEmployee>> getEmployees() {
         return Response.handledWith(mockEmployeeService.getMockEmployees());
     }
 
+    /*
+     * Cursor pagination, chosen by passing a limit; the next_cursor of each page is passed back to get the next one.
+     */
+    @GetMapping(params = "limit")
+    public Response<MockEmployeePage> getEmployeePage(
+            @RequestParam("limit") int limit, @RequestParam(name = "cursor", required = false) String cursor) {
+        return Response.handledWith(mockEmployeeService.getPage(limit, cursor));
+    }
+
+    /*
+     * The whole roster as newline-delimited JSON, one employee per line, written as it is serialized instead of
+     * being built into one document first.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamEmployees() {
+        final var snapshot = mockEmployeeService.getSnapshot();
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(outputStream -> writeNdjson(snapshot, outputStream));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Response<MockEmployee>> getEmployee(@PathVariable("id") UUID uuid) {
         return mockEmployeeService
@@ -48,4 +81,21 @@ public class MockEmployeeController {
     public Response<Boolean> deleteEmployee(@Valid @RequestBody DeleteMockEmployeeInput input) {
         return Response.handledWith(mockEmployeeService.delete(input));
     }
+
+    private void writeNdjson(MockEmployeeRepository.Snapshot snapshot, OutputStream outputStream) throws IOException {
+        // Flushing is left to the loop; by default every written value would be flushed on its own.
+        final var employeeWriter =
+                objectMapper.writerFor(MockEmployee.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (final var generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.setRootValueSeparator(null);
+            var written = 0;
+            for (var slot = snapshot.nextOccupiedSlot(0); slot >= 0; slot = snapshot.nextOccupiedSlot(slot + 1)) {
+                employeeWriter.writeValue(generator, snapshot.get(slot));
+                generator.writeRaw('\n');
+                if (++written % NDJSON_FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,414 @@
+package com.reliaquest.server.repository;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import lombok.NonNull;
+
+/**
+ * In-memory store of mock employees, kept in the order they were generated or created.
+ * <p>
+ * Employees are indexed by id, and by case-folded name, so finding an employee by id and deleting the first
+ * employee with a given name both take constant time however large the roster is. Every name bucket holds its
+ * employees in list order, which keeps delete-by-name removing the same employee a linear scan would. The name index
+ * is only built by the first delete by name, so a large roster, e.g. one restored at startup, is ready as soon as its
+ * ids are indexed.
+ * <p>
+ * Readers never lock. Every employee occupies a slot that never moves; the slots live in fixed-size chunks that
+ * are copied on write, and each write publishes a new immutable {@link Snapshot} through a volatile field. A reader
+ * works on whichever snapshot it picked up, so it sees every write before that snapshot and none after it, while
+ * a write copies one chunk and the chunk table instead of the whole roster. Writes are serialized by a lock and
+ * take effect at the moment their snapshot is published.
+ * <p>
+ * A deleted employee leaves an empty slot behind; a chunk whose slots are all empty is dropped, so the memory left
+ * behind by deletes is one table entry per {@value #CHUNK_SIZE} slots.
+ * <p>
+ * Every write can be recorded in a {@link Journal}, in the order the writes take effect, and every snapshot carries the
+ * sequence number of the last write it holds, so a snapshot saved to disk says which journal records it already
+ * contains.
+ */
+public class MockEmployeeRepository {
+
+    static final int CHUNK_SIZE = 1024;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    // Only replaced while holding the write lock.
+    private Journal journal = Journal.NONE;
+
+    // Slot of every live employee. Entries are added before the snapshot holding the employee is published and
+    // removed after the snapshot without it is, so the snapshot alone decides what a reader sees.
+    private final Map<UUID, Integer> slotsById;
+
+    // Slots of live employees by name, in list order, or null until the first delete by name; only touched while
+    // holding the write lock.
+    private Map<String, Deque<Integer>> slotsByName;
+
+    public MockEmployeeRepository(@NonNull List<MockEmployee> mockEmployees) {
+        this(mockEmployees, 0);
+    }
+
+    /**
+     * @param sequence sequence number of the last journal record {@code mockEmployees} already holds
+     */
+    public MockEmployeeRepository(@NonNull List<MockEmployee> mockEmployees, long sequence) {
+        // Sized up front, so indexing a large roster never rehashes.
+        slotsById = new ConcurrentHashMap<>(mockEmployees.size());
+        for (int slot = 0; slot < mockEmployees.size(); slot++) {
+            index(mockEmployees.get(slot), slot);
+        }
+        snapshot = Snapshot.of(mockEmployees, sequence);
+    }
+
+    /**
+     * Records every later write in {@code journal}.
+     */
+    public void attach(@NonNull Journal journal) {
+        writeLock.lock();
+        try {
+            this.journal = journal;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the current snapshot; it never changes, however the repository is modified afterwards.
+     */
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Returns all employees in list order, as of a single point in time.
+     */
+    public List<MockEmployee> findAll() {
+        return snapshot.employees();
+    }
+
+    public Optional<MockEmployee> findById(@NonNull UUID uuid) {
+        final var slot = slotsById.get(uuid);
+        if (slot == null) {
+            return Optional.empty();
+        }
+        // The index may run ahead of or behind the snapshot; trust the snapshot.
+        return Optional.ofNullable(snapshot.get(slot)).filter(employee -> uuid.equals(employee.getId()));
+    }
+
+    public void add(@NonNull MockEmployee mockEmployee) {
+        final long sequence;
+        final Journal recordedIn;
+        writeLock.lock();
+        try {
+            Objects.requireNonNull(mockEmployee.getId(), "mock employees need an id");
+            if (slotsById.containsKey(mockEmployee.getId())) {
+                throw new IllegalArgumentException("Duplicate mock employee id: " + mockEmployee.getId());
+            }
+            // Recorded before anything changes, so a write the journal refuses leaves no trace.
+            recordedIn = journal;
+            sequence = recordedIn.created(mockEmployee);
+            final var current = snapshot;
+            index(mockEmployee, current.slotCount());
+            snapshot = current.withAppended(mockEmployee, Math.max(current.sequence(), sequence));
+        } finally {
+            writeLock.unlock();
+        }
+        recordedIn.awaitDurable(sequence);
+    }
+
+    /**
+     * Removes the first employee, in list order, whose name matches {@code name} ignoring case.
+     */
+    public Optional<MockEmployee> deleteFirstByName(@NonNull String name) {
+        final MockEmployee mockEmployee;
+        final long sequence;
+        final Journal recordedIn;
+        writeLock.lock();
+        try {
+            if (slotsByName == null) {
+                indexNames();
+            }
+            final var key = nameKey(name);
+            final var slots = slotsByName.get(key);
+            if (slots == null) {
+                return Optional.empty();
+            }
+            recordedIn = journal;
+            sequence = recordedIn.deleted(name);
+            final int slot = slots.pollFirst();
+            if (slots.isEmpty()) {
+                slotsByName.remove(key);
+            }
+            final var current = snapshot;
+            mockEmployee = current.get(slot);
+            snapshot = current.withCleared(slot, Math.max(current.sequence(), sequence));
+            slotsById.remove(mockEmployee.getId());
+        } finally {
+            writeLock.unlock();
+        }
+        recordedIn.awaitDurable(sequence);
+        return Optional.of(mockEmployee);
+    }
+
+    public int size() {
+        return snapshot.size();
+    }
+
+    private void index(MockEmployee mockEmployee, int slot) {
+        Objects.requireNonNull(mockEmployee.getId(), "mock employees need an id");
+        if (slotsById.putIfAbsent(mockEmployee.getId(), slot) != null) {
+            throw new IllegalArgumentException("Duplicate mock employee id: " + mockEmployee.getId());
+        }
+        if (slotsByName != null) {
+            indexName(mockEmployee, slot);
+        }
+    }
+
+    /**
+     * Builds the name index from the current snapshot; called with the write lock held, so no write can slip in.
+     */
+    private void indexNames() {
+        final var current = snapshot;
+        slotsByName = HashMap.newHashMap(current.size());
+        for (int slot = current.nextOccupiedSlot(0); slot >= 0; slot = current.nextOccupiedSlot(slot + 1)) {
+            indexName(current.get(slot), slot);
+        }
+    }
+
+    private void indexName(MockEmployee mockEmployee, int slot) {
+        if (mockEmployee.getName() != null) {
+            slotsByName
+                    // Most names are unique; a deque for two slots keeps their buckets small.
+                    .computeIfAbsent(nameKey(mockEmployee.getName()), ignored -> new ArrayDeque<>(1))
+                    .addLast(slot);
+        }
+    }
+
+    /**
+     * Folds every character the way {@link String#equalsIgnoreCase(String)} compares it, so names share a key exactly
+     * when they are equal ignoring case.
+     */
+    private static String nameKey(String name) {
+        if (isAscii(name)) {
+            // Folding leaves ASCII letters lower case and everything else in ASCII as it is.
+            return name.toLowerCase(Locale.ROOT);
+        }
+        final var folded = new StringBuilder(name.length());
+        name.codePoints()
+                .map(codePoint -> Character.toLowerCase(Character.toUpperCase(codePoint)))
+                .forEach(folded::appendCodePoint);
+        return folded.toString();
+    }
+
+    private static boolean isAscii(String name) {
+        for (int i = 0; i < name.length(); i++) {
+            if (name.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Records the repository's writes, e.g. to make them durable.
+     * <p>
+     * {@link #created} and {@link #deleted} are called with the repository's write lock held, in the order the writes
+     * take effect, and before the write changes anything; if they throw, the write doesn't happen. They return the
+     * write's sequence number, which must grow with every write; {@link #NONE} returns 0, leaving snapshots with the
+     * sequence number of their last recorded write. {@link #awaitDurable} is called once the lock is
+     * released, and returns when the write is as durable as the journal makes it.
+     */
+    public interface Journal {
+
+        Journal NONE = new Journal() {
+            @Override
+            public long created(MockEmployee mockEmployee) {
+                return 0;
+            }
+
+            @Override
+            public long deleted(String name) {
+                return 0;
+            }
+
+            @Override
+            public void awaitDurable(long sequence) {}
+        };
+
+        long created(MockEmployee mockEmployee);
+
+        /**
+         * Records the deletion of the first employee named {@code name}, ignoring case, which replays it exactly as
+         * long as every write before it is replayed in order.
+         */
+        long deleted(String name);
+
+        void awaitDurable(long sequence);
+    }
+
+    /**
+     * The roster at one point in time. Neither the chunk table nor any chunk is modified once published.
+     */
+    public static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(new MockEmployee[0][], 0, 0, 0);
+
+        private final MockEmployee[][] chunks;
+        private final int slotCount;
+        private final int size;
+        private final long sequence;
+        private volatile List<MockEmployee> employees;
+
+        private static Snapshot of(List<MockEmployee> employees, long sequence) {
+            final var chunks = new MockEmployee[(employees.size() + CHUNK_SIZE - 1) / CHUNK_SIZE][];
+            for (int chunkIndex = 0; chunkIndex < chunks.length; chunkIndex++) {
+                final var from = chunkIndex * CHUNK_SIZE;
+                final var chunk = new MockEmployee[CHUNK_SIZE];
+                for (int slot = from; slot < Math.min(from + CHUNK_SIZE, employees.size()); slot++) {
+                    chunk[slot - from] = employees.get(slot);
+                }
+                chunks[chunkIndex] = chunk;
+            }
+            return new Snapshot(chunks, employees.size(), employees.size(), sequence);
+        }
+
+        private Snapshot(MockEmployee[][] chunks, int slotCount, int size, long sequence) {
+            this.chunks = chunks;
+            this.slotCount = slotCount;
+            this.size = size;
+            this.sequence = sequence;
+        }
+
+        /**
+         * Sequence number of the last journal record this snapshot holds.
+         */
+        public long sequence() {
+            return sequence;
+        }
+
+        /**
+         * Number of live employees.
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Number of slots ever handed out; slots of deleted employees stay empty.
+         */
+        public int slotCount() {
+            return slotCount;
+        }
+
+        /**
+         * Returns the employee in {@code slot}, or {@code null} if the slot is empty or not handed out yet.
+         */
+        public MockEmployee get(int slot) {
+            if (slot < 0 || slot >= slotCount) {
+                return null;
+            }
+            final var chunk = chunks[slot / CHUNK_SIZE];
+            return chunk == null ? null : chunk[slot % CHUNK_SIZE];
+        }
+
+        /**
+         * Returns the first slot at or after {@code fromSlot} that holds an employee, or -1 if there is none.
+         * Slots never move, so a slot is a stable position to resume from in a later snapshot.
+         */
+        public int nextOccupiedSlot(int fromSlot) {
+            for (int slot = Math.max(0, fromSlot); slot < slotCount; slot++) {
+                final var chunk = chunks[slot / CHUNK_SIZE];
+                if (chunk == null) {
+                    // Skip the rest of a dropped chunk in one step.
+                    slot = (slot / CHUNK_SIZE + 1) * CHUNK_SIZE - 1;
+                } else if (chunk[slot % CHUNK_SIZE] != null) {
+                    return slot;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Hands every live employee to {@code action} in list order, without building a list.
+         */
+        public void forEach(Consumer<? super MockEmployee> action) {
+            for (final var chunk : chunks) {
+                if (chunk != null) {
+                    for (final var employee : chunk) {
+                        if (employee != null) {
+                            action.accept(employee);
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * Returns the live employees in list order. Built on first use and then shared by every caller.
+         */
+        public List<MockEmployee> employees() {
+            var result = employees;
+            if (result == null) {
+                final var collected = new ArrayList<MockEmployee>(size);
+                forEach(collected::add);
+                result = Collections.unmodifiableList(collected);
+                employees = result;
+            }
+            return result;
+        }
+
+        private Snapshot withAppended(MockEmployee employee, long sequence) {
+            final var chunkIndex = slotCount / CHUNK_SIZE;
+            final var offset = slotCount % CHUNK_SIZE;
+            final MockEmployee[][] updatedChunks;
+            final MockEmployee[] chunk;
+            if (offset == 0) {
+                updatedChunks = Arrays.copyOf(chunks, chunkIndex + 1);
+                chunk = new MockEmployee[CHUNK_SIZE];
+            } else {
+                updatedChunks = chunks.clone();
+                chunk = chunks[chunkIndex].clone();
+            }
+            chunk[offset] = employee;
+            updatedChunks[chunkIndex] = chunk;
+            return new Snapshot(updatedChunks, slotCount + 1, size + 1, sequence);
+        }
+
+        private Snapshot withCleared(int slot, long sequence) {
+            final var chunkIndex = slot / CHUNK_SIZE;
+            final var chunk = chunks[chunkIndex].clone();
+            chunk[slot % CHUNK_SIZE] = null;
+            final var updatedChunks = chunks.clone();
+            updatedChunks[chunkIndex] = isEmpty(chunk) && isFull(chunkIndex) ? null : chunk;
+            return new Snapshot(updatedChunks, slotCount, size - 1, sequence);
+        }
+
+        private boolean isFull(int chunkIndex) {
+            // A chunk still handing out slots is kept, so appending never has to bring it back.
+            return (chunkIndex + 1) * CHUNK_SIZE <= slotCount;
+        }
+
+        private static boolean isEmpty(MockEmployee[] chunk) {
+            for (final var employee : chunk) {
+                if (employee != null) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.reliaquest.server.repository;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Compact binary file holding a roster of mock employees, so the mock server can come back with the roster it had
+ * instead of generating a new one.
+ * <p>
+ * The file starts with a header (magic number, format version, number of employees, and the sequence number of the
+ * last {@linkplain MockEmployeeRepository.Journal journal} record the roster holds) and the distinct titles, which
+ * the employees then refer to by their position. Every employee is its id as two {@code long}s, a byte recording
+ * whether salary and age are present, both as {@code int}s, its title's position, and its name and email as UTF-8.
+ * Lengths and positions are varints, one more than their value, with 0 standing for {@code null}.
+ * <p>
+ * Files are read through a memory-mapped {@link FileChannel}, so loading costs little more than building the
+ * employees. They are written to a temporary file next to the target and moved over it, so a reader never sees a
+ * half-written file and a crash while writing leaves the previous one in place.
+ */
+public final class MockEmployeeSnapshotFile {
+
+    static final int MAGIC = 0x4D454D50;
+    static final int VERSION = 2;
+
+    private static final int HAS_SALARY = 1;
+    private static final int HAS_AGE = 2;
+    // Id, presence byte, salary, age, and the title position, name and email at one byte each when null.
+    private static final int MIN_EMPLOYEE_SIZE = Long.BYTES * 2 + 1 + Integer.BYTES * 2 + 3;
+
+    private MockEmployeeSnapshotFile() {}
+
+    /**
+     * Employees of a snapshot file, in list order, and the sequence number of the last journal record they hold.
+     */
+    public record Contents(List<MockEmployee> employees, long sequence) {}
+
+    /**
+     * Returns the contents of {@code path}.
+     *
+     * @throws IOException if the file can't be read or isn't a snapshot in this format
+     */
+    public static Contents read(Path path) throws IOException {
+        try (final var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot too large to map: " + path);
+            }
+            return read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (BufferUnderflowException
+                | IllegalArgumentException
+                | IndexOutOfBoundsException
+                | NegativeArraySizeException e) {
+            throw new IOException("Truncated or corrupt snapshot: " + path, e);
+        }
+    }
+
+    /**
+     * Writes every live employee of {@code snapshot} to {@code path}, replacing it as a whole.
+     */
+    public static void write(MockEmployeeRepository.Snapshot snapshot, Path path) throws IOException {
+        final var titles = new ArrayList<String>();
+        final var titlePositions = new HashMap<String, Integer>();
+        snapshot.forEach(employee -> {
+            if (employee.getTitle() != null && !titlePositions.containsKey(employee.getTitle())) {
+                titlePositions.put(employee.getTitle(), titles.size());
+                titles.add(employee.getTitle());
+            }
+        });
+        final var temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (final var channel = FileChannel.open(
+                        temporary,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING);
+                final var out =
+                        new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(snapshot.size());
+            out.writeLong(snapshot.sequence());
+            writeVarint(out, titles.size());
+            for (final var title : titles) {
+                writeString(out, title);
+            }
+            for (int slot = snapshot.nextOccupiedSlot(0); slot >= 0; slot = snapshot.nextOccupiedSlot(slot + 1)) {
+                final var employee = snapshot.get(slot);
+                out.writeLong(employee.getId().getMostSignificantBits());
+                out.writeLong(employee.getId().getLeastSignificantBits());
+                out.writeByte(
+                        (employee.getSalary() != null ? HAS_SALARY : 0) | (employee.getAge() != null ? HAS_AGE : 0));
+                out.writeInt(employee.getSalary() != null ? employee.getSalary() : 0);
+                out.writeInt(employee.getAge() != null ? employee.getAge() : 0);
+                writeVarint(out, employee.getTitle() != null ? titlePositions.get(employee.getTitle()) + 1 : 0);
+                writeString(out, employee.getName());
+                writeString(out, employee.getEmail());
+            }
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static Contents read(ByteBuffer buffer) throws IOException {
+        if (buffer.getInt() != MAGIC) {
+            throw new IOException("Not a mock employee snapshot");
+        }
+        final var version = buffer.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported snapshot version: " + version);
+        }
+        final var count = buffer.getInt();
+        final var sequence = buffer.getLong();
+        final var titleCount = readVarint(buffer);
+        // Checked before allocating for them, so that a corrupt header can't ask for more than the file could hold.
+        if (titleCount < 0 || titleCount > buffer.remaining()) {
+            throw new IOException("Corrupt title count: " + titleCount);
+        }
+        final var titles = new String[titleCount];
+        final var bytes = new byte[256];
+        for (int i = 0; i < titles.length; i++) {
+            titles[i] = readString(buffer, bytes);
+        }
+        if (count < 0 || count > buffer.remaining() / MIN_EMPLOYEE_SIZE) {
+            throw new IOException("Corrupt employee count: " + count);
+        }
+        final var employees = new MockEmployee[count];
+        for (int i = 0; i < count; i++) {
+            final var id = new UUID(buffer.getLong(), buffer.getLong());
+            final var present = buffer.get();
+            final var salary = buffer.getInt();
+            final var age = buffer.getInt();
+            final var title = readVarint(buffer);
+            employees[i] = new MockEmployee(
+                    id,
+                    readString(buffer, bytes),
+                    (present & HAS_SALARY) != 0 ? salary : null,
+                    (present & HAS_AGE) != 0 ? age : null,
+                    title == 0 ? null : titles[title - 1],
+                    readString(buffer, bytes));
+        }
+        if (buffer.hasRemaining()) {
+            throw new IOException("Unexpected data after the last employee");
+        }
+        return new Contents(List.of(employees), sequence);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            writeVarint(out, 0);
+            return;
+        }
+        final var bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(out, bytes.length + 1);
+        out.write(bytes);
+    }
+
+    /**
+     * Reads a string through {@code bytes}, a scratch buffer that is only used if it's large enough.
+     */
+    private static String readString(ByteBuffer buffer, byte[] bytes) {
+        final var length = readVarint(buffer) - 1;
+        if (length < 0) {
+            return null;
+        }
+        if (length > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        final var target = length <= bytes.length ? bytes : new byte[length];
+        buffer.get(target, 0, length);
+        return new String(target, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private static void writeVarint(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte(value & 0x7F | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarint(ByteBuffer buffer) {
+        var value = 0;
+        for (int shift = 0; ; shift += 7) {
+            final var b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+            if (shift >= 28) {
+                throw new IllegalArgumentException("Varint too long");
+            }
+        }
+    }
+}
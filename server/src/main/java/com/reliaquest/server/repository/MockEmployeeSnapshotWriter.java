@@ -0,0 +1,99 @@
+package com.reliaquest.server.repository;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps a {@link MockEmployeeSnapshotFile} up to date with a repository, from a background thread.
+ * <p>
+ * Every {@code interval}, the writer checks whether the repository has published a new snapshot since the last one
+ * it wrote and, if so, writes it. Snapshots are immutable and picked up without locking, so requests never wait for
+ * a write, and any number of writes between two checks cost one file write. Closing the writer stops it and writes
+ * whatever changed since its last write, so a clean shutdown loses nothing.
+ * <p>
+ * With a {@link MockEmployeeWriteAheadLog}, every snapshot written is also a compaction: the log starts a new segment
+ * before the snapshot is taken, and the segments the snapshot holds all records of are deleted once it is on disk.
+ */
+@Slf4j
+public class MockEmployeeSnapshotWriter implements AutoCloseable {
+
+    private final MockEmployeeRepository repository;
+    private final Path path;
+    private final MockEmployeeWriteAheadLog writeAheadLog;
+    private final ScheduledExecutorService executor;
+
+    // Only touched from the executor's thread, and by close() once that thread has stopped.
+    private MockEmployeeRepository.Snapshot written;
+
+    /**
+     * @param written the snapshot {@code path} already holds, e.g. because the roster was just loaded from it, or
+     *     {@code null}; the file is written as soon as the repository's snapshot is a different one
+     */
+    public MockEmployeeSnapshotWriter(
+            MockEmployeeRepository repository, Path path, Duration interval, MockEmployeeRepository.Snapshot written) {
+        this(repository, path, interval, written, null);
+    }
+
+    /**
+     * @param writeAheadLog log of {@code repository}'s writes to compact into the snapshot file, or {@code null}
+     */
+    public MockEmployeeSnapshotWriter(
+            MockEmployeeRepository repository,
+            Path path,
+            Duration interval,
+            MockEmployeeRepository.Snapshot written,
+            MockEmployeeWriteAheadLog writeAheadLog) {
+        this.repository = repository;
+        this.path = path;
+        this.writeAheadLog = writeAheadLog;
+        this.written = written;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final var thread = new Thread(runnable, "mock-snapshot-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(
+                this::writeIfChanged, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+            log.warn("Snapshot writer did not stop in time; skipping the final write to {}", path);
+            return;
+        }
+        writeIfChanged();
+    }
+
+    private void writeIfChanged() {
+        if (repository.snapshot() == written) {
+            return;
+        }
+        final var start = System.nanoTime();
+        try {
+            if (writeAheadLog != null) {
+                writeAheadLog.rotate();
+            }
+            final var current = repository.snapshot();
+            MockEmployeeSnapshotFile.write(current, path);
+            written = current;
+            if (writeAheadLog != null) {
+                writeAheadLog.compact(current.sequence());
+            }
+            log.debug(
+                    "Wrote {} employees to {} in {} ms",
+                    current.size(),
+                    path,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (IOException | RuntimeException e) {
+            // Retried at the next check; the previous file stays in place meanwhile.
+            log.warn("Failed to write snapshot to {}", path, e);
+        }
+    }
+}
@@ -0,0 +1,573 @@
+package com.reliaquest.server.repository;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32C;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Append-only log of a repository's creates and deletes, so that writes survive a crash between two snapshots.
+ * <p>
+ * The log is a series of segment files named after the log's path and the sequence number of their first record.
+ * Every record is its length and a CRC32C of its contents, followed by its sequence number, its type and the created
+ * employee or the deleted name. Records are appended in the order the repository's writes take effect, since the
+ * repository hands them over with its write lock held, and are forced to disk according to the {@link FsyncPolicy}.
+ * <p>
+ * Compaction: {@link #rotate()} starts a new segment, and {@link #compact(long)} deletes the segments that a snapshot
+ * file already holds all records of. Recovery: {@link #open} replays the records of every segment that are newer
+ * than the repository's snapshot, cutting off a record torn by a crash at the end of the last segment, and then keeps
+ * appending to a new segment.
+ * <p>
+ * When records can't be written or forced, what the writes they belong to have done depends on the policy. With
+ * {@code EVERY_WRITE} a record is forced before the repository applies its write, so the write fails without taking
+ * effect. With {@code BATCHED} the write has already taken effect in memory, and its caller gets the error. With
+ * {@code INTERVAL} nobody waits for the record, and the failure is only reported to later writes. Either way, the
+ * segment is cut back to its last forced record, so a write that failed never comes back on replay, and the log
+ * refuses every later write, which then doesn't take effect, as well as {@link #rotate()}, so that no snapshot holding
+ * a failed write is taken for compaction.
+ */
+@Slf4j
+public class MockEmployeeWriteAheadLog implements MockEmployeeRepository.Journal, AutoCloseable {
+
+    public enum FsyncPolicy {
+        /**
+         * Every write is forced to disk on its own before it takes effect.
+         */
+        EVERY_WRITE,
+        /**
+         * Group commit: every write waits until it is on disk, but a background thread forces all writes pending at
+         * the time at once, so concurrent writers share one fsync.
+         */
+        BATCHED,
+        /**
+         * Writes don't wait; a background thread forces them every interval, so a crash loses at most the writes of
+         * the last interval.
+         */
+        INTERVAL
+    }
+
+    private static final byte CREATED = 1;
+    private static final byte DELETED = 2;
+    // Length and CRC of the record that follows them.
+    private static final int HEADER_SIZE = 8;
+    private static final int INITIAL_BUFFER_SIZE = 1 << 16;
+
+    private final Path path;
+    private final FsyncPolicy policy;
+    private final Duration interval;
+    private final Thread flusher;
+
+    // Guards the buffers and everything about sequence numbers and the state of the log.
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition writesPending = lock.newCondition();
+    private final Condition writesDurable = lock.newCondition();
+    private ByteBuffer pending = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+    // The buffer not being appended to; null while the flusher writes it out.
+    private ByteBuffer spare = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+    private final CRC32C crc = new CRC32C();
+    private long lastSequence;
+    private long durableSequence;
+    private IOException failure;
+    private boolean closed;
+
+    // Guards the segment files. Taken before the lock whenever both are needed.
+    private final ReentrantLock segmentLock = new ReentrantLock();
+    private FileChannel segment;
+    private long segmentFirstSequence;
+    private long segmentLastSequence;
+    // First to last sequence number of every segment no longer appended to.
+    private final TreeMap<Long, Long> closedSegments = new TreeMap<>();
+
+    private MockEmployeeWriteAheadLog(Path path, FsyncPolicy policy, Duration interval, long lastSequence) {
+        this.path = path;
+        this.policy = policy;
+        this.interval = interval;
+        this.lastSequence = lastSequence;
+        this.durableSequence = lastSequence;
+        if (policy == FsyncPolicy.EVERY_WRITE) {
+            flusher = null;
+        } else {
+            flusher = new Thread(this::flushContinuously, "mock-wal-flusher");
+            flusher.setDaemon(true);
+        }
+    }
+
+    /**
+     * Replays the records in the segments at {@code path} that {@code repository} doesn't hold yet, then records every
+     * later write of {@code repository}.
+     */
+    public static MockEmployeeWriteAheadLog open(
+            Path path, MockEmployeeRepository repository, FsyncPolicy policy, Duration interval) throws IOException {
+        final var replay = new Replay();
+        final var closedSegments = new TreeMap<Long, Long>();
+        repository.attach(replay);
+        var lastSequence = repository.snapshot().sequence();
+        final var segments = segments(path);
+        for (final var entry : segments.entrySet()) {
+            final var last =
+                    replay(entry.getValue(), repository, replay, entry.getKey().equals(segments.lastKey()));
+            if (last < 0) {
+                Files.delete(entry.getValue());
+            } else {
+                closedSegments.put(entry.getKey(), last);
+                lastSequence = Math.max(lastSequence, last);
+            }
+        }
+        if (replay.replayed > 0) {
+            log.info("Replayed {} writes from {}", replay.replayed, path);
+        }
+        final var writeAheadLog = new MockEmployeeWriteAheadLog(path, policy, interval, lastSequence);
+        writeAheadLog.closedSegments.putAll(closedSegments);
+        writeAheadLog.openSegment(lastSequence + 1);
+        repository.attach(writeAheadLog);
+        if (writeAheadLog.flusher != null) {
+            writeAheadLog.flusher.start();
+        }
+        return writeAheadLog;
+    }
+
+    /**
+     * Deletes every segment at {@code path}, e.g. because the roster they were written against is gone.
+     */
+    public static void discard(Path path) throws IOException {
+        for (final var segment : segments(path).values()) {
+            log.warn("Discarding {}, written against a roster that no longer exists", segment);
+            Files.delete(segment);
+        }
+    }
+
+    @Override
+    public long created(MockEmployee mockEmployee) {
+        final var name = bytes(mockEmployee.getName());
+        final var title = bytes(mockEmployee.getTitle());
+        final var email = bytes(mockEmployee.getEmail());
+        return append(
+                Long.BYTES * 2 + 1 + Integer.BYTES * 2 + length(name) + length(title) + length(email),
+                CREATED,
+                buffer -> {
+                    buffer.putLong(mockEmployee.getId().getMostSignificantBits());
+                    buffer.putLong(mockEmployee.getId().getLeastSignificantBits());
+                    buffer.put((byte)
+                            ((mockEmployee.getSalary() != null ? 1 : 0) | (mockEmployee.getAge() != null ? 2 : 0)));
+                    buffer.putInt(mockEmployee.getSalary() != null ? mockEmployee.getSalary() : 0);
+                    buffer.putInt(mockEmployee.getAge() != null ? mockEmployee.getAge() : 0);
+                    put(buffer, name);
+                    put(buffer, title);
+                    put(buffer, email);
+                });
+    }
+
+    @Override
+    public long deleted(String name) {
+        final var bytes = bytes(name);
+        return append(length(bytes), DELETED, buffer -> put(buffer, bytes));
+    }
+
+    @Override
+    public void awaitDurable(long sequence) {
+        if (policy != FsyncPolicy.BATCHED) {
+            // Already forced, or not waited for by design; a failure is reported by the next write.
+            return;
+        }
+        lock.lock();
+        try {
+            while (durableSequence < sequence && failure == null) {
+                writesDurable.awaitUninterruptibly();
+            }
+            if (durableSequence < sequence) {
+                throw new UncheckedIOException("Write-ahead log failed", failure);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Starts a new segment, so that the records up to now can be deleted once a snapshot holds them.
+     */
+    public void rotate() throws IOException {
+        segmentLock.lock();
+        try {
+            flushPending();
+            if (segmentLastSequence < segmentFirstSequence) {
+                return;
+            }
+            segment.close();
+            closedSegments.put(segmentFirstSequence, segmentLastSequence);
+            openSegment(segmentLastSequence + 1);
+        } finally {
+            segmentLock.unlock();
+        }
+    }
+
+    /**
+     * Deletes the segments no longer appended to whose records are all at or before {@code sequence}.
+     */
+    public void compact(long sequence) throws IOException {
+        segmentLock.lock();
+        try {
+            for (final var iterator = closedSegments.entrySet().iterator(); iterator.hasNext(); ) {
+                final var closedSegment = iterator.next();
+                if (closedSegment.getValue() > sequence) {
+                    break;
+                }
+                Files.deleteIfExists(segmentPath(path, closedSegment.getKey()));
+                iterator.remove();
+            }
+        } finally {
+            segmentLock.unlock();
+        }
+    }
+
+    /**
+     * Forces every record appended so far to disk and stops appending.
+     */
+    @Override
+    public void close() throws IOException, InterruptedException {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            writesPending.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        if (flusher != null) {
+            flusher.join();
+        }
+        segmentLock.lock();
+        try {
+            flushPending();
+            segment.close();
+        } finally {
+            segmentLock.unlock();
+        }
+    }
+
+    private long append(int length, byte type, Consumer<ByteBuffer> payload) {
+        final long sequence;
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Write-ahead log is closed");
+            }
+            if (failure != null) {
+                throw new UncheckedIOException("Write-ahead log failed", failure);
+            }
+            final var recordLength = Long.BYTES + 1 + length;
+            ensureCapacity(HEADER_SIZE + recordLength);
+            sequence = lastSequence + 1;
+            final var start = pending.position();
+            pending.position(start + HEADER_SIZE);
+            pending.putLong(sequence);
+            pending.put(type);
+            payload.accept(pending);
+            crc.reset();
+            crc.update(pending.array(), start + HEADER_SIZE, recordLength);
+            pending.putInt(start, recordLength);
+            pending.putInt(start + Integer.BYTES, (int) crc.getValue());
+            lastSequence = sequence;
+            if (policy == FsyncPolicy.BATCHED) {
+                writesPending.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (policy == FsyncPolicy.EVERY_WRITE) {
+            try {
+                flushPending();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Write-ahead log failed", e);
+            }
+        }
+        return sequence;
+    }
+
+    private void flushContinuously() {
+        try {
+            while (true) {
+                lock.lock();
+                try {
+                    if (policy == FsyncPolicy.BATCHED) {
+                        while (pending.position() == 0 && !closed) {
+                            writesPending.awaitUninterruptibly();
+                        }
+                    } else if (!closed) {
+                        writesPending.awaitNanos(interval.toNanos());
+                    }
+                    if (closed) {
+                        // close() writes out whatever is left.
+                        return;
+                    }
+                } finally {
+                    lock.unlock();
+                }
+                flushPending();
+            }
+        } catch (IOException e) {
+            log.error("Write-ahead log {} failed; refusing further writes", path, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Writes every pending record to the current segment and forces it to disk. Records appended meanwhile go to the
+     * other buffer and wait for the next flush.
+     */
+    private void flushPending() throws IOException {
+        segmentLock.lock();
+        try {
+            final ByteBuffer batch;
+            final long upTo;
+            lock.lock();
+            try {
+                if (failure != null) {
+                    throw failure;
+                }
+                if (pending.position() == 0) {
+                    return;
+                }
+                batch = pending;
+                pending = spare;
+                spare = null;
+                upTo = lastSequence;
+            } finally {
+                lock.unlock();
+            }
+            final var durableSize = segment.position();
+            try {
+                batch.flip();
+                while (batch.hasRemaining()) {
+                    segment.write(batch);
+                }
+                segment.force(false);
+            } catch (IOException e) {
+                try {
+                    // The batch may be partly or wholly on disk; it must not be replayed once its writes failed.
+                    segment.truncate(durableSize);
+                    segment.force(false);
+                } catch (IOException truncateFailure) {
+                    e.addSuppressed(truncateFailure);
+                    log.error(
+                            "Failed to cut failed records off {}; they may be replayed",
+                            segmentPath(path, segmentFirstSequence),
+                            truncateFailure);
+                }
+                lock.lock();
+                try {
+                    failure = e;
+                    writesDurable.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+                throw e;
+            }
+            segmentLastSequence = upTo;
+            batch.clear();
+            lock.lock();
+            try {
+                spare = batch;
+                durableSequence = upTo;
+                writesDurable.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            segmentLock.unlock();
+        }
+    }
+
+    private void ensureCapacity(int length) {
+        if (pending.remaining() < length) {
+            final var grown = ByteBuffer.allocate(Math.max(pending.capacity() * 2, pending.position() + length));
+            pending.flip();
+            grown.put(pending);
+            pending = grown;
+        }
+    }
+
+    private void openSegment(long firstSequence) throws IOException {
+        segment = FileChannel.open(
+                segmentPath(path, firstSequence),
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        segmentFirstSequence = firstSequence;
+        segmentLastSequence = firstSequence - 1;
+    }
+
+    /**
+     * Applies the records of {@code segment} that {@code repository} doesn't hold yet, and returns the sequence
+     * number of its last record, or -1 if it has none. A torn record ends the last segment, which is cut off before
+     * it; anywhere else, it is corruption.
+     */
+    private static long replay(Path segment, MockEmployeeRepository repository, Replay replay, boolean last)
+            throws IOException {
+        final var applyAfter = repository.snapshot().sequence();
+        var lastSequence = -1L;
+        try (final var channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            final var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            final var crc = new CRC32C();
+            while (buffer.hasRemaining()) {
+                final var start = buffer.position();
+                final var record = record(buffer, crc);
+                if (record == null) {
+                    if (!last) {
+                        throw new IOException("Corrupt record at offset " + start + " of " + segment);
+                    }
+                    log.warn("Cutting off a torn record at offset {} of {}", start, segment);
+                    channel.truncate(start);
+                    break;
+                }
+                final var sequence = record.getLong();
+                final var type = record.get();
+                lastSequence = sequence;
+                if (sequence <= applyAfter) {
+                    continue;
+                }
+                replay.sequence = sequence;
+                replay.replayed++;
+                if (type == CREATED) {
+                    repository.add(employee(record));
+                } else if (type == DELETED) {
+                    final var name = string(record);
+                    if (repository.deleteFirstByName(name).isEmpty()) {
+                        log.warn("Replayed delete of {} found no such employee", name);
+                    }
+                } else {
+                    throw new IOException("Unknown record type " + type + " in " + segment);
+                }
+            }
+        }
+        return lastSequence;
+    }
+
+    /**
+     * Returns the next record's contents, or null if it is torn or corrupt.
+     */
+    private static ByteBuffer record(ByteBuffer buffer, CRC32C crc) {
+        if (buffer.remaining() < HEADER_SIZE) {
+            return null;
+        }
+        final var length = buffer.getInt();
+        final var checksum = buffer.getInt();
+        if (length < Long.BYTES + 1 || length > buffer.remaining()) {
+            return null;
+        }
+        final var record = buffer.slice(buffer.position(), length);
+        crc.reset();
+        crc.update(record.duplicate());
+        if ((int) crc.getValue() != checksum) {
+            return null;
+        }
+        buffer.position(buffer.position() + length);
+        return record;
+    }
+
+    private static MockEmployee employee(ByteBuffer record) throws IOException {
+        try {
+            final var id = new UUID(record.getLong(), record.getLong());
+            final var present = record.get();
+            final var salary = record.getInt();
+            final var age = record.getInt();
+            return new MockEmployee(
+                    id,
+                    string(record),
+                    (present & 1) != 0 ? salary : null,
+                    (present & 2) != 0 ? age : null,
+                    string(record),
+                    string(record));
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Malformed create record", e);
+        }
+    }
+
+    private static TreeMap<Long, Path> segments(Path path) throws IOException {
+        final var directory = path.toAbsolutePath().getParent();
+        final var pattern = Pattern.compile(Pattern.quote(path.getFileName().toString()) + "\\.(\\d{19})");
+        final var segments = new TreeMap<Long, Path>();
+        if (!Files.isDirectory(directory)) {
+            return segments;
+        }
+        try (final var files = Files.list(directory)) {
+            for (final var file : files.toList()) {
+                final var matcher = pattern.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    segments.put(Long.parseLong(matcher.group(1)), file);
+                }
+            }
+        }
+        return segments;
+    }
+
+    private static Path segmentPath(Path path, long firstSequence) {
+        return path.resolveSibling("%s.%019d".formatted(path.getFileName(), firstSequence));
+    }
+
+    private static byte[] bytes(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int length(byte[] bytes) {
+        return Integer.BYTES + (bytes == null ? 0 : bytes.length);
+    }
+
+    private static void put(ByteBuffer buffer, byte[] bytes) {
+        if (bytes == null) {
+            buffer.putInt(-1);
+        } else {
+            buffer.putInt(bytes.length);
+            buffer.put(bytes);
+        }
+    }
+
+    private static String string(ByteBuffer buffer) {
+        final var length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        final var bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Hands the repository the sequence number of the record being replayed, so its snapshots say which records they
+     * hold, without recording the write again.
+     */
+    private static final class Replay implements MockEmployeeRepository.Journal {
+        private long sequence;
+        private long replayed;
+
+        @Override
+        public long created(MockEmployee mockEmployee) {
+            return sequence;
+        }
+
+        @Override
+        public long deleted(String name) {
+            return sequence;
+        }
+
+        @Override
+        public void awaitDurable(long sequence) {}
+    }
+}
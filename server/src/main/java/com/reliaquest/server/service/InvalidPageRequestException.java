@@ -0,0 +1,8 @@
+package com.reliaquest.server.service;
+
+public class InvalidPageRequestException extends RuntimeException {
+
+    public InvalidPageRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,101 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.config.ServerConfiguration;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import lombok.extern.slf4j.Slf4j;
+import net.datafaker.Faker;
+
+/**
+ * Generates mock employees, reproducibly from a seed.
+ * <p>
+ * The roster is cut into partitions of {@value #PARTITION_SIZE} employees that are generated in parallel. Every
+ * partition draws from its own random sequence, derived from the seed and the partition's number alone, so a seed
+ * always gives the same roster whichever thread generates which partition and however many threads there are.
+ * <p>
+ * Each thread keeps one {@link Faker} for good, over a {@link Random} that is reseeded at the start of every
+ * partition, and employees are built through their constructor, so nothing is looked up reflectively per employee.
+ */
+@Slf4j
+public class MockEmployeeGenerator {
+
+    static final int PARTITION_SIZE = 4096;
+
+    private final long seed;
+    private final ThreadLocal<SeededFaker> fakers;
+
+    public MockEmployeeGenerator(long seed, Locale locale) {
+        this.seed = seed;
+        this.fakers = ThreadLocal.withInitial(() -> {
+            final var random = new Random();
+            return new SeededFaker(random, new Faker(locale, random));
+        });
+    }
+
+    public long seed() {
+        return seed;
+    }
+
+    /**
+     * Returns {@code count} employees; the same seed always gives the same employees, in the same order.
+     */
+    public List<MockEmployee> generate(int count) {
+        final var employees = new MockEmployee[count];
+        final var partitions = (count + PARTITION_SIZE - 1) / PARTITION_SIZE;
+        IntStream.range(0, partitions).parallel().forEach(partition -> {
+            final var faker = fakers.get();
+            faker.random().setSeed(partitionSeed(partition));
+            final var from = partition * PARTITION_SIZE;
+            for (int i = from; i < Math.min(from + PARTITION_SIZE, count); i++) {
+                employees[i] = employee(faker);
+                log.debug("Created employee: {}", employees[i]);
+            }
+        });
+        return List.of(employees);
+    }
+
+    /**
+     * Returns a new email address in the mock company's domain, drawn from the calling thread's own {@link Faker}.
+     * Unlike generated rosters, these aren't reproducible.
+     */
+    public String email() {
+        return email(fakers.get().faker());
+    }
+
+    private static MockEmployee employee(SeededFaker seededFaker) {
+        final var random = seededFaker.random();
+        final var faker = seededFaker.faker();
+        // Version 4 ids, like UUID.randomUUID(), but drawn from the partition's sequence.
+        final var id =
+                new UUID(random.nextLong() & ~0xF000L | 0x4000L, random.nextLong() & ~(0xC000L << 48) | 0x8000L << 48);
+        return new MockEmployee(
+                id,
+                faker.name().fullName(),
+                random.nextInt(30000, 500000),
+                random.nextInt(16, 70),
+                faker.job().title(),
+                email(faker));
+    }
+
+    private static String email(Faker faker) {
+        return ServerConfiguration.EMAIL_TEMPLATE.formatted(
+                faker.twitter().userName().toLowerCase());
+    }
+
+    /**
+     * Spreads consecutive partition numbers over unrelated seeds (the SplitMix64 finalizer), so neighbouring
+     * partitions don't draw from nearly the same sequence.
+     */
+    private long partitionSeed(int partition) {
+        var z = seed + (partition + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private record SeededFaker(Random random, Faker faker) {}
+}
@@ -1,18 +1,17 @@
 package com.reliaquest.server.service;
 
-import com.reliaquest.server.config.ServerConfiguration;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeePage;
+import com.reliaquest.server.repository.MockEmployeeRepository;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
-import lombok.Getter;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import net.datafaker.Faker;
 import org.springframework.stereotype.Service;
 
 @Slf4j
@@ -20,39 +19,53 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class MockEmployeeService {
 
-    private final Faker faker;
+    private final MockEmployeeGenerator mockEmployeeGenerator;
 
-    @Getter
-    private final List<MockEmployee> mockEmployees;
+    private final MockEmployeeRepository mockEmployeeRepository;
+
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    public List<MockEmployee> getMockEmployees() {
+        return mockEmployeeRepository.findAll();
+    }
+
+    public MockEmployeeRepository.Snapshot getSnapshot() {
+        return mockEmployeeRepository.snapshot();
+    }
+
+    /**
+     * Returns up to {@code limit} employees in list order, starting where {@code cursor} points, or at the first
+     * employee if it is null. Employees created or deleted between pages are picked up or skipped like in any later
+     * read; none is returned twice.
+     */
+    public MockEmployeePage getPage(int limit, String cursor) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new InvalidPageRequestException("limit must be between 1 and %d".formatted(MAX_PAGE_SIZE));
+        }
+        final var snapshot = mockEmployeeRepository.snapshot();
+        final var employees = new ArrayList<MockEmployee>(Math.min(limit, snapshot.size()));
+        var slot = snapshot.nextOccupiedSlot(cursor == null ? 0 : PageCursor.decode(cursor));
+        while (slot >= 0 && employees.size() < limit) {
+            employees.add(snapshot.get(slot));
+            slot = snapshot.nextOccupiedSlot(slot + 1);
+        }
+        return new MockEmployeePage(employees, slot >= 0 ? PageCursor.encode(slot) : null);
+    }
 
     public Optional<MockEmployee> findById(@NonNull UUID uuid) {
-        return mockEmployees.stream()
-                .filter(mockEmployee -> Objects.nonNull(mockEmployee.getId())
-                        && mockEmployee.getId().equals(uuid))
-                .findFirst();
+        return mockEmployeeRepository.findById(uuid);
     }
 
     public MockEmployee create(@NonNull CreateMockEmployeeInput input) {
-        final var mockEmployee = MockEmployee.from(
-                ServerConfiguration.EMAIL_TEMPLATE.formatted(
-                        faker.twitter().userName().toLowerCase()),
-                input);
-        mockEmployees.add(mockEmployee);
+        final var mockEmployee = MockEmployee.from(mockEmployeeGenerator.email(), input);
+        mockEmployeeRepository.add(mockEmployee);
         log.debug("Added employee: {}", mockEmployee);
         return mockEmployee;
     }
 
     public boolean delete(@NonNull DeleteMockEmployeeInput input) {
-        final var mockEmployee = mockEmployees.stream()
-                .filter(employee -> Objects.nonNull(employee.getName())
-                        && employee.getName().equalsIgnoreCase(input.getName()))
-                .findFirst();
-        if (mockEmployee.isPresent()) {
-            mockEmployees.remove(mockEmployee.get());
-            log.debug("Removed employee: {}", mockEmployee.get());
-            return true;
-        }
-
-        return false;
+        final var mockEmployee = mockEmployeeRepository.deleteFirstByName(input.getName());
+        mockEmployee.ifPresent(employee -> log.debug("Removed employee: {}", employee));
+        return mockEmployee.isPresent();
     }
 }
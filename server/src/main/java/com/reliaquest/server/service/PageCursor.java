@@ -0,0 +1,36 @@
+package com.reliaquest.server.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque pagination cursor. It holds the repository slot to resume from; slots never move, so a page picks up
+ * exactly where the previous one ended even if employees were created or deleted in between.
+ */
+final class PageCursor {
+
+    private static final String PREFIX = "v1:";
+
+    private PageCursor() {}
+
+    static String encode(int slot) {
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString((PREFIX + slot).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    static int decode(String cursor) {
+        try {
+            final var decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            if (decoded.startsWith(PREFIX)) {
+                final var slot = Integer.parseInt(decoded.substring(PREFIX.length()));
+                if (slot >= 0) {
+                    return slot;
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            // Not Base64 or not a number; reported below like any other malformed cursor.
+        }
+        throw new InvalidPageRequestException("Invalid cursor: " + cursor);
+    }
+}
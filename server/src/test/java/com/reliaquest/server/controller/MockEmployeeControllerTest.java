@@ -0,0 +1,117 @@
+package com.reliaquest.server.controller;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.repository.MockEmployeeRepository;
+import com.reliaquest.server.service.MockEmployeeGenerator;
+import com.reliaquest.server.service.MockEmployeeService;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+class MockEmployeeControllerTest {
+
+    private static final String EMPLOYEES = "/api/v1/employee";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private List<MockEmployee> employees;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        employees = IntStream.range(0, 3)
+                .mapToObj(MockEmployeeControllerTest::employee)
+                .toList();
+        final var service = new MockEmployeeService(
+                new MockEmployeeGenerator(1L, Locale.ROOT), new MockEmployeeRepository(employees));
+        mockMvc = MockMvcBuilders.standaloneSetup(new MockEmployeeController(service, objectMapper))
+                .setControllerAdvice(new MockEmployeeControllerAdvice())
+                .build();
+    }
+
+    @Test
+    void defaultResponseShapeIsUnchanged() throws Exception {
+        mockMvc.perform(get(EMPLOYEES))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(3)))
+                .andExpect(jsonPath("$.data[0].employee_name").value("Employee 0"))
+                .andExpect(jsonPath("$.status").value("Successfully processed request."));
+        mockMvc.perform(get(EMPLOYEES).accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.data", hasSize(3)));
+    }
+
+    @Test
+    void limitReturnsAPageWithACursorToTheNext() throws Exception {
+        final var first = mockMvc.perform(get(EMPLOYEES).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.employees", hasSize(2)))
+                .andExpect(jsonPath("$.data.employees[1].employee_name").value("Employee 1"))
+                .andReturn();
+        final var cursor = objectMapper
+                .readTree(first.getResponse().getContentAsString())
+                .at("/data/next_cursor")
+                .asText();
+
+        mockMvc.perform(get(EMPLOYEES).param("limit", "2").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.employees", hasSize(1)))
+                .andExpect(jsonPath("$.data.employees[0].employee_name").value("Employee 2"))
+                .andExpect(jsonPath("$.data.next_cursor").doesNotExist());
+    }
+
+    @Test
+    void malformedCursorIsABadRequest() throws Exception {
+        mockMvc.perform(get(EMPLOYEES).param("limit", "2").param("cursor", "bogus"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid cursor: bogus"));
+    }
+
+    @Test
+    void ndjsonStreamsOneEmployeePerLine() throws Exception {
+        final var started = mockMvc.perform(get(EMPLOYEES).accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        final var body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        final var lines = body.split("\n");
+        assertEquals(3, lines.length);
+        for (int i = 0; i < lines.length; i++) {
+            final var line = objectMapper.readTree(lines[i]);
+            assertEquals(employees.get(i).getId().toString(), line.get("id").asText());
+            assertEquals(employees.get(i).getName(), line.get("employee_name").asText());
+        }
+    }
+
+    private static MockEmployee employee(int i) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name("Employee " + i)
+                .salary(100000 + i)
+                .age(40)
+                .title("Engineer")
+                .email("employee" + i + "@company.com")
+                .build();
+    }
+}
@@ -0,0 +1,216 @@
+package com.reliaquest.server.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Hammers one repository with concurrent creates, deletes and reads, then checks that the outcome could have been
+ * produced by running every write one at a time: nothing is lost or deleted twice, every delete hit the oldest
+ * employee with its name, and every reader saw whole snapshots that only ever move forward.
+ */
+class MockEmployeeRepositoryStressTest {
+
+    private static final int INITIAL_EMPLOYEES = 3 * MockEmployeeRepository.CHUNK_SIZE;
+    private static final int SHARED_NAMES = 40;
+    private static final int WRITERS = 4;
+    private static final int READERS = 2;
+    private static final int OPERATIONS_PER_WRITER = 4000;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(WRITERS + READERS);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentCreatesAndDeletesBehaveAsIfSerialized() throws Exception {
+        final var initial = IntStream.range(0, INITIAL_EMPLOYEES)
+                .mapToObj(i -> employee(sharedName(i)))
+                .toList();
+        final var repository = new MockEmployeeRepository(initial);
+        final var start = new CountDownLatch(1);
+        final var writersDone = new AtomicBoolean();
+        final var deleted = ConcurrentHashMap.<UUID>newKeySet();
+        final var deletedTwice = new AtomicBoolean();
+
+        final List<Future<List<MockEmployee>>> writers = new ArrayList<>();
+        for (int writer = 0; writer < WRITERS; writer++) {
+            final var writerId = writer;
+            writers.add(executor.submit(() -> {
+                start.await();
+                return write(repository, writerId, deleted, deletedTwice);
+            }));
+        }
+        final List<Future<Integer>> readers = new ArrayList<>();
+        for (int reader = 0; reader < READERS; reader++) {
+            readers.add(executor.submit(() -> {
+                start.await();
+                return read(repository, writersDone);
+            }));
+        }
+
+        start.countDown();
+        final List<List<MockEmployee>> createdByWriter = new ArrayList<>();
+        for (final var writer : writers) {
+            createdByWriter.add(writer.get(2, TimeUnit.MINUTES));
+        }
+        writersDone.set(true);
+        for (final var reader : readers) {
+            assertTrue(reader.get(1, TimeUnit.MINUTES) > 0, "readers should have observed snapshots");
+        }
+
+        assertFalse(deletedTwice.get(), "an employee was deleted twice");
+        final Set<UUID> expected = new HashSet<>();
+        initial.forEach(employee -> expected.add(employee.getId()));
+        createdByWriter.forEach(created -> created.forEach(employee -> expected.add(employee.getId())));
+        expected.removeAll(deleted);
+        final var remaining = repository.findAll();
+        assertEquals(expected.size(), remaining.size());
+        assertEquals(expected, ids(remaining));
+        assertEquals(remaining.size(), repository.size());
+
+        // Initial employees come before everything created, and each writer's creates are in its program order.
+        // Within each of those sequences, the deleted employees of a name must be the oldest ones of that name.
+        assertOldestDeletedFirst(initial, deleted, Set.of());
+        final var namesWithLiveInitialEmployees = new HashSet<String>();
+        initial.stream()
+                .filter(employee -> !deleted.contains(employee.getId()))
+                .forEach(employee -> namesWithLiveInitialEmployees.add(employee.getName()));
+        for (final var created : createdByWriter) {
+            assertOldestDeletedFirst(created, deleted, namesWithLiveInitialEmployees);
+        }
+        createdByWriter.forEach(created -> assertInProgramOrder(created, remaining));
+    }
+
+    private static List<MockEmployee> write(
+            MockEmployeeRepository repository, int writerId, Set<UUID> deleted, AtomicBoolean deletedTwice) {
+        final var random = ThreadLocalRandom.current();
+        final var created = new ArrayList<MockEmployee>();
+        for (int operation = 0; operation < OPERATIONS_PER_WRITER; operation++) {
+            switch (random.nextInt(3)) {
+                case 0 -> {
+                    final var employee = employee(sharedName(random.nextInt(SHARED_NAMES)));
+                    repository.add(employee);
+                    created.add(employee);
+                }
+                case 1 -> repository
+                        .deleteFirstByName(
+                                sharedName(random.nextInt(SHARED_NAMES)).toUpperCase())
+                        .ifPresent(employee -> {
+                            if (!deleted.add(employee.getId())) {
+                                deletedTwice.set(true);
+                            }
+                        });
+                default -> {
+                    // A write is visible to its writer as soon as it returns, and gone once deleted.
+                    final var solo = employee("Solo " + writerId + " " + operation);
+                    repository.add(solo);
+                    assertEquals(solo, repository.findById(solo.getId()).orElseThrow());
+                    assertEquals(
+                            solo, repository.deleteFirstByName(solo.getName()).orElseThrow());
+                    assertTrue(repository.findById(solo.getId()).isEmpty());
+                }
+            }
+        }
+        return created;
+    }
+
+    private static int read(MockEmployeeRepository repository, AtomicBoolean writersDone) {
+        final Set<UUID> gone = new HashSet<>();
+        Set<UUID> previous = Set.of();
+        var previousSlotCount = 0;
+        var snapshots = 0;
+        while (!writersDone.get() || snapshots == 0) {
+            final var snapshot = repository.snapshot();
+            final var employees = snapshot.employees();
+            final var current = ids(employees);
+            assertEquals(snapshot.size(), employees.size(), "snapshot size and contents disagree");
+            assertEquals(employees.size(), current.size(), "snapshot holds an employee twice");
+            assertTrue(snapshot.slotCount() >= previousSlotCount, "snapshots went backwards");
+            for (final var id : previous) {
+                if (!current.contains(id)) {
+                    gone.add(id);
+                }
+            }
+            for (final var id : current) {
+                assertFalse(gone.contains(id), "a deleted employee came back");
+            }
+            previous = current;
+            previousSlotCount = snapshot.slotCount();
+            snapshots++;
+        }
+        return snapshots;
+    }
+
+    private static void assertOldestDeletedFirst(
+            List<MockEmployee> inOrder, Set<UUID> deleted, Set<String> namesWithOlderLiveEmployees) {
+        final Map<String, Boolean> liveSeen = new HashMap<>();
+        for (final var employee : inOrder) {
+            final var isDeleted = deleted.contains(employee.getId());
+            final var olderLive = liveSeen.getOrDefault(employee.getName(), false)
+                    || namesWithOlderLiveEmployees.contains(employee.getName());
+            assertFalse(isDeleted && olderLive, "deleted " + employee + " while an older namesake was live");
+            if (!isDeleted) {
+                liveSeen.put(employee.getName(), true);
+            }
+        }
+    }
+
+    private static void assertInProgramOrder(List<MockEmployee> created, List<MockEmployee> remaining) {
+        final Map<UUID, Integer> positions = new HashMap<>();
+        for (int i = 0; i < remaining.size(); i++) {
+            positions.put(remaining.get(i).getId(), i);
+        }
+        var last = -1;
+        for (final var employee : created) {
+            final var position = positions.get(employee.getId());
+            if (position != null) {
+                assertTrue(position > last, "creates of one writer are out of order");
+                last = position;
+            }
+        }
+    }
+
+    private static Set<UUID> ids(List<MockEmployee> employees) {
+        final Set<UUID> ids = new HashSet<>();
+        employees.forEach(employee -> ids.add(employee.getId()));
+        return ids;
+    }
+
+    private static String sharedName(int i) {
+        return "Shared Name " + (i % SHARED_NAMES);
+    }
+
+    private static MockEmployee employee(String name) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(100000)
+                .age(40)
+                .title("Engineer")
+                .email("someone@company.com")
+                .build();
+    }
+}
@@ -0,0 +1,138 @@
+package com.reliaquest.server.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MockEmployeeRepositoryTest {
+
+    private MockEmployee tiger;
+    private MockEmployee bill;
+    private MockEmployee otherTiger;
+    private MockEmployeeRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        tiger = employee("Tiger Nixon");
+        bill = employee("Bill Bob");
+        otherTiger = employee("TIGER NIXON");
+        repository = new MockEmployeeRepository(List.of(tiger, bill, otherTiger));
+    }
+
+    @Test
+    void findAllKeepsListOrder() {
+        final var jill = employee("Jill Jenkins");
+        repository.add(jill);
+
+        assertEquals(List.of(tiger, bill, otherTiger, jill), repository.findAll());
+    }
+
+    @Test
+    void findByIdUsesTheIdIndex() {
+        assertEquals(Optional.of(bill), repository.findById(bill.getId()));
+        assertTrue(repository.findById(UUID.randomUUID()).isEmpty());
+    }
+
+    @Test
+    void deleteByNameRemovesTheFirstMatchIgnoringCase() {
+        assertEquals(Optional.of(tiger), repository.deleteFirstByName("tiger nixon"));
+        assertEquals(Optional.of(otherTiger), repository.deleteFirstByName("Tiger Nixon"));
+        assertTrue(repository.deleteFirstByName("Tiger Nixon").isEmpty());
+
+        assertEquals(List.of(bill), repository.findAll());
+        assertTrue(repository.findById(tiger.getId()).isEmpty());
+    }
+
+    @Test
+    void employeeCreatedAfterANamesakeIsDeletedAfterIt() {
+        final var lateTiger = employee("Tiger Nixon");
+        repository.add(lateTiger);
+
+        repository.deleteFirstByName("Tiger Nixon");
+        repository.deleteFirstByName("Tiger Nixon");
+
+        assertEquals(List.of(bill, lateTiger), repository.findAll());
+    }
+
+    @Test
+    void namesMatchIgnoringCaseWithOrWithoutNonAsciiLetters() {
+        final var zoe = employee("Zoë Ångström");
+        repository.deleteFirstByName("Bill Bob");
+        // Added once the name index exists.
+        repository.add(zoe);
+        final var kelvin = employee("K Kelvin");
+        repository.add(kelvin);
+
+        assertEquals(Optional.of(zoe), repository.deleteFirstByName("ZOË ÅNGSTRÖM"));
+        assertEquals(Optional.of(kelvin), repository.deleteFirstByName("k kelvin"));
+        assertEquals(List.of(tiger, otherTiger), repository.findAll());
+    }
+
+    @Test
+    void duplicateIdsAreRejected() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> repository.add(bill.toBuilder().name("Bill Clone").build()));
+        assertEquals(3, repository.size());
+    }
+
+    @Test
+    void snapshotIsUnaffectedByLaterWrites() {
+        final var before = repository.snapshot();
+        repository.add(employee("Jill Jenkins"));
+        repository.deleteFirstByName("Bill Bob");
+
+        assertEquals(List.of(tiger, bill, otherTiger), before.employees());
+        assertEquals(3, before.size());
+        assertEquals(List.of(tiger, otherTiger), repository.findAll().subList(0, 2));
+    }
+
+    @Test
+    void writesSpanningSeveralChunksKeepListOrder() {
+        final var employees = IntStream.range(0, 3 * MockEmployeeRepository.CHUNK_SIZE + 5)
+                .mapToObj(i -> employee("Employee " + i))
+                .toList();
+        final var large = new MockEmployeeRepository(employees.subList(0, MockEmployeeRepository.CHUNK_SIZE + 1));
+        employees
+                .subList(MockEmployeeRepository.CHUNK_SIZE + 1, employees.size())
+                .forEach(large::add);
+
+        // Empties the whole second chunk, then one slot on either side of it.
+        IntStream.range(MockEmployeeRepository.CHUNK_SIZE - 1, 2 * MockEmployeeRepository.CHUNK_SIZE + 1)
+                .forEach(i -> assertEquals(Optional.of(employees.get(i)), large.deleteFirstByName("Employee " + i)));
+
+        final var expected = new ArrayList<>(employees.subList(0, MockEmployeeRepository.CHUNK_SIZE - 1));
+        expected.addAll(employees.subList(2 * MockEmployeeRepository.CHUNK_SIZE + 1, employees.size()));
+        assertEquals(expected, large.findAll());
+        assertTrue(large.findById(
+                        employees.get(MockEmployeeRepository.CHUNK_SIZE + 3).getId())
+                .isEmpty());
+        assertEquals(
+                Optional.of(employees.getLast()),
+                large.findById(employees.getLast().getId()));
+
+        final var late = employee("Late");
+        large.add(late);
+        assertEquals(late, large.findAll().getLast());
+    }
+
+    private static MockEmployee employee(String name) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(100000)
+                .age(40)
+                .title("Engineer")
+                .email("someone@company.com")
+                .build();
+    }
+}
@@ -0,0 +1,104 @@
+package com.reliaquest.server.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeGenerator;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MockEmployeeSnapshotFileTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readGivesBackWhatWasWritten() throws IOException {
+        final var employees = new MockEmployeeGenerator(42L, Locale.ROOT).generate(5000);
+        final var file = directory.resolve("roster.snapshot");
+
+        MockEmployeeSnapshotFile.write(new MockEmployeeRepository(employees).snapshot(), file);
+
+        assertEquals(employees, MockEmployeeSnapshotFile.read(file).employees());
+        assertFalse(Files.exists(directory.resolve("roster.snapshot.tmp")));
+    }
+
+    @Test
+    void keepsNullsAndNonAsciiText() throws IOException {
+        final var sparse = new MockEmployee(UUID.randomUUID(), null, null, null, null, null);
+        final var accented =
+                new MockEmployee(UUID.randomUUID(), "Zoë Ångström", 90000, 33, "Ingénieure", "zoë@company.com");
+        final var file = directory.resolve("roster.snapshot");
+
+        MockEmployeeSnapshotFile.write(new MockEmployeeRepository(List.of(sparse, accented)).snapshot(), file);
+
+        assertEquals(
+                List.of(sparse, accented), MockEmployeeSnapshotFile.read(file).employees());
+    }
+
+    @Test
+    void writesOnlyLiveEmployeesAndSharesTitles() throws IOException {
+        final var tiger = employee("Tiger Nixon");
+        final var bill = employee("Bill Bob");
+        final var repository = new MockEmployeeRepository(List.of(tiger, bill));
+        repository.deleteFirstByName("Tiger Nixon");
+        repository.add(employee("Jill Jenkins"));
+        final var file = directory.resolve("roster.snapshot");
+
+        MockEmployeeSnapshotFile.write(repository.snapshot(), file);
+        final var restored = MockEmployeeSnapshotFile.read(file).employees();
+
+        assertEquals(repository.findAll(), restored);
+        assertSame(restored.get(0).getTitle(), restored.get(1).getTitle());
+    }
+
+    @Test
+    void rejectsFilesThatAreNotCompleteSnapshots() throws IOException {
+        final var file = directory.resolve("roster.snapshot");
+        MockEmployeeSnapshotFile.write(
+                new MockEmployeeRepository(List.of(employee("Tiger Nixon"), employee("Bill Bob"))).snapshot(), file);
+        final var bytes = Files.readAllBytes(file);
+
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 3));
+        assertThrows(IOException.class, () -> MockEmployeeSnapshotFile.read(file));
+
+        Files.write(file, "not a snapshot".getBytes());
+        assertThrows(IOException.class, () -> MockEmployeeSnapshotFile.read(file));
+    }
+
+    @Test
+    void rejectsCountsTheFileCannotHold() throws IOException {
+        final var file = directory.resolve("roster.snapshot");
+        MockEmployeeSnapshotFile.write(new MockEmployeeRepository(List.of(employee("Tiger Nixon"))).snapshot(), file);
+        final var bytes = Files.readAllBytes(file);
+
+        for (final var count : new int[] {-1, 2, Integer.MAX_VALUE}) {
+            // The employee count follows the magic number and the version.
+            ByteBuffer.wrap(bytes).putInt(2 * Integer.BYTES, count);
+            Files.write(file, bytes);
+            assertThrows(IOException.class, () -> MockEmployeeSnapshotFile.read(file));
+        }
+    }
+
+    private static MockEmployee employee(String name) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(100000)
+                .age(40)
+                .title("Engineer")
+                .email("someone@company.com")
+                .build();
+    }
+}
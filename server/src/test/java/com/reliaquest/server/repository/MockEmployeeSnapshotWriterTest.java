@@ -0,0 +1,80 @@
+package com.reliaquest.server.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MockEmployeeSnapshotWriterTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void writesChangesInTheBackground() throws Exception {
+        final var repository = new MockEmployeeRepository(List.of(employee("Tiger Nixon")));
+        final var file = directory.resolve("roster.snapshot");
+
+        try (final var ignored = new MockEmployeeSnapshotWriter(repository, file, Duration.ofMillis(10), null)) {
+            repository.add(employee("Bill Bob"));
+            awaitFile(file, repository.findAll());
+        }
+    }
+
+    @Test
+    void closeWritesWhatChangedSinceTheLastWrite() throws Exception {
+        final var repository = new MockEmployeeRepository(List.of(employee("Tiger Nixon")));
+        final var file = directory.resolve("roster.snapshot");
+
+        final var writer = new MockEmployeeSnapshotWriter(repository, file, Duration.ofHours(1), null);
+        repository.add(employee("Bill Bob"));
+        repository.deleteFirstByName("Tiger Nixon");
+        writer.close();
+
+        assertEquals(repository.findAll(), MockEmployeeSnapshotFile.read(file).employees());
+    }
+
+    @Test
+    void currentFileIsNotRewritten() throws Exception {
+        final var repository = new MockEmployeeRepository(List.of(employee("Tiger Nixon")));
+        final var file = directory.resolve("roster.snapshot");
+
+        new MockEmployeeSnapshotWriter(repository, file, Duration.ofMillis(10), repository.snapshot()).close();
+
+        assertFalse(Files.exists(file));
+    }
+
+    private static void awaitFile(Path file, List<MockEmployee> expected) throws InterruptedException {
+        final var deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                if (MockEmployeeSnapshotFile.read(file).employees().equals(expected)) {
+                    return;
+                }
+            } catch (IOException notWrittenYet) {
+                // Checked again below.
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Snapshot file never held " + expected);
+    }
+
+    private static MockEmployee employee(String name) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(100000)
+                .age(40)
+                .title("Engineer")
+                .email("someone@company.com")
+                .build();
+    }
+}
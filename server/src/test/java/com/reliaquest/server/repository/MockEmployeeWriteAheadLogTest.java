@@ -0,0 +1,199 @@
+package com.reliaquest.server.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.repository.MockEmployeeWriteAheadLog.FsyncPolicy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class MockEmployeeWriteAheadLogTest {
+
+    @TempDir
+    Path directory;
+
+    private final List<MockEmployee> initial = List.of(employee("Tiger Nixon"), employee("Bill Bob"));
+
+    @ParameterizedTest
+    @EnumSource(FsyncPolicy.class)
+    void recoveryReplaysWritesMadeAfterTheSnapshot(FsyncPolicy policy) throws Exception {
+        final var repository = new MockEmployeeRepository(initial);
+        try (final var ignored = open(repository, policy)) {
+            repository.add(employee("Jill Jenkins"));
+            repository.deleteFirstByName("tiger nixon");
+            repository.add(employee("Tiger Nixon"));
+        }
+
+        final var recovered = new MockEmployeeRepository(initial);
+        try (final var ignored = open(recovered, policy)) {
+            assertEquals(repository.findAll(), recovered.findAll());
+            assertEquals(repository.snapshot().sequence(), recovered.snapshot().sequence());
+        }
+    }
+
+    @Test
+    void batchedWritesAreDurableOnceTheyReturn() throws Exception {
+        final var repository = new MockEmployeeRepository(initial);
+        final var log = open(repository, FsyncPolicy.BATCHED);
+        final var executor = Executors.newFixedThreadPool(8);
+        try {
+            final var writes = new ArrayList<Future<?>>();
+            for (int i = 0; i < 400; i++) {
+                final var name = "Employee " + i;
+                writes.add(executor.submit(() -> repository.add(employee(name))));
+            }
+            for (final var write : writes) {
+                write.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Recovered without closing the log, as after a crash.
+        final var recovered = new MockEmployeeRepository(initial);
+        try (final var ignored = open(recovered, FsyncPolicy.BATCHED)) {
+            assertEquals(repository.findAll(), recovered.findAll());
+        }
+        log.close();
+    }
+
+    @Test
+    void tornRecordAtTheEndIsCutOff() throws Exception {
+        final var repository = new MockEmployeeRepository(initial);
+        try (final var ignored = open(repository, FsyncPolicy.EVERY_WRITE)) {
+            repository.add(employee("Jill Jenkins"));
+        }
+        final var segment = segments().getLast();
+        Files.write(segment, new byte[] {0, 0, 0, 42, 1, 2, 3}, StandardOpenOption.APPEND);
+        final var tornSize = Files.size(segment);
+
+        final var recovered = new MockEmployeeRepository(initial);
+        try (final var ignored = open(recovered, FsyncPolicy.EVERY_WRITE)) {
+            assertEquals(repository.findAll(), recovered.findAll());
+            assertEquals(tornSize - 7, Files.size(segment));
+            recovered.add(employee("Late"));
+        }
+
+        final var again = new MockEmployeeRepository(initial);
+        try (final var ignored = open(again, FsyncPolicy.EVERY_WRITE)) {
+            assertEquals(recovered.findAll(), again.findAll());
+        }
+    }
+
+    @Test
+    void corruptRecordBeforeTheLastSegmentFailsRecovery() throws Exception {
+        final var repository = new MockEmployeeRepository(initial);
+        try (final var log = open(repository, FsyncPolicy.EVERY_WRITE)) {
+            repository.add(employee("Jill Jenkins"));
+            log.rotate();
+            repository.add(employee("Late"));
+        }
+        final var first = segments().getFirst();
+        final var bytes = Files.readAllBytes(first);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(first, bytes);
+
+        assertThrows(IOException.class, () -> open(new MockEmployeeRepository(initial), FsyncPolicy.EVERY_WRITE));
+    }
+
+    @Test
+    void compactionDeletesSegmentsTheSnapshotHolds() throws Exception {
+        final var snapshotFile = directory.resolve("roster.snapshot");
+        final var repository = new MockEmployeeRepository(initial);
+        MockEmployeeSnapshotFile.write(repository.snapshot(), snapshotFile);
+        try (final var log = open(repository, FsyncPolicy.BATCHED)) {
+            repository.add(employee("Jill Jenkins"));
+            repository.deleteFirstByName("Bill Bob");
+            log.rotate();
+            final var snapshot = repository.snapshot();
+            MockEmployeeSnapshotFile.write(snapshot, snapshotFile);
+            repository.add(employee("Late"));
+            log.compact(snapshot.sequence());
+
+            assertEquals(1, segments().size());
+        }
+
+        final var contents = MockEmployeeSnapshotFile.read(snapshotFile);
+        final var recovered = new MockEmployeeRepository(contents.employees(), contents.sequence());
+        try (final var ignored = open(recovered, FsyncPolicy.BATCHED)) {
+            assertEquals(repository.findAll(), recovered.findAll());
+        }
+    }
+
+    @Test
+    void recordsAlreadyInTheSnapshotAreNotReplayed() throws Exception {
+        final var repository = new MockEmployeeRepository(initial);
+        final MockEmployeeRepository.Snapshot snapshot;
+        try (final var ignored = open(repository, FsyncPolicy.BATCHED)) {
+            repository.add(employee("Jill Jenkins"));
+            snapshot = repository.snapshot();
+            repository.add(employee("Late"));
+        }
+
+        final var recovered = new MockEmployeeRepository(snapshot.employees(), snapshot.sequence());
+        try (final var ignored = open(recovered, FsyncPolicy.BATCHED)) {
+            assertEquals(repository.findAll(), recovered.findAll());
+        }
+    }
+
+    @Test
+    void discardDeletesEverySegment() throws Exception {
+        final var repository = new MockEmployeeRepository(initial);
+        try (final var log = open(repository, FsyncPolicy.BATCHED)) {
+            repository.add(employee("Jill Jenkins"));
+            log.rotate();
+        }
+
+        MockEmployeeWriteAheadLog.discard(directory.resolve("roster.wal"));
+
+        assertTrue(segments().isEmpty());
+    }
+
+    @Test
+    void closedLogRefusesWritesWithoutApplyingThem() throws Exception {
+        final var repository = new MockEmployeeRepository(initial);
+        open(repository, FsyncPolicy.BATCHED).close();
+
+        assertThrows(IllegalStateException.class, () -> repository.add(employee("Jill Jenkins")));
+        assertThrows(IllegalStateException.class, () -> repository.deleteFirstByName("Bill Bob"));
+        assertEquals(initial, repository.findAll());
+    }
+
+    private MockEmployeeWriteAheadLog open(MockEmployeeRepository repository, FsyncPolicy policy) throws IOException {
+        return MockEmployeeWriteAheadLog.open(
+                directory.resolve("roster.wal"), repository, policy, Duration.ofMillis(10));
+    }
+
+    private List<Path> segments() throws IOException {
+        try (final var files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith("roster.wal."))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static MockEmployee employee(String name) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(100000)
+                .age(40)
+                .title("Engineer")
+                .email("someone@company.com")
+                .build();
+    }
+}
@@ -0,0 +1,74 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+class MockEmployeeGeneratorTest {
+
+    // Not a multiple of the partition size, so the last partition is a partial one.
+    private static final int COUNT = 3 * MockEmployeeGenerator.PARTITION_SIZE + 17;
+
+    @Test
+    void sameSeedGivesSameRoster() {
+        final var first = new MockEmployeeGenerator(42L, Locale.ROOT).generate(COUNT);
+        final var second = new MockEmployeeGenerator(42L, Locale.ROOT).generate(COUNT);
+
+        assertEquals(COUNT, first.size());
+        assertEquals(first, second);
+    }
+
+    @Test
+    void rosterDoesNotDependOnTheNumberOfThreads() throws Exception {
+        final var generator = new MockEmployeeGenerator(42L, Locale.ROOT);
+        final var parallel = generator.generate(COUNT);
+
+        final var pool = new ForkJoinPool(1);
+        try {
+            assertEquals(parallel, pool.submit(() -> generator.generate(COUNT)).get());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void smallerRosterIsAPrefixOfALargerOne() {
+        final var generator = new MockEmployeeGenerator(7L, Locale.ROOT);
+
+        assertEquals(generator.generate(COUNT).subList(0, 5000), generator.generate(5000));
+    }
+
+    @Test
+    void differentSeedsGiveDifferentRosters() {
+        assertNotEquals(
+                new MockEmployeeGenerator(1L, Locale.ROOT).generate(100),
+                new MockEmployeeGenerator(2L, Locale.ROOT).generate(100));
+    }
+
+    @Test
+    void employeesAreCompleteAndInRange() {
+        final List<MockEmployee> employees = new MockEmployeeGenerator(42L, Locale.ROOT).generate(COUNT);
+
+        assertEquals(
+                COUNT,
+                employees.stream()
+                        .map(MockEmployee::getId)
+                        .collect(Collectors.toSet())
+                        .size());
+        for (final var employee : employees) {
+            assertEquals(4, employee.getId().version());
+            assertEquals(2, employee.getId().variant());
+            assertTrue(employee.getSalary() >= 30000 && employee.getSalary() < 500000, employee::toString);
+            assertTrue(employee.getAge() >= 16 && employee.getAge() < 70, employee::toString);
+            assertTrue(!employee.getName().isBlank() && !employee.getTitle().isBlank(), employee::toString);
+            assertTrue(employee.getEmail().endsWith("@company.com"), employee::toString);
+        }
+    }
+}
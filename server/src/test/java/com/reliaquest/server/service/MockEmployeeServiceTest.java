@@ -0,0 +1,107 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.repository.MockEmployeeRepository;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MockEmployeeServiceTest {
+
+    private List<MockEmployee> employees;
+    private MockEmployeeRepository repository;
+    private MockEmployeeService service;
+
+    @BeforeEach
+    void setUp() {
+        employees =
+                IntStream.range(0, 5).mapToObj(i -> employee("Employee " + i)).toList();
+        repository = new MockEmployeeRepository(employees);
+        service = new MockEmployeeService(new MockEmployeeGenerator(1L, Locale.ROOT), repository);
+    }
+
+    @Test
+    void pagesWalkTheRosterInListOrder() {
+        final var first = service.getPage(2, null);
+        final var second = service.getPage(2, first.nextCursor());
+        final var last = service.getPage(2, second.nextCursor());
+
+        assertEquals(employees.subList(0, 2), first.employees());
+        assertEquals(employees.subList(2, 4), second.employees());
+        assertEquals(employees.subList(4, 5), last.employees());
+        assertNull(last.nextCursor());
+    }
+
+    @Test
+    void pagesPickUpWritesMadeBetweenThem() {
+        final var first = service.getPage(2, null);
+        service.delete(delete("Employee 1"));
+        service.delete(delete("Employee 2"));
+        final var late = employee("Late");
+        repository.add(late);
+
+        final var rest = new ArrayList<MockEmployee>();
+        for (var cursor = first.nextCursor(); cursor != null; ) {
+            final var page = service.getPage(2, cursor);
+            rest.addAll(page.employees());
+            cursor = page.nextCursor();
+        }
+
+        assertEquals(List.of(employees.get(3), employees.get(4), late), rest);
+    }
+
+    @Test
+    void pageLargerThanTheRosterReturnsEverything() {
+        final var page = service.getPage(MockEmployeeService.MAX_PAGE_SIZE, null);
+
+        assertEquals(employees, page.employees());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void invalidLimitsAndCursorsAreRejected() {
+        assertThrows(InvalidPageRequestException.class, () -> service.getPage(0, null));
+        assertThrows(
+                InvalidPageRequestException.class, () -> service.getPage(MockEmployeeService.MAX_PAGE_SIZE + 1, null));
+        assertThrows(InvalidPageRequestException.class, () -> service.getPage(2, "not a cursor"));
+        assertThrows(InvalidPageRequestException.class, () -> service.getPage(2, base64("v1:-3")));
+        assertThrows(InvalidPageRequestException.class, () -> service.getPage(2, base64("v2:3")));
+    }
+
+    @Test
+    void cursorRoundTrips() {
+        assertEquals(123456, PageCursor.decode(PageCursor.encode(123456)));
+    }
+
+    private static String base64(String value) {
+        return Base64.getUrlEncoder().encodeToString(value.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static DeleteMockEmployeeInput delete(String name) {
+        final var input = new DeleteMockEmployeeInput();
+        input.setName(name);
+        return input;
+    }
+
+    private static MockEmployee employee(String name) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(100000)
+                .age(40)
+                .title("Engineer")
+                .email("someone@company.com")
+                .build();
+    }
+}